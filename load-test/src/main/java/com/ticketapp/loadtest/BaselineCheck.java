@@ -0,0 +1,64 @@
+package com.ticketapp.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Compares a run against the stored baseline.
+ *
+ * Latency percentiles may grow by at most maxLatencyRegression and throughput may drop by at most
+ * maxThroughputRegression, both as fractions of the baseline value. Latencies are also allowed
+ * latencySlackMillis on top, so sub-millisecond baselines do not fail on scheduling noise. The
+ * error rate is an absolute limit. Metrics missing from either side are not compared, so the mix can change without
+ * re-recording the baseline first.
+ */
+public class BaselineCheck {
+
+    private final double maxLatencyRegression;
+    private final double latencySlackMillis;
+    private final double maxThroughputRegression;
+    private final double maxErrorRate;
+
+    public BaselineCheck(double maxLatencyRegression, double latencySlackMillis,
+                         double maxThroughputRegression, double maxErrorRate) {
+        this.maxLatencyRegression = maxLatencyRegression;
+        this.latencySlackMillis = latencySlackMillis;
+        this.maxThroughputRegression = maxThroughputRegression;
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    /**
+     * @return one line per metric outside its limit, empty when the run passes
+     */
+    public List<String> regressions(Properties baseline, Properties current) {
+        List<String> regressions = new ArrayList<>();
+        for (String key : new TreeSet<>(current.stringPropertyNames())) {
+            double value = Double.parseDouble(current.getProperty(key));
+            if (key.equals("total.error-rate")) {
+                if (value > maxErrorRate) {
+                    regressions.add(String.format("%s %.4f is above the limit of %.4f", key, value, maxErrorRate));
+                }
+                continue;
+            }
+            String stored = baseline.getProperty(key);
+            if (stored == null) {
+                continue;
+            }
+            double reference = Double.parseDouble(stored);
+            if (key.endsWith(".throughput")) {
+                double floor = reference * (1 - maxThroughputRegression);
+                if (value < floor) {
+                    regressions.add(String.format("%s %.1f/s is below %.1f/s (baseline %.1f/s)", key, value, floor, reference));
+                }
+            } else {
+                double ceiling = Math.max(reference * (1 + maxLatencyRegression), reference + latencySlackMillis);
+                if (value > ceiling) {
+                    regressions.add(String.format("%s %.2fms is above %.2fms (baseline %.2fms)", key, value, ceiling, reference));
+                }
+            }
+        }
+        return regressions;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ticketapp.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent log-linear histogram of latencies in microseconds.
+ *
+ * Values below 128us are counted exactly; above that every power of two is split into 64
+ * buckets, so a reported percentile is at most 1.6% above the recorded value. Recording is one
+ * atomic increment, cheap enough for every request of a virtual thread driver.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS * (Long.SIZE - SUB_BUCKET_BITS);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(index(micros));
+        count.increment();
+        max.accumulate(micros);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long maxMicros() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile between 0 and 1
+     * @return the upper bound of the bucket holding that percentile, 0 when nothing was recorded
+     */
+    public long percentileMicros(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValue(i), maxMicros());
+            }
+        }
+        return maxMicros();
+    }
+
+    static int index(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * shift + (int) (value >>> shift);
+    }
+
+    static long highestValue(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (index - SUB_BUCKETS * shift) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,170 @@
+package com.ticketapp.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop driver: concurrency virtual threads each pick an operation from the mix and a
+ * random user, send the request with that user's mock token, then pause for the think time.
+ *
+ * Users are mock-user-lt{n} for n below the user count and list-all is sent as one of the
+ * mock-admin-lta{n} admins, so the per-user rate limit sees realistic traffic. get and update
+ * target a recently created ticket together with its owner; until some exist they fall back to
+ * create. Nothing is recorded during the warmup.
+ */
+public class LoadDriver {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final int RECENT_TICKETS = 4096;
+    private static final String[] STATUSES = {"OPEN", "IN_PROGRESS", "CLOSED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private record OwnedTicket(int user, long id) {
+    }
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final AtomicReferenceArray<OwnedTicket> recentTickets = new AtomicReferenceArray<>(RECENT_TICKETS);
+    private final AtomicLong created = new AtomicLong();
+
+    private volatile Map<Operation, OperationStats> stats = newStats();
+
+    public LoadDriver(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(config.requestTimeout())
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    public LoadReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.concurrency(); i++) {
+                users.submit(() -> virtualUser(end));
+            }
+            Thread.sleep(config.warmup().toMillis());
+            stats = newStats();
+        }
+        return new LoadReport(stats, Duration.ofNanos(System.nanoTime() - measureFrom));
+    }
+
+    private void virtualUser(long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            execute(config.mix().next(random), random);
+            if (!config.thinkTime().isZero()) {
+                try {
+                    Thread.sleep(config.thinkTime());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void execute(Operation operation, ThreadLocalRandom random) {
+        OwnedTicket target = null;
+        if (operation == Operation.GET_BY_ID || operation == Operation.UPDATE) {
+            long filled = Math.min(created.get(), RECENT_TICKETS);
+            target = filled == 0 ? null : recentTickets.get(random.nextInt((int) filled));
+            if (target == null) {
+                operation = Operation.CREATE;
+            }
+        }
+
+        int user = target != null ? target.user() : random.nextInt(config.users());
+        HttpRequest request = switch (operation) {
+            case CREATE -> request("/api/tickets", userToken(user))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ticketJson(random, "OPEN")))
+                .build();
+            case MY_TICKETS -> request("/api/tickets/my", userToken(user)).GET().build();
+            case GET_BY_ID -> request("/api/tickets/" + target.id(), userToken(user)).GET().build();
+            case UPDATE -> request("/api/tickets/" + target.id(), userToken(user))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(ticketJson(random, STATUSES[random.nextInt(STATUSES.length)])))
+                .build();
+            case LIST_ALL -> request("/api/tickets", "Bearer mock-admin-lta" + random.nextInt(config.admins())).GET().build();
+        };
+
+        OperationStats operationStats = stats.get(operation);
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, operation == Operation.CREATE
+                ? HttpResponse.BodyHandlers.ofString()
+                : responseInfo -> HttpResponse.BodySubscribers.replacing(null));
+        } catch (IOException e) {
+            operationStats.failure();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+
+        int status = response.statusCode();
+        if (status == 429) {
+            operationStats.throttled();
+        } else if (status >= 200 && status < 300) {
+            operationStats.success(nanos);
+            if (operation == Operation.CREATE) {
+                remember(user, response.body());
+            }
+        } else {
+            operationStats.errorResponse(nanos);
+        }
+    }
+
+    private void remember(int user, String body) {
+        Matcher matcher = ID.matcher(body);
+        if (matcher.find()) {
+            int slot = (int) (created.getAndIncrement() % RECENT_TICKETS);
+            recentTickets.set(slot, new OwnedTicket(user, Long.parseLong(matcher.group(1))));
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String authorization) {
+        return HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+            .timeout(config.requestTimeout())
+            .header("Authorization", authorization);
+    }
+
+    private static String userToken(int user) {
+        return "Bearer mock-user-lt" + user;
+    }
+
+    private static String ticketJson(ThreadLocalRandom random, String status) {
+        return "{\"title\":\"Load test ticket " + random.nextInt(1_000_000) + "\","
+            + "\"description\":\"Created by the load test driver to exercise the ticket API\","
+            + "\"status\":\"" + status + "\","
+            + "\"priority\":\"" + PRIORITIES[random.nextInt(PRIORITIES.length)] + "\"}";
+    }
+
+    private static Map<Operation, OperationStats> newStats() {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,85 @@
+package com.ticketapp.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Throughput and latency percentiles per operation over the measured window.
+ * {@link #toProperties()} is the format of the stored baseline.
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.99};
+
+    private final Map<Operation, OperationStats> stats;
+    private final Duration elapsed;
+
+    public LoadReport(Map<Operation, OperationStats> stats, Duration elapsed) {
+        this.stats = stats;
+        this.elapsed = elapsed;
+    }
+
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Measured for %ds%n", elapsed.toSeconds()));
+        text.append(String.format(Locale.ROOT, "%-10s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+            "operation", "requests", "req/s", "errors", "throttled", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        long requests = 0;
+        long errors = 0;
+        long throttled = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operation = entry.getValue();
+            LatencyHistogram latency = operation.latency();
+            text.append(String.format(Locale.ROOT, "%-10s %9d %9.1f %7d %9d %9.2f %9.2f %9.2f %9.2f%n",
+                entry.getKey().key(), operation.requests(), perSecond(operation.requests()), operation.errors(),
+                operation.throttledCount(), millis(latency.percentileMicros(0.50)), millis(latency.percentileMicros(0.90)),
+                millis(latency.percentileMicros(0.99)), millis(latency.maxMicros())));
+            requests += operation.requests();
+            errors += operation.errors();
+            throttled += operation.throttledCount();
+        }
+        text.append(String.format(Locale.ROOT, "%-10s %9d %9.1f %7d %9d%n", "total", requests, perSecond(requests), errors, throttled));
+        return text.toString();
+    }
+
+    /**
+     * Flat metrics: total.throughput and total.error-rate, and per operation
+     * &lt;op&gt;.throughput, &lt;op&gt;.p50, &lt;op&gt;.p90 and &lt;op&gt;.p99 with latencies in milliseconds
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            String key = entry.getKey().key();
+            OperationStats operation = entry.getValue();
+            if (operation.requests() == 0) {
+                continue;
+            }
+            properties.setProperty(key + ".throughput", format(perSecond(operation.requests())));
+            for (double percentile : PERCENTILES) {
+                properties.setProperty(key + ".p" + Math.round(percentile * 100),
+                    format(millis(operation.latency().percentileMicros(percentile))));
+            }
+            requests += operation.requests();
+            errors += operation.errors();
+        }
+        properties.setProperty("total.throughput", format(perSecond(requests)));
+        properties.setProperty("total.error-rate", format(requests == 0 ? 0 : (double) errors / requests));
+        return properties;
+    }
+
+    private double perSecond(long count) {
+        return count * 1000.0 / Math.max(1, elapsed.toMillis());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
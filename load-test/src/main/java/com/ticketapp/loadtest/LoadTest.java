@@ -0,0 +1,65 @@
+package com.ticketapp.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Runs the mixed-traffic load test against a running ticket app, writes report.txt and
+ * results.properties to the report directory, and fails when the run regressed against the
+ * stored baseline. With loadtest.update-baseline=true the results become the new baseline instead.
+ *
+ * The app must run with app.security.mock-jwt=true (the default).
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.out.printf("Load testing %s with %d users, %d concurrent, %ds warmup + %ds%n",
+            config.baseUrl(), config.users(), config.concurrency(), config.warmup().toSeconds(), config.duration().toSeconds());
+
+        LoadReport report = new LoadDriver(config).run();
+        String text = report.toText();
+        System.out.println(text);
+
+        Files.createDirectories(config.reportDirectory());
+        Files.writeString(config.reportDirectory().resolve("report.txt"), text);
+        Properties results = report.toProperties();
+        String settings = String.format("%s, %d users, %d concurrent, %ds, think time %dms, mix %s",
+            config.baseUrl(), config.users(), config.concurrency(), config.duration().toSeconds(),
+            config.thinkTime().toMillis(), System.getProperty("loadtest.mix", LoadTestConfig.DEFAULT_MIX));
+        store(results, settings, config.reportDirectory().resolve("results.properties"));
+
+        if (config.updateBaseline()) {
+            store(results, settings, config.baselineFile());
+            System.out.println("Stored the results as the new baseline in " + config.baselineFile());
+            return;
+        }
+        if (!Files.exists(config.baselineFile())) {
+            System.out.println("No baseline at " + config.baselineFile() + ", record one with -Dloadtest.update-baseline=true");
+            return;
+        }
+
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(config.baselineFile())) {
+            baseline.load(reader);
+        }
+        List<String> regressions = new BaselineCheck(config.maxLatencyRegression(), config.latencySlackMillis(),
+            config.maxThroughputRegression(), config.maxErrorRate()).regressions(baseline, results);
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("Load test regressed against " + config.baselineFile() + ":\n  "
+                + String.join("\n  ", regressions));
+        }
+        System.out.println("No regressions against " + config.baselineFile());
+    }
+
+    private static void store(Properties properties, String settings, Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "Ticket API load test results, latencies in ms\n" + settings);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ticketapp.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from loadtest.* system properties
+ * (pass them as -Dloadtest.users=10000 etc. to mvn)
+ */
+public record LoadTestConfig(
+    String baseUrl,
+    int users,
+    int admins,
+    int concurrency,
+    Duration warmup,
+    Duration duration,
+    Duration thinkTime,
+    Duration requestTimeout,
+    TrafficMix mix,
+    Path baselineFile,
+    Path reportDirectory,
+    boolean updateBaseline,
+    double maxLatencyRegression,
+    double latencySlackMillis,
+    double maxThroughputRegression,
+    double maxErrorRate) {
+
+    static final String DEFAULT_MIX = "create=15,my=40,get=25,update=15,list-all=5";
+
+    public static LoadTestConfig fromSystemProperties() {
+        Path basedir = Path.of(property("basedir", "."));
+        return new LoadTestConfig(
+            property("base-url", "http://localhost:8080"),
+            Integer.parseInt(property("users", "5000")),
+            Integer.parseInt(property("admins", "20")),
+            Integer.parseInt(property("concurrency", "200")),
+            Duration.ofSeconds(Long.parseLong(property("warmup-seconds", "10"))),
+            Duration.ofSeconds(Long.parseLong(property("duration-seconds", "60"))),
+            Duration.ofMillis(Long.parseLong(property("think-time-millis", "20"))),
+            Duration.ofSeconds(Long.parseLong(property("request-timeout-seconds", "10"))),
+            TrafficMix.parse(property("mix", DEFAULT_MIX)),
+            basedir.resolve(property("baseline", "baseline.properties")),
+            basedir.resolve(property("report-dir", "target/load-test")),
+            Boolean.parseBoolean(property("update-baseline", "false")),
+            Double.parseDouble(property("max-latency-regression", "0.25")),
+            Double.parseDouble(property("latency-slack-millis", "2")),
+            Double.parseDouble(property("max-throughput-regression", "0.15")),
+            Double.parseDouble(property("max-error-rate", "0.01")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
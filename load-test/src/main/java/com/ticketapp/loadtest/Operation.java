@@ -0,0 +1,31 @@
+package com.ticketapp.loadtest;
+
+/**
+ * Requests in the traffic mix, named as they appear in loadtest.mix and in the reports
+ */
+public enum Operation {
+    CREATE("create"),
+    MY_TICKETS("my"),
+    GET_BY_ID("get"),
+    UPDATE("update"),
+    LIST_ALL("list-all");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "' in the traffic mix");
+    }
+}
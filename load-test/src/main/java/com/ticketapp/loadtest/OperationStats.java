@@ -0,0 +1,52 @@
+package com.ticketapp.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes of one operation: latency of every answered request, error responses, requests that got
+ * no response at all, and 429s. A throttled request is not an error, it shows the rate limit at work
+ * rather than the server giving out, and it is left out of the latency.
+ */
+public class OperationStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errorResponses = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    public void success(long nanos) {
+        latency.recordNanos(nanos);
+    }
+
+    public void errorResponse(long nanos) {
+        latency.recordNanos(nanos);
+        errorResponses.increment();
+    }
+
+    /**
+     * A request that got no response, e.g. a refused connection or a timeout
+     */
+    public void failure() {
+        failures.increment();
+    }
+
+    public void throttled() {
+        throttled.increment();
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public long requests() {
+        return latency.count() + failures.sum();
+    }
+
+    public long errors() {
+        return errorResponses.sum() + failures.sum();
+    }
+
+    public long throttledCount() {
+        return throttled.sum();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ticketapp.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaselineCheckTest {
+
+    private final BaselineCheck check = new BaselineCheck(0.25, 2, 0.15, 0.01);
+
+    @Test
+    @DisplayName("Should pass a run within the configured limits")
+    void shouldPassRunWithinLimits() {
+        // Given
+        Properties baseline = properties("total.throughput", "1000", "my.p99", "20", "total.error-rate", "0");
+        Properties current = properties("total.throughput", "900", "my.p99", "24.9", "total.error-rate", "0.005");
+
+        // When
+        List<String> regressions = check.regressions(baseline, current);
+
+        // Then
+        assertThat(regressions).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report slower percentiles, lower throughput and too many errors")
+    void shouldReportRegressions() {
+        // Given
+        Properties baseline = properties("total.throughput", "1000", "my.p99", "20", "get.p50", "1");
+        Properties current = properties("total.throughput", "800", "my.p99", "26", "get.p50", "4", "total.error-rate", "0.02");
+
+        // When
+        List<String> regressions = check.regressions(baseline, current);
+
+        // Then
+        assertThat(regressions).hasSize(4);
+        assertThat(regressions).anyMatch(line -> line.startsWith("total.throughput"));
+        assertThat(regressions).anyMatch(line -> line.startsWith("my.p99"));
+        assertThat(regressions).anyMatch(line -> line.startsWith("get.p50"));
+        assertThat(regressions).anyMatch(line -> line.startsWith("total.error-rate"));
+    }
+
+    @Test
+    @DisplayName("Should allow the latency slack on sub-millisecond baselines")
+    void shouldAllowLatencySlack() {
+        // Given
+        Properties baseline = properties("get.p50", "0.4");
+        Properties current = properties("get.p50", "1.9");
+
+        // When / Then
+        assertThat(check.regressions(baseline, current)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should skip metrics that are not in the baseline")
+    void shouldSkipMetricsMissingFromBaseline() {
+        // Given
+        Properties baseline = properties("total.throughput", "1000");
+        Properties current = properties("total.throughput", "1000", "update.p99", "500");
+
+        // When / Then
+        assertThat(check.regressions(baseline, current)).isEmpty();
+    }
+
+    private static Properties properties(String... keysAndValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            properties.setProperty(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ticketapp.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should report percentiles within the bucket precision")
+    void shouldReportPercentiles() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.recordNanos(micros * 1_000);
+        }
+
+        // Then
+        assertThat(histogram.count()).isEqualTo(10_000);
+        assertThat(histogram.percentileMicros(0.50)).isCloseTo(5_000, within(80L));
+        assertThat(histogram.percentileMicros(0.99)).isCloseTo(9_900, within(160L));
+        assertThat(histogram.percentileMicros(1.0)).isEqualTo(10_000);
+        assertThat(histogram.maxMicros()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("Should map every bucket index back to a value range containing it")
+    void shouldMapBucketsConsistently() {
+        for (long value : new long[]{0, 1, 127, 128, 129, 255, 256, 1_000, 65_535, 1_000_000_000L, Long.MAX_VALUE / 2}) {
+            int index = LatencyHistogram.index(value);
+
+            assertThat(LatencyHistogram.highestValue(index)).isGreaterThanOrEqualTo(value);
+            assertThat(index == 0 ? -1 : LatencyHistogram.highestValue(index - 1)).isLessThan(value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report zero for an empty histogram")
+    void shouldHandleEmptyHistogram() {
+        assertThat(new LatencyHistogram().percentileMicros(0.99)).isZero();
+    }
+}
@@ -0,0 +1,211 @@
+package com.ticketapp.attachment;
+
+import com.ticketapp.config.AttachmentProperties;
+import com.ticketapp.event.TicketChangeEvent;
+import com.ticketapp.id.IdGenerator;
+import com.ticketapp.model.Attachment;
+import com.ticketapp.repository.AttachmentRepository;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.sharding.TicketShards;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Attachment rows live on their ticket's shard, their content in the {@link BlobStore}, which
+ * every shard shares. A blob is deleted once no attachment on any shard refers to it any more.
+ */
+@Service
+public class AttachmentService {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final AttachmentRepository attachmentRepository;
+    private final TicketRepository ticketRepository;
+    private final BlobStore blobStore;
+    private final IdGenerator idGenerator;
+    private final TicketShards shards;
+    private final AttachmentProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    // Linking a blob to a new attachment and deleting a blob nobody links to exclude each other per digest
+    private final ReentrantLock[] blobLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public AttachmentService(AttachmentRepository attachmentRepository,
+                             TicketRepository ticketRepository,
+                             BlobStore blobStore,
+                             IdGenerator idGenerator,
+                             TicketShards shards,
+                             AttachmentProperties properties,
+                             PlatformTransactionManager transactionManager) {
+        this.attachmentRepository = attachmentRepository;
+        this.ticketRepository = ticketRepository;
+        this.blobStore = blobStore;
+        this.idGenerator = idGenerator;
+        this.shards = shards;
+        this.properties = properties;
+        // Commits on its own, also when called from an after-commit listener
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            blobLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public List<Attachment> getAttachments(long ticketId) {
+        return shards.on(shards.shardOfTicket(ticketId), () -> attachmentRepository.findByTicketIdOrderByIdAsc(ticketId));
+    }
+
+    public Optional<Attachment> getAttachment(long ticketId, long attachmentId) {
+        return shards.on(shards.shardOfTicket(ticketId), () -> attachmentRepository.findByIdAndTicketId(attachmentId, ticketId));
+    }
+
+    public Path contentOf(Attachment attachment) {
+        return blobStore.path(attachment.getSha256());
+    }
+
+    /**
+     * Stream a file into the blob store and attach it to a ticket.
+     * The size is checked against the limits before anything is read when the client declares it,
+     * and while reading otherwise; the quota is checked again with the ticket locked before the
+     * attachment is saved, so concurrent uploads cannot exceed it together.
+     * @param declaredSize the request's Content-Length, or -1 if unknown
+     * @return the new attachment, or empty if the ticket does not exist
+     * @throws QuotaExceededException if the file or the ticket's attachments would be too large
+     */
+    public Optional<Attachment> upload(long ticketId, String fileName, String contentType, long declaredSize,
+                                       InputStream content, String uploadedBy) throws IOException {
+        int shard = shards.shardOfTicket(ticketId);
+        long quota = properties.getTicketQuota().toBytes();
+        long used = shards.on(shard, () -> attachmentRepository.sumSizeByTicketId(ticketId));
+        long limit = Math.min(properties.getMaxFileSize().toBytes(), quota - used);
+        if (declaredSize > limit) {
+            throw new QuotaExceededException("Attachment of " + declaredSize + " bytes larger than the " + limit + " bytes left");
+        }
+
+        BlobStore.Upload upload = blobStore.receive(content, limit);
+        // The ticket row is locked before the digest, never the other way round, so no one holding
+        // a digest's lock waits for a row lock. The digest's lock is held from moving the blob into
+        // place until the attachment referring to it is committed, so a concurrent release of the
+        // same content cannot count no references and delete the blob in between.
+        ReentrantLock lock = lockFor(upload.sha256());
+        try {
+            Optional<Attachment> saved = shards.on(shard, () -> transactionTemplate.execute(status -> {
+                if (ticketRepository.lockById(ticketId).isEmpty()) {
+                    return Optional.<Attachment>empty();
+                }
+                long total = attachmentRepository.sumSizeByTicketId(ticketId) + upload.size();
+                if (total > quota) {
+                    throw new QuotaExceededException("Attachments of ticket " + ticketId + " would take " + total
+                        + " bytes, more than the quota of " + quota);
+                }
+                lock.lock();
+                try {
+                    blobStore.commit(upload);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return Optional.of(attachmentRepository.save(new Attachment(idGenerator.nextId(shard), ticketId,
+                    fileName, contentType, upload.size(), upload.sha256(), uploadedBy)));
+            }));
+            if (saved.isEmpty()) {
+                blobStore.discard(upload);
+            }
+            return saved;
+        } catch (RuntimeException e) {
+            if (lock.isHeldByCurrentThread()) {
+                deleteBlobIfUnused(upload.sha256());
+            }
+            blobStore.discard(upload);
+            if (e instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return whether the ticket had the attachment
+     */
+    public boolean delete(long ticketId, long attachmentId) {
+        Optional<Attachment> deleted = shards.on(shards.shardOfTicket(ticketId), () -> transactionTemplate.execute(status -> {
+            Optional<Attachment> attachment = attachmentRepository.findByIdAndTicketId(attachmentId, ticketId);
+            attachment.ifPresent(attachmentRepository::delete);
+            return attachment;
+        }));
+        deleted.ifPresent(attachment -> releaseBlob(attachment.getSha256()));
+        return deleted.isPresent();
+    }
+
+    /**
+     * Attachments go with their ticket when it is deleted. An archived ticket keeps them, and they
+     * stay readable under its id. A retention purge names no tickets, so after one every attachment
+     * whose ticket is neither live nor archived is deleted.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketChange(TicketChangeEvent event) {
+        switch (event.type()) {
+            case DELETED -> deleteAttachments(shards.shardOfTicket(event.ticketId()),
+                () -> attachmentRepository.findByTicketIdOrderByIdAsc(event.ticketId()));
+            case PURGED -> {
+                for (int shard = 0; shard < shards.count(); shard++) {
+                    deleteAttachments(shard, attachmentRepository::findOrphaned);
+                }
+            }
+            case CREATED, UPDATED, ARCHIVED -> {
+                // The ticket and its attachments stay; an archived ticket keeps its id and shard
+            }
+        }
+    }
+
+    private void deleteAttachments(int shard, Supplier<List<Attachment>> query) {
+        List<Attachment> deleted = shards.on(shard, () -> transactionTemplate.execute(status -> {
+            List<Attachment> attachments = query.get();
+            attachmentRepository.deleteAllInBatch(attachments);
+            return attachments;
+        }));
+        deleted.stream().map(Attachment::getSha256).distinct().forEach(this::releaseBlob);
+    }
+
+    private void releaseBlob(String sha256) {
+        ReentrantLock lock = lockFor(sha256);
+        lock.lock();
+        try {
+            deleteBlobIfUnused(sha256);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Callers hold the digest's lock. Counted in a read-write transaction per shard, so on the
+    // primary and also from an after-commit listener, where shards.gather refuses to run.
+    private void deleteBlobIfUnused(String sha256) {
+        long references = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            references += shards.on(shard, () -> transactionTemplate.execute(status -> attachmentRepository.countBySha256(sha256)));
+        }
+        if (references == 0) {
+            blobStore.delete(sha256);
+        }
+    }
+
+    private ReentrantLock lockFor(String sha256) {
+        return blobLocks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+}
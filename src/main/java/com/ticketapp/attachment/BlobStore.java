@@ -0,0 +1,126 @@
+package com.ticketapp.attachment;
+
+import com.ticketapp.config.AttachmentProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed files: every distinct content is stored once, named by its SHA-256 under two
+ * levels of fan-out directories (ab/cd/abcd...). Uploads stream through a small buffer into a
+ * temporary file while being hashed and are moved into place once the digest is known, so
+ * neither the heap nor a half-written blob ever holds a whole upload.
+ */
+@Component
+public class BlobStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path incoming;
+
+    public BlobStore(AttachmentProperties properties) throws IOException {
+        this.root = Path.of(properties.getDirectory()).toAbsolutePath();
+        this.incoming = root.resolve("incoming");
+        // Uploads cut short by a crash
+        if (Files.isDirectory(incoming)) {
+            try (Stream<Path> leftovers = Files.list(incoming)) {
+                for (Path leftover : (Iterable<Path>) leftovers::iterator) {
+                    Files.deleteIfExists(leftover);
+                }
+            }
+        }
+    }
+
+    /**
+     * Content received into a temporary file, not yet part of the store
+     */
+    public record Upload(Path file, String sha256, long size) {
+    }
+
+    /**
+     * Copy a stream into a temporary file, hashing it on the way
+     * @throws QuotaExceededException as soon as more than maxBytes arrive; nothing is kept
+     */
+    public Upload receive(InputStream in, long maxBytes) throws IOException {
+        Files.createDirectories(incoming);
+        Path file = Files.createTempFile(incoming, "upload-", ".tmp");
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+                if (size > maxBytes) {
+                    throw new QuotaExceededException("Attachment larger than the " + maxBytes + " bytes left");
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new Upload(file, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    /**
+     * Move received content into the store, or drop it if the same content is already there
+     */
+    public void commit(Upload upload) throws IOException {
+        Path target = path(upload.sha256());
+        if (Files.exists(target)) {
+            Files.delete(upload.file());
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        Files.move(upload.file(), target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Drop received content that will not be committed; nothing happens if it already was
+     */
+    public void discard(Upload upload) {
+        try {
+            Files.deleteIfExists(upload.file());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(String sha256) {
+        try {
+            Files.deleteIfExists(path(sha256));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Path path(String sha256) {
+        if (!SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 digest: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
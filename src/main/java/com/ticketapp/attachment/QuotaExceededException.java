@@ -0,0 +1,11 @@
+package com.ticketapp.attachment;
+
+/**
+ * An attachment larger than the file size limit, or than what is left of its ticket's quota
+ */
+public class QuotaExceededException extends RuntimeException {
+
+    public QuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ticketapp.bulk;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Body of POST /api/tickets/bulk: which tickets to change and how.
+ */
+public record BulkOperationRequest(Filter filter, Change change) {
+
+    /**
+     * Tickets matching every given criterion. olderThan is resolved to createdBefore on submission,
+     * so a resumed operation keeps selecting the same tickets.
+     */
+    public record Filter(String status, String priority, LocalDateTime createdBefore, Duration olderThan) {
+
+        public boolean isEmpty() {
+            return status == null && priority == null && createdBefore == null && olderThan == null;
+        }
+    }
+
+    /**
+     * New values; a field left out is not changed
+     */
+    public record Change(String status, String priority) {
+
+        public boolean isEmpty() {
+            return status == null && priority == null;
+        }
+    }
+}
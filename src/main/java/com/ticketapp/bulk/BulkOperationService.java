@@ -0,0 +1,257 @@
+package com.ticketapp.bulk;
+
+import com.ticketapp.config.BulkOperationProperties;
+import com.ticketapp.event.TicketChangeEvent;
+import com.ticketapp.id.IdGenerator;
+import com.ticketapp.model.BulkOperation;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.BulkOperationRepository;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.sharding.TicketShards;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mass status and priority changes run as background jobs.
+ *
+ * An operation is stored on every shard and worked through there in chunks: each transaction
+ * locks the next chunk of matching tickets after the checkpoint id, changes them with one
+ * set-based UPDATE and moves the checkpoint past them. Ticket ids grow with time, so the id
+ * keyset walks the table once without offsets. A crash loses at most the chunk in flight, which
+ * rolls back and is redone when unfinished operations are picked up again. Tickets that only
+ * start to match the filter behind the checkpoint are not revisited.
+ */
+@Service
+public class BulkOperationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkOperationService.class);
+
+    private static final List<BulkOperation.State> UNFINISHED = List.of(BulkOperation.State.PENDING, BulkOperation.State.RUNNING);
+
+    private final BulkOperationRepository bulkOperationRepository;
+    private final TicketRepository ticketRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdGenerator idGenerator;
+    private final TicketShards shards;
+    private final BulkOperationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    // One operation at a time, in submission order
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("bulk-operations").daemon().factory());
+    private Future<?> queuedRun;
+
+    public BulkOperationService(BulkOperationRepository bulkOperationRepository,
+                                TicketRepository ticketRepository,
+                                CacheManager cacheManager,
+                                ApplicationEventPublisher eventPublisher,
+                                IdGenerator idGenerator,
+                                TicketShards shards,
+                                BulkOperationProperties properties,
+                                PlatformTransactionManager transactionManager) {
+        this.bulkOperationRepository = bulkOperationRepository;
+        this.ticketRepository = ticketRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.idGenerator = idGenerator;
+        this.shards = shards;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Record an operation and start it in the background
+     * @throws IllegalArgumentException if the filter or the change is empty
+     */
+    public BulkOperationStatus submit(BulkOperationRequest request, String requestedBy) {
+        // An empty filter would rewrite every ticket, which is never what a typo meant
+        if (request.filter() == null || request.filter().isEmpty()) {
+            throw new IllegalArgumentException("A bulk operation needs at least one filter criterion");
+        }
+        if (request.change() == null || request.change().isEmpty()) {
+            throw new IllegalArgumentException("A bulk operation needs a status or priority to set");
+        }
+        BulkOperationRequest.Filter filter = request.filter();
+        LocalDateTime createdBefore = filter.createdBefore();
+        if (filter.olderThan() != null) {
+            LocalDateTime olderThan = LocalDateTime.now().minus(filter.olderThan());
+            createdBefore = createdBefore == null || olderThan.isBefore(createdBefore) ? olderThan : createdBefore;
+        }
+
+        long id = idGenerator.nextId(0);
+        for (int shard = 0; shard < shards.count(); shard++) {
+            BulkOperation operation = new BulkOperation(id, filter.status(), filter.priority(), createdBefore,
+                request.change().status(), request.change().priority(), requestedBy);
+            shards.run(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+                operation.setMatched(ticketRepository.countBulkMatches(
+                    operation.getFilterStatus(), operation.getFilterPriority(), operation.getCreatedBefore()));
+                bulkOperationRepository.save(operation);
+            }));
+        }
+        log.info("Bulk operation {} submitted by {}: {} -> {}", id, requestedBy, filter, request.change());
+
+        resume();
+        return getStatus(id).orElseThrow();
+    }
+
+    public Optional<BulkOperationStatus> getStatus(long id) {
+        List<BulkOperation> rows = shards.gather(() -> bulkOperationRepository.findById(id).stream().toList(), null);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(BulkOperationStatus.of(rows));
+    }
+
+    /**
+     * Stop an operation after the chunk in flight. Tickets already changed keep their new values.
+     */
+    public Optional<BulkOperationStatus> cancel(long id) {
+        for (int shard = 0; shard < shards.count(); shard++) {
+            shards.run(shard, () -> bulkOperationRepository.finish(id, BulkOperation.State.CANCELLED, LocalDateTime.now(), UNFINISHED));
+        }
+        return getStatus(id);
+    }
+
+    /**
+     * Runs right after startup and then every poll interval, which resumes operations cut short
+     * by a crash or a restart, on this instance or another one
+     */
+    @Scheduled(fixedDelayString = "${app.bulk.poll-interval:PT30S}")
+    public void scheduledResume() {
+        resume();
+    }
+
+    /**
+     * Work through every unfinished operation in the background
+     * @return completes once the run has nothing left to do
+     */
+    public synchronized Future<?> resume() {
+        // A run that has not started yet will see everything submitted before it
+        if (queuedRun == null) {
+            queuedRun = executor.submit(() -> {
+                dequeue();
+                runUnfinished();
+            });
+        }
+        return queuedRun;
+    }
+
+    private synchronized void dequeue() {
+        queuedRun = null;
+    }
+
+    private void runUnfinished() {
+        for (int shard = 0; shard < shards.count(); shard++) {
+            int current = shard;
+            List<BulkOperation> operations = shards.on(shard, () -> bulkOperationRepository.findByStateInOrderByIdAsc(UNFINISHED));
+            for (BulkOperation operation : operations) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                run(current, operation.getId());
+            }
+        }
+    }
+
+    private void run(int shard, long id) {
+        try {
+            boolean more;
+            do {
+                more = Boolean.TRUE.equals(shards.on(shard, () -> transactionTemplate.execute(status -> processChunk(id))));
+            } while (more && !Thread.currentThread().isInterrupted());
+        } catch (OptimisticLockingFailureException e) {
+            // Cancelled, or advanced by another instance, while this chunk was in flight; it rolled back
+            log.debug("Bulk operation {} on shard {} changed concurrently, leaving it", id, shard);
+        } catch (RuntimeException e) {
+            log.error("Bulk operation {} failed on shard {}", id, shard, e);
+            shards.run(shard, () -> transactionTemplate.executeWithoutResult(status ->
+                bulkOperationRepository.findById(id).ifPresent(operation ->
+                    operation.finish(BulkOperation.State.FAILED, abbreviate(String.valueOf(e.getMessage()))))));
+        }
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    /**
+     * Change the next chunk of tickets and checkpoint past it, in the caller's transaction
+     * @return whether there may be more tickets to change
+     */
+    private boolean processChunk(long id) {
+        BulkOperation operation = bulkOperationRepository.findById(id).orElse(null);
+        if (operation == null || operation.getState().isFinished()) {
+            return false;
+        }
+        int chunkSize = properties.getChunkSize();
+        List<Ticket> tickets = ticketRepository.findBulkChunk(operation.getLastTicketId(), operation.getFilterStatus(),
+            operation.getFilterPriority(), operation.getCreatedBefore(), PageRequest.of(0, chunkSize));
+        if (tickets.isEmpty()) {
+            operation.finish(BulkOperation.State.COMPLETED, null);
+            return false;
+        }
+
+        List<Long> ids = tickets.stream().map(Ticket::getId).toList();
+        operation.advance(ids.get(ids.size() - 1), ids.size());
+        boolean more = ids.size() == chunkSize;
+        if (!more) {
+            operation.finish(BulkOperation.State.COMPLETED, null);
+        }
+        // The checkpoint is flushed ahead of the UPDATE, so a concurrent runner fails before changing anything
+        ticketRepository.bulkUpdate(ids, operation.getNewStatus(), operation.getNewPriority());
+
+        Map<String, String> newValues = new LinkedHashMap<>();
+        if (operation.getNewStatus() != null) {
+            newValues.put("status", operation.getNewStatus());
+        }
+        if (operation.getNewPriority() != null) {
+            newValues.put("priority", operation.getNewPriority());
+        }
+        for (Ticket ticket : tickets) {
+            eventPublisher.publishEvent(TicketChangeEvent.updated(ticket.getId(), ticket.getCreatedBy(), ticket, newValues));
+        }
+        evictAfterCommit(ids);
+        return more;
+    }
+
+    private void evictAfterCommit(List<Long> ids) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Cache ticketsCache = cacheManager.getCache("tickets");
+                if (ticketsCache != null) {
+                    ids.forEach(ticketsCache::evict);
+                }
+            }
+        });
+    }
+
+    /**
+     * The chunk in flight rolls back and is redone on the next start
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ticketapp.bulk;
+
+import com.ticketapp.model.BulkOperation;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Progress of a bulk operation summed over the shards it runs on
+ */
+public record BulkOperationStatus(long id, BulkOperation.State state, long matched, long processed,
+                                  String requestedBy, LocalDateTime createdAt, LocalDateTime updatedAt,
+                                  LocalDateTime finishedAt, String error) {
+
+    /**
+     * Combine the per-shard rows of one operation. It has failed or been cancelled if any shard
+     * has, and is only completed once every shard is.
+     */
+    public static BulkOperationStatus of(List<BulkOperation> shards) {
+        BulkOperation first = shards.get(0);
+        BulkOperation.State state = combinedState(shards);
+        return new BulkOperationStatus(first.getId(), state,
+            shards.stream().mapToLong(BulkOperation::getMatched).sum(),
+            shards.stream().mapToLong(BulkOperation::getProcessed).sum(),
+            first.getRequestedBy(),
+            first.getCreatedAt(),
+            latest(shards.stream().map(BulkOperation::getUpdatedAt).toList()),
+            state.isFinished() ? latest(shards.stream().map(BulkOperation::getFinishedAt).toList()) : null,
+            shards.stream().map(BulkOperation::getError).filter(Objects::nonNull).findFirst().orElse(null));
+    }
+
+    private static BulkOperation.State combinedState(List<BulkOperation> shards) {
+        for (BulkOperation.State state : List.of(BulkOperation.State.FAILED, BulkOperation.State.CANCELLED)) {
+            if (shards.stream().anyMatch(shard -> shard.getState() == state)) {
+                return state;
+            }
+        }
+        if (shards.stream().allMatch(shard -> shard.getState() == BulkOperation.State.COMPLETED)) {
+            return BulkOperation.State.COMPLETED;
+        }
+        if (shards.stream().allMatch(shard -> shard.getState() == BulkOperation.State.PENDING)) {
+            return BulkOperation.State.PENDING;
+        }
+        return BulkOperation.State.RUNNING;
+    }
+
+    private static LocalDateTime latest(List<LocalDateTime> times) {
+        return times.stream().filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null);
+    }
+}
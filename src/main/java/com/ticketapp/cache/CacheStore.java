@@ -0,0 +1,37 @@
+package com.ticketapp.cache;
+
+/**
+ * Storage behind a {@link CoalescingCache}.
+ */
+public interface CacheStore {
+
+    /**
+     * @return the stored value, or null if the key is not present
+     */
+    Stored get(Object key);
+
+    void put(Object key, Stored stored);
+
+    void remove(Object key);
+
+    /**
+     * Remove the key only if it still holds the value loaded at the given time
+     */
+    void remove(Object key, long loadedAt);
+
+    /**
+     * Remove every entry that has expired by now, including ones that are never read again
+     */
+    void removeExpired(long now, long ttlNanos);
+
+    void clear();
+
+    /**
+     * A cached value and the ticker time it was loaded at
+     */
+    record Stored(Object value, long loadedAt) {
+        boolean isExpired(long now, long ttlNanos) {
+            return now - loadedAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.ticketapp.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory cache with expiry, single-flight loading and refresh-ahead.
+ * Concurrent misses on the same key (used through {@code @Cacheable(sync = true)}) share one
+ * load: the first caller runs the loader and everyone else waits on its result.
+ * Entries read after refreshAheadFactor of their TTL are reloaded in the background while
+ * the current value keeps being served, so popular keys never expire under load.
+ * Entries live in a {@link CacheStore}, on the heap unless another store is given.
+ * Evicting or putting a key detaches the load in flight for it, whose value is then handed to
+ * the callers already waiting on it but no longer stored, so a load that read the data before
+ * a write cannot bring the old value back after the write evicted it.
+ */
+public class CoalescingCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final CacheStore store;
+    // The load in flight per key, also the version of the key's entry: only the load still mapped here may store its value
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+
+    private final Counter actualLoads;
+    private final Counter coalescedLoads;
+    private final Counter refreshLoads;
+
+    public CoalescingCache(String name, Duration ttl, double refreshAheadFactor, Executor refreshExecutor,
+                           MeterRegistry meterRegistry, LongSupplier ticker) {
+        this(name, new HeapCacheStore(), ttl, refreshAheadFactor, refreshExecutor, meterRegistry, ticker);
+    }
+
+    public CoalescingCache(String name, CacheStore store, Duration ttl, double refreshAheadFactor,
+                           Executor refreshExecutor, MeterRegistry meterRegistry, LongSupplier ticker) {
+        super(true);
+        this.name = name;
+        this.store = store;
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAfterNanos = refreshAheadFactor > 0 && refreshAheadFactor < 1
+            ? (long) (ttlNanos * refreshAheadFactor) : Long.MAX_VALUE;
+        this.refreshExecutor = refreshExecutor;
+        this.ticker = ticker;
+        this.actualLoads = loadCounter(meterRegistry, "actual");
+        this.coalescedLoads = loadCounter(meterRegistry, "coalesced");
+        this.refreshLoads = loadCounter(meterRegistry, "refresh");
+    }
+
+    private Counter loadCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("cache.loads")
+            .description("Cache loads by type: actual loader calls, callers that joined an in-flight load, background refreshes")
+            .tag("cache", name)
+            .tag("type", type)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        CacheStore.Stored stored = store.get(key);
+        if (stored == null) {
+            return null;
+        }
+        if (stored.isExpired(ticker.getAsLong(), ttlNanos)) {
+            store.remove(key, stored.loadedAt());
+            return null;
+        }
+        return stored.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long now = ticker.getAsLong();
+        CacheStore.Stored stored = store.get(key);
+        if (stored != null && !stored.isExpired(now, ttlNanos)) {
+            if (now - stored.loadedAt() >= refreshAfterNanos) {
+                refreshAhead(key, valueLoader);
+            }
+            return (T) fromStoreValue(stored.value());
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return (T) await(key, valueLoader, existing);
+        }
+
+        try {
+            actualLoads.increment();
+            T value = valueLoader.call();
+            storeLoaded(key, load, value);
+            load.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            load.completeExceptionally(ex);
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    private void refreshAhead(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> refresh = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, refresh) != null) {
+            return;
+        }
+        refreshLoads.increment();
+        refreshExecutor.execute(() -> {
+            try {
+                Object value = valueLoader.call();
+                storeLoaded(key, refresh, value);
+                refresh.complete(value);
+            } catch (Throwable ex) {
+                // Keep serving the current value, it is reloaded on the next access after expiry
+                refresh.completeExceptionally(ex);
+            } finally {
+                inFlight.remove(key, refresh);
+            }
+        });
+    }
+
+    // Under the key's map entry lock, the same one evict and put take, so the check and the write are atomic
+    private void storeLoaded(Object key, CompletableFuture<Object> load, Object value) {
+        inFlight.computeIfPresent(key, (k, current) -> {
+            if (current == load) {
+                store.put(key, new CacheStore.Stored(toStoreValue(value), ticker.getAsLong()));
+            }
+            return current;
+        });
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        inFlight.compute(key, (k, load) -> {
+            store.put(key, new CacheStore.Stored(toStoreValue(value), ticker.getAsLong()));
+            return null;
+        });
+    }
+
+    @Override
+    public void evict(Object key) {
+        inFlight.compute(key, (k, load) -> {
+            store.remove(key);
+            return null;
+        });
+    }
+
+    /**
+     * Drop expired entries that are not being read, which lookups alone would keep forever
+     */
+    public void evictExpired() {
+        store.removeExpired(ticker.getAsLong(), ttlNanos);
+    }
+
+    @Override
+    public void clear() {
+        // Loads detached first cannot store anything, ones that stored before are cleared with the rest
+        inFlight.clear();
+        store.clear();
+    }
+}
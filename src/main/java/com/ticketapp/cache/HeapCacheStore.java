@@ -0,0 +1,104 @@
+package com.ticketapp.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Store holding values as heap objects, up to a maximum number of entries.
+ *
+ * Past the limit a CLOCK sweep, as in {@link TieredCacheStore}, drops entries that were not read
+ * since the last sweep. Expired entries are dropped when read, or by {@link #removeExpired}.
+ */
+public class HeapCacheStore implements CacheStore {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final ConcurrentMap<Object, Entry> store = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    private final Object clockLock = new Object();
+    private Iterator<Map.Entry<Object, Entry>> clockHand;
+
+    public HeapCacheStore() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public HeapCacheStore(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Stored get(Object key) {
+        Entry entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.referenced = true;
+        return entry.stored;
+    }
+
+    @Override
+    public void put(Object key, Stored stored) {
+        store.put(key, new Entry(stored));
+        evict();
+    }
+
+    @Override
+    public void remove(Object key) {
+        store.remove(key);
+    }
+
+    @Override
+    public void remove(Object key, long loadedAt) {
+        store.computeIfPresent(key, (k, entry) -> entry.stored.loadedAt() == loadedAt ? null : entry);
+    }
+
+    @Override
+    public void removeExpired(long now, long ttlNanos) {
+        store.values().removeIf(entry -> entry.stored.isExpired(now, ttlNanos));
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    private void evict() {
+        if (store.size() <= maxEntries) {
+            return;
+        }
+        synchronized (clockLock) {
+            // Each entry gets a second chance: the first pass clears its flag, the next one removes it
+            while (store.size() > maxEntries) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = store.entrySet().iterator();
+                    if (!clockHand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<Object, Entry> candidate = clockHand.next();
+                Entry entry = candidate.getValue();
+                if (entry.referenced) {
+                    entry.referenced = false;
+                } else {
+                    store.remove(candidate.getKey(), entry);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final Stored stored;
+        volatile boolean referenced;
+
+        Entry(Stored stored) {
+            this.stored = stored;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.ticketapp.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Byte records kept in direct memory, outside the garbage-collected heap.
+ *
+ * Records are appended to a ring of 1 MB direct chunks, allocated as the ring first fills, up
+ * to the configured budget. Once the ring wraps, the records it is about to overwrite are the
+ * oldest ones, so eviction is FIFO and there is no fragmentation to manage. Only a key-to-
+ * position entry per record stays on the heap.
+ */
+public class OffHeapStore {
+
+    static final int CHUNK_SIZE = 1 << 20;
+
+    // int length, long loadedAt
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+
+    private final long capacity;
+    private final ByteBuffer[] chunks;
+    // Insertion order is position order, so the eldest entry is always the next to be overwritten
+    private final LinkedHashMap<Object, Long> index = new LinkedHashMap<>();
+
+    private long writePosition;
+    private long liveBytes;
+    private long evictions;
+
+    public OffHeapStore(long maxBytes) {
+        int chunkCount = (int) Math.max(1, maxBytes / CHUNK_SIZE);
+        this.capacity = (long) chunkCount * CHUNK_SIZE;
+        this.chunks = new ByteBuffer[chunkCount];
+    }
+
+    /**
+     * A record copied back onto the heap
+     */
+    public record Slot(long loadedAt, byte[] bytes) {
+    }
+
+    /**
+     * @return false if the record is larger than a chunk and was not stored
+     */
+    public synchronized boolean put(Object key, long loadedAt, byte[] bytes) {
+        remove(key);
+        int size = HEADER_SIZE + bytes.length;
+        if (size > CHUNK_SIZE) {
+            return false;
+        }
+
+        // Records never straddle two chunks
+        long position = writePosition;
+        int offsetInChunk = (int) (position % CHUNK_SIZE);
+        if (offsetInChunk + size > CHUNK_SIZE) {
+            position += CHUNK_SIZE - offsetInChunk;
+        }
+        long end = position + size;
+        evictBefore(end - capacity);
+
+        ByteBuffer chunk = chunk(position);
+        int offset = (int) (position % CHUNK_SIZE);
+        chunk.putInt(offset, bytes.length);
+        chunk.putLong(offset + Integer.BYTES, loadedAt);
+        chunk.put(offset + HEADER_SIZE, bytes);
+        index.put(key, position);
+        writePosition = end;
+        liveBytes += size;
+        return true;
+    }
+
+    public synchronized Slot get(Object key) {
+        Long position = index.get(key);
+        if (position == null) {
+            return null;
+        }
+        ByteBuffer chunk = chunk(position);
+        int offset = (int) (position % CHUNK_SIZE);
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        chunk.get(offset + HEADER_SIZE, bytes);
+        return new Slot(chunk.getLong(offset + Integer.BYTES), bytes);
+    }
+
+    public synchronized void remove(Object key) {
+        Long position = index.remove(key);
+        if (position != null) {
+            liveBytes -= recordSize(position);
+        }
+    }
+
+    /**
+     * Drop the records loaded at or before the given ticker time. Records are stored in load order,
+     * so this stops at the eldest one loaded later; their space is reused as the ring wraps.
+     */
+    public synchronized void removeLoadedBefore(long loadedAt) {
+        Iterator<Map.Entry<Object, Long>> eldest = index.entrySet().iterator();
+        while (eldest.hasNext()) {
+            long position = eldest.next().getValue();
+            ByteBuffer chunk = chunk(position);
+            if (chunk.getLong((int) (position % CHUNK_SIZE) + Integer.BYTES) - loadedAt > 0) {
+                return;
+            }
+            liveBytes -= recordSize(position);
+            eldest.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        index.clear();
+        liveBytes = 0;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Bytes held by records that can still be read
+     */
+    public synchronized long liveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Direct memory reserved so far
+     */
+    public synchronized long allocatedBytes() {
+        long allocated = 0;
+        for (ByteBuffer chunk : chunks) {
+            allocated += chunk != null ? CHUNK_SIZE : 0;
+        }
+        return allocated;
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    private void evictBefore(long position) {
+        Iterator<Map.Entry<Object, Long>> eldest = index.entrySet().iterator();
+        while (eldest.hasNext()) {
+            Map.Entry<Object, Long> entry = eldest.next();
+            if (entry.getValue() >= position) {
+                return;
+            }
+            liveBytes -= recordSize(entry.getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private int recordSize(long position) {
+        return HEADER_SIZE + chunk(position).getInt((int) (position % CHUNK_SIZE));
+    }
+
+    private ByteBuffer chunk(long position) {
+        int index = (int) ((position % capacity) / CHUNK_SIZE);
+        if (chunks[index] == null) {
+            chunks[index] = ByteBuffer.allocateDirect(CHUNK_SIZE);
+        }
+        return chunks[index];
+    }
+}
@@ -0,0 +1,94 @@
+package com.ticketapp.cache;
+
+import com.ticketapp.codec.BinaryStrings;
+import com.ticketapp.model.Ticket;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary form of a Ticket:
+ * <pre>
+ *   byte   flags: has id, has createdAt, has closedAt
+ *   long   id
+ *   long   createdAt epoch second, int nanos (only with the flag)
+ *   long   closedAt epoch second, int nanos (only with the flag)
+ *   title, description, status, priority, createdBy as length-prefixed UTF-8
+ * </pre>
+ * A typical ticket takes 100-200 bytes instead of the ~600 bytes of its object graph.
+ */
+public class TicketSerializer implements ValueSerializer<Ticket> {
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_CREATED_AT = 2;
+    private static final int HAS_CLOSED_AT = 4;
+    private static final int TIMESTAMP_SIZE = Long.BYTES + Integer.BYTES;
+
+    @Override
+    public Class<Ticket> type() {
+        return Ticket.class;
+    }
+
+    @Override
+    public byte[] serialize(Ticket ticket) {
+        byte[] title = BinaryStrings.utf8(ticket.getTitle());
+        byte[] description = BinaryStrings.utf8(ticket.getDescription());
+        byte[] status = BinaryStrings.utf8(ticket.getStatus());
+        byte[] priority = BinaryStrings.utf8(ticket.getPriority());
+        byte[] createdBy = BinaryStrings.utf8(ticket.getCreatedBy());
+        int flags = (ticket.getId() != null ? HAS_ID : 0)
+            | (ticket.getCreatedAt() != null ? HAS_CREATED_AT : 0)
+            | (ticket.getClosedAt() != null ? HAS_CLOSED_AT : 0);
+
+        int size = 1 + Long.BYTES
+            + ((flags & HAS_CREATED_AT) != 0 ? TIMESTAMP_SIZE : 0)
+            + ((flags & HAS_CLOSED_AT) != 0 ? TIMESTAMP_SIZE : 0)
+            + BinaryStrings.sizeOf(title) + BinaryStrings.sizeOf(description) + BinaryStrings.sizeOf(status)
+            + BinaryStrings.sizeOf(priority) + BinaryStrings.sizeOf(createdBy);
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put((byte) flags);
+        out.putLong(ticket.getId() != null ? ticket.getId() : 0);
+        if ((flags & HAS_CREATED_AT) != 0) {
+            long micros = ticket.getCreatedAtMicros();
+            out.putLong(Math.floorDiv(micros, 1_000_000L));
+            out.putInt((int) Math.floorMod(micros, 1_000_000L) * 1_000);
+        }
+        if ((flags & HAS_CLOSED_AT) != 0) {
+            putTimestamp(out, ticket.getClosedAt());
+        }
+        BinaryStrings.write(out, title);
+        BinaryStrings.write(out, description);
+        BinaryStrings.write(out, status);
+        BinaryStrings.write(out, priority);
+        BinaryStrings.write(out, createdBy);
+        return out.array();
+    }
+
+    @Override
+    public Ticket deserialize(ByteBuffer in) {
+        Ticket ticket = new Ticket();
+        int flags = in.get();
+        long id = in.getLong();
+        ticket.setId((flags & HAS_ID) != 0 ? id : null);
+        ticket.setCreatedAt((flags & HAS_CREATED_AT) != 0 ? getTimestamp(in) : null);
+        ticket.setClosedAt((flags & HAS_CLOSED_AT) != 0 ? getTimestamp(in) : null);
+        ticket.setTitle(BinaryStrings.read(in));
+        ticket.setDescription(BinaryStrings.read(in));
+        // The setters share status, priority and owner with every other ticket holding the same value
+        ticket.setStatus(BinaryStrings.read(in));
+        ticket.setPriority(BinaryStrings.read(in));
+        ticket.setCreatedBy(BinaryStrings.read(in));
+        return ticket;
+    }
+
+    private static void putTimestamp(ByteBuffer out, LocalDateTime timestamp) {
+        out.putLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        out.putInt(timestamp.getNano());
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer in) {
+        long epochSecond = in.getLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, in.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,163 @@
+package com.ticketapp.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache store with a size-bounded heap tier in front of an off-heap tier.
+ *
+ * Every serializable value is written through to the {@link OffHeapStore} in binary form, and
+ * recently used values are also kept as objects on the heap. When the heap tier grows past its
+ * limit a CLOCK sweep drops entries that were not read since the last sweep; they remain
+ * available off-heap and are deserialized back onto the heap on their next read. The heap tier
+ * is therefore the only part the garbage collector has to trace, however large the cache gets.
+ *
+ * Values are copied into the off-heap tier on put, so a cached object changed in place must be
+ * put again for the change to survive a trip off the heap.
+ */
+public class TieredCacheStore<T> implements CacheStore {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ConcurrentMap<Object, HeapEntry> heap = new ConcurrentHashMap<>();
+    private final int heapMaxEntries;
+    private final OffHeapStore offHeap;
+    private final ValueSerializer<T> serializer;
+    // Writes and promotions of a key are serialized, so a stale off-heap copy is never promoted over a newer value
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final Object clockLock = new Object();
+    private Iterator<Map.Entry<Object, HeapEntry>> clockHand;
+
+    public TieredCacheStore(int heapMaxEntries, OffHeapStore offHeap, ValueSerializer<T> serializer) {
+        this.heapMaxEntries = heapMaxEntries;
+        this.offHeap = offHeap;
+        this.serializer = serializer;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public Stored get(Object key) {
+        HeapEntry entry = heap.get(key);
+        if (entry != null) {
+            entry.referenced = true;
+            return entry.stored;
+        }
+
+        Stored promoted;
+        synchronized (lockFor(key)) {
+            entry = heap.get(key);
+            if (entry != null) {
+                return entry.stored;
+            }
+            OffHeapStore.Slot slot = offHeap.get(key);
+            if (slot == null) {
+                return null;
+            }
+            promoted = new Stored(serializer.deserialize(ByteBuffer.wrap(slot.bytes())), slot.loadedAt());
+            heap.put(key, new HeapEntry(promoted));
+        }
+        evictFromHeap();
+        return promoted;
+    }
+
+    @Override
+    public void put(Object key, Stored stored) {
+        synchronized (lockFor(key)) {
+            boolean offloaded = serializer.type().isInstance(stored.value())
+                && offHeap.put(key, stored.loadedAt(), serializer.serialize(serializer.type().cast(stored.value())));
+            if (!offloaded) {
+                offHeap.remove(key);
+            }
+            heap.put(key, new HeapEntry(stored));
+        }
+        evictFromHeap();
+    }
+
+    @Override
+    public void remove(Object key) {
+        synchronized (lockFor(key)) {
+            heap.remove(key);
+            offHeap.remove(key);
+        }
+    }
+
+    @Override
+    public void remove(Object key, long loadedAt) {
+        synchronized (lockFor(key)) {
+            HeapEntry entry = heap.get(key);
+            OffHeapStore.Slot slot = entry == null ? offHeap.get(key) : null;
+            long current = entry != null ? entry.stored.loadedAt() : slot != null ? slot.loadedAt() : loadedAt - 1;
+            if (current == loadedAt) {
+                heap.remove(key);
+                offHeap.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public void removeExpired(long now, long ttlNanos) {
+        heap.forEach((key, entry) -> {
+            if (entry.stored.isExpired(now, ttlNanos)) {
+                remove(key, entry.stored.loadedAt());
+            }
+        });
+        offHeap.removeLoadedBefore(now - ttlNanos);
+    }
+
+    @Override
+    public void clear() {
+        heap.clear();
+        offHeap.clear();
+    }
+
+    public int heapSize() {
+        return heap.size();
+    }
+
+    public OffHeapStore offHeap() {
+        return offHeap;
+    }
+
+    private void evictFromHeap() {
+        if (heap.size() <= heapMaxEntries) {
+            return;
+        }
+        synchronized (clockLock) {
+            // Each entry gets a second chance: the first pass clears its flag, the next one removes it
+            while (heap.size() > heapMaxEntries) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = heap.entrySet().iterator();
+                    if (!clockHand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<Object, HeapEntry> candidate = clockHand.next();
+                HeapEntry entry = candidate.getValue();
+                if (entry.referenced) {
+                    entry.referenced = false;
+                } else {
+                    heap.remove(candidate.getKey(), entry);
+                }
+            }
+        }
+    }
+
+    private Object lockFor(Object key) {
+        return locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static final class HeapEntry {
+        final Stored stored;
+        volatile boolean referenced;
+
+        HeapEntry(Stored stored) {
+            this.stored = stored;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ticketapp.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary form of cached values that can leave the heap.
+ */
+public interface ValueSerializer<T> {
+
+    Class<T> type();
+
+    byte[] serialize(T value);
+
+    /**
+     * Read a value from the buffer's position
+     */
+    T deserialize(ByteBuffer in);
+}
@@ -0,0 +1,331 @@
+package com.ticketapp.changelog;
+
+import com.ticketapp.codec.BinaryStrings;
+import com.ticketapp.event.TicketChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of ticket changes kept in fixed-size memory-mapped segment files.
+ *
+ * Each record is laid out as
+ * <pre>
+ *   int    body length (written last, so a zero length marks the end of the log)
+ *   long   ticket id
+ *   long   timestamp, epoch millis
+ *   byte   event type
+ *   byte   field mask: title, description, status, priority, createdBy
+ *   per field in the mask: varint (UTF-8 length + 1, 0 for null) followed by the bytes
+ * </pre>
+ * Only changed fields are written, and createdBy only on CREATED since the owner never changes.
+ * Appends are sequential and forced to disk in batches by {@link #flush()}; a per-ticket index of
+ * record positions is rebuilt by scanning the segments on startup. Reads decode straight from the
+ * mapped segments without copying the file into heap buffers.
+ */
+public class TicketChangeLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketChangeLog.class);
+
+    private static final String[] FIELDS = {"title", "description", "status", "priority"};
+    private static final int CREATED_BY_BIT = 1 << FIELDS.length;
+    private static final int HEADER_SIZE = Long.BYTES + Long.BYTES + 2;
+    private static final TicketChangeEvent.Type[] TYPES = TicketChangeEvent.Type.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<Long, Positions> positionsByTicket = new ConcurrentHashMap<>();
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private int writeOffset;
+    private boolean dirty;
+
+    public TicketChangeLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open change log in " + directory, e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketChange(TicketChangeEvent event) {
+        append(event);
+    }
+
+    /**
+     * Append an event to the end of the log
+     * @return the global position of the record
+     */
+    public synchronized long append(TicketChangeEvent event) {
+        byte[] body = encode(event);
+        if (body.length + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Change record of " + body.length + " bytes does not fit in a segment");
+        }
+        if (writeOffset + Integer.BYTES + body.length > segmentSize) {
+            roll();
+        }
+
+        Segment segment = current();
+        int offset = writeOffset;
+        segment.buffer.put(offset + Integer.BYTES, body);
+        // The length goes in last so a torn write is never mistaken for a record
+        segment.buffer.putInt(offset, body.length);
+        writeOffset = offset + Integer.BYTES + body.length;
+        dirty = true;
+
+        long position = (long) (segments.size() - 1) * segmentSize + offset;
+        index(event.ticketId(), position);
+        long next = position + Integer.BYTES + body.length;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.onChange(event, next);
+        }
+        return position;
+    }
+
+    /**
+     * Replay every record from the given position, then keep delivering new appends in log order.
+     * Replay and registration happen under the append lock, so no record is missed or seen twice.
+     */
+    public synchronized void subscribe(long fromPosition, Subscriber subscriber) {
+        if (fromPosition > endPosition()) {
+            throw new IllegalArgumentException("Position " + fromPosition + " is past the end of the change log");
+        }
+        int segment = (int) (fromPosition / segmentSize);
+        int offset = (int) (fromPosition % segmentSize);
+        for (; segment < segments.size(); segment++, offset = 0) {
+            MappedByteBuffer buffer = segments.get(segment).buffer;
+            int length;
+            while (offset + Integer.BYTES <= segmentSize && (length = buffer.getInt(offset)) > 0) {
+                TicketChangeEvent event = decode(buffer, offset + Integer.BYTES);
+                offset += Integer.BYTES + length;
+                subscriber.onChange(event, (long) segment * segmentSize + offset);
+            }
+        }
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Every recorded change of a ticket, oldest first
+     */
+    public List<TicketChangeEvent> history(long ticketId) {
+        Positions positions = positionsByTicket.get(ticketId);
+        if (positions == null) {
+            return List.of();
+        }
+        int count = positions.count;
+        long[] array = positions.array;
+        List<TicketChangeEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(read(array[i]));
+        }
+        return events;
+    }
+
+    /**
+     * Global position just past the last record
+     */
+    public synchronized long endPosition() {
+        return (long) (segments.size() - 1) * segmentSize + writeOffset;
+    }
+
+    /**
+     * Force records appended since the last call to disk
+     */
+    public void flush() {
+        MappedByteBuffer buffer;
+        synchronized (this) {
+            if (!dirty || segments.isEmpty()) {
+                return;
+            }
+            dirty = false;
+            buffer = current().buffer;
+        }
+        // Appends carry on while the pages are written out
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        for (Segment segment : segments) {
+            segment.channel.close();
+        }
+        segments.clear();
+    }
+
+    TicketChangeEvent read(long position) {
+        Segment segment = segments.get((int) (position / segmentSize));
+        return decode(segment.buffer, (int) (position % segmentSize) + Integer.BYTES);
+    }
+
+    private void open() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().matches("segment-\\d{10}\\.log"))
+                .sorted()
+                .toList();
+        }
+        for (Path file : files) {
+            segments.add(mapSegment(file));
+        }
+        if (segments.isEmpty()) {
+            segments.add(mapSegment(segmentPath(0)));
+        }
+
+        int records = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            MappedByteBuffer buffer = segments.get(i).buffer;
+            int offset = 0;
+            int length;
+            while (offset + Integer.BYTES <= segmentSize && (length = buffer.getInt(offset)) > 0) {
+                index(buffer.getLong(offset + Integer.BYTES), (long) i * segmentSize + offset);
+                offset += Integer.BYTES + length;
+                records++;
+            }
+            writeOffset = offset;
+        }
+        log.info("Opened change log in {} with {} records in {} segments", directory, records, segments.size());
+    }
+
+    private void roll() {
+        current().buffer.force();
+        try {
+            segments.add(mapSegment(segmentPath(segments.size())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create change log segment", e);
+        }
+        writeOffset = 0;
+    }
+
+    private Segment mapSegment(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("segment-%010d.log", index));
+    }
+
+    private Segment current() {
+        return segments.get(segments.size() - 1);
+    }
+
+    // Only ever called by the single writer, under the log's lock or while opening it. Purges name
+    // no ticket, so they are in the log but in no ticket's history.
+    private void index(long ticketId, long position) {
+        if (ticketId == TicketChangeEvent.NO_TICKET) {
+            return;
+        }
+        positionsByTicket.computeIfAbsent(ticketId, id -> new Positions()).add(position);
+    }
+
+    /**
+     * Record positions of one ticket, in a buffer that doubles when full so appending stays
+     * amortized O(1). A position is written before the count that publishes it, and a full buffer
+     * is replaced by a larger copy, so a reader reading the count first always finds that many
+     * positions in whichever array it reads next.
+     */
+    private static final class Positions {
+        private volatile long[] array = new long[4];
+        private volatile int count;
+
+        void add(long position) {
+            long[] current = array;
+            if (count == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                array = current;
+            }
+            current[count] = position;
+            count = count + 1;
+        }
+    }
+
+    static byte[] encode(TicketChangeEvent event) {
+        int mask = 0;
+        byte[][] values = new byte[FIELDS.length + 1][];
+        int size = HEADER_SIZE;
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (event.changes().containsKey(FIELDS[i])) {
+                mask |= 1 << i;
+                values[i] = BinaryStrings.utf8(event.changes().get(FIELDS[i]));
+                size += BinaryStrings.sizeOf(values[i]);
+            }
+        }
+        if (event.type() == TicketChangeEvent.Type.CREATED && event.createdBy() != null) {
+            mask |= CREATED_BY_BIT;
+            values[FIELDS.length] = BinaryStrings.utf8(event.createdBy());
+            size += BinaryStrings.sizeOf(values[FIELDS.length]);
+        }
+
+        byte[] body = new byte[size];
+        ByteBuffer out = ByteBuffer.wrap(body);
+        out.putLong(event.ticketId());
+        out.putLong(event.timestamp().toEpochMilli());
+        out.put((byte) event.type().ordinal());
+        out.put((byte) mask);
+        for (int i = 0; i <= FIELDS.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                BinaryStrings.write(out, values[i]);
+            }
+        }
+        return body;
+    }
+
+    static TicketChangeEvent decode(ByteBuffer buffer, int offset) {
+        long ticketId = buffer.getLong(offset);
+        long timestamp = buffer.getLong(offset + Long.BYTES);
+        TicketChangeEvent.Type type = TYPES[buffer.get(offset + 2 * Long.BYTES)];
+        int mask = buffer.get(offset + 2 * Long.BYTES + 1);
+        // A view over the mapped segment, the fields are decoded in place
+        ByteBuffer fields = buffer.slice(offset + HEADER_SIZE, buffer.capacity() - offset - HEADER_SIZE);
+
+        Map<String, String> changes = new LinkedHashMap<>();
+        for (int i = 0; i < FIELDS.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                changes.put(FIELDS[i], BinaryStrings.read(fields));
+            }
+        }
+        String createdBy = (mask & CREATED_BY_BIT) != 0 ? BinaryStrings.read(fields) : null;
+        return new TicketChangeEvent(type, ticketId, createdBy, Instant.ofEpochMilli(timestamp), changes);
+    }
+
+    /**
+     * Receives change records in log order
+     */
+    @FunctionalInterface
+    public interface Subscriber {
+        /**
+         * @param nextPosition the position just past this record, to resume from after a restart
+         */
+        void onChange(TicketChangeEvent event, long nextPosition);
+    }
+
+    private record Segment(FileChannel channel, MappedByteBuffer buffer) {
+    }
+}
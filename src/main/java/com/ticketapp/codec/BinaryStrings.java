@@ -0,0 +1,67 @@
+package com.ticketapp.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Length-prefixed UTF-8 strings for the compact binary formats (change log, off-heap cache).
+ * The prefix is a varint of the byte length + 1, so null costs a single zero byte and short
+ * strings a single length byte.
+ */
+public final class BinaryStrings {
+
+    private BinaryStrings() {
+    }
+
+    public static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Encoded size of a value returned by {@link #utf8(String)}, prefix included
+     */
+    public static int sizeOf(byte[] utf8) {
+        int code = lengthCode(utf8);
+        int prefix = 1;
+        while ((code >>>= 7) != 0) {
+            prefix++;
+        }
+        return prefix + (utf8 != null ? utf8.length : 0);
+    }
+
+    public static void write(ByteBuffer out, byte[] utf8) {
+        int code = lengthCode(utf8);
+        while ((code & ~0x7F) != 0) {
+            out.put((byte) ((code & 0x7F) | 0x80));
+            code >>>= 7;
+        }
+        out.put((byte) code);
+        if (utf8 != null) {
+            out.put(utf8);
+        }
+    }
+
+    /**
+     * Read a string at the buffer's position, advancing it
+     */
+    public static String read(ByteBuffer in) {
+        int code = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            code |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (code == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[code - 1];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int lengthCode(byte[] utf8) {
+        return utf8 != null ? utf8.length + 1 : 0;
+    }
+}
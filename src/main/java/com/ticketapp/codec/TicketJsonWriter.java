@@ -0,0 +1,174 @@
+package com.ticketapp.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.ticketapp.model.Ticket;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Streams a list of tickets as JSON straight to an output stream.
+ *
+ * The output is byte-for-byte what the application ObjectMapper writes for the same list, but
+ * without reflective bean serialization: field names are pre-encoded once, and timestamps are
+ * formatted as ISO_LOCAL_DATE_TIME into a reused char buffer instead of a String per row.
+ * Keep the field order in step with {@link Ticket}; TicketJsonWriterTest compares the output
+ * against the ObjectMapper.
+ */
+public class TicketJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString PRIORITY = new SerializedString("priority");
+    private static final SerializableString CREATED_BY = new SerializedString("createdBy");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString CLOSED_AT = new SerializedString("closedAt");
+
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final int MAX_TIMESTAMP_LENGTH = 29;
+
+    // Epoch microseconds of the four-digit years, [0000-01-01, 10000-01-01)
+    private static final long MIN_FORMATTED_MICROS = LocalDateTime.of(0, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC) * 1_000_000L;
+    private static final long MAX_FORMATTED_MICROS = LocalDateTime.of(10000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC) * 1_000_000L;
+
+    private final JsonFactory jsonFactory;
+
+    public TicketJsonWriter(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public void write(List<Ticket> tickets, OutputStream out) throws IOException {
+        char[] timestamp = new char[MAX_TIMESTAMP_LENGTH];
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartArray();
+            for (Ticket ticket : tickets) {
+                writeTicket(generator, ticket, timestamp);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void writeTicket(JsonGenerator generator, Ticket ticket, char[] timestamp) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        if (ticket.getId() != null) {
+            generator.writeNumber(ticket.getId());
+        } else {
+            generator.writeNull();
+        }
+        writeString(generator, TITLE, ticket.getTitle());
+        writeString(generator, DESCRIPTION, ticket.getDescription());
+        writeString(generator, STATUS, ticket.getStatus());
+        writeString(generator, PRIORITY, ticket.getPriority());
+        writeString(generator, CREATED_BY, ticket.getCreatedBy());
+        writeCreatedAt(generator, ticket, timestamp);
+        writeTimestamp(generator, CLOSED_AT, ticket.getClosedAt(), timestamp);
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value != null) {
+            generator.writeString(value);
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, SerializableString name, LocalDateTime value,
+                                       char[] buffer) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else if (value.getYear() < 0 || value.getYear() > 9999) {
+            // Outside four-digit years ISO_LOCAL_DATE_TIME adds a sign, leave those to the formatter
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        } else {
+            generator.writeString(buffer, 0, formatIsoLocalDateTime(value, buffer));
+        }
+    }
+
+    // From the packed epoch microseconds, so no LocalDateTime is created per ticket
+    private static void writeCreatedAt(JsonGenerator generator, Ticket ticket, char[] buffer) throws IOException {
+        long micros = ticket.getCreatedAtMicros();
+        if (micros == Ticket.NO_TIMESTAMP || micros < MIN_FORMATTED_MICROS || micros >= MAX_FORMATTED_MICROS) {
+            writeTimestamp(generator, CREATED_AT, ticket.getCreatedAt(), buffer);
+        } else {
+            generator.writeFieldName(CREATED_AT);
+            generator.writeString(buffer, 0, formatIsoLocalDateTime(micros, buffer));
+        }
+    }
+
+    /**
+     * Same output as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} for years 0-9999:
+     * seconds always present, fraction only when non-zero and without trailing zeros
+     * @return the number of chars written
+     */
+    static int formatIsoLocalDateTime(LocalDateTime value, char[] buffer) {
+        return format(buffer, value.getYear(), value.getMonthValue(), value.getDayOfMonth(),
+            value.getHour(), value.getMinute(), value.getSecond(), value.getNano());
+    }
+
+    /**
+     * {@link #formatIsoLocalDateTime(LocalDateTime, char[])} of UTC epoch microseconds in years 0-9999
+     */
+    static int formatIsoLocalDateTime(long epochMicros, char[] buffer) {
+        long epochSecond = Math.floorDiv(epochMicros, 1_000_000L);
+        int nano = (int) Math.floorMod(epochMicros, 1_000_000L) * 1_000;
+        long epochDay = Math.floorDiv(epochSecond, 86_400L);
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86_400L);
+
+        // Civil date of the day, counted in 400-year eras of years starting on March 1st
+        long shifted = epochDay + 719_468;
+        long era = Math.floorDiv(shifted, 146_097);
+        int dayOfEra = (int) (shifted - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (era * 400 + yearOfEra) + (month <= 2 ? 1 : 0);
+
+        return format(buffer, year, month, day, secondOfDay / 3_600, secondOfDay / 60 % 60, secondOfDay % 60, nano);
+    }
+
+    private static int format(char[] buffer, int year, int month, int day, int hour, int minute, int second, int nano) {
+        digits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        digits(buffer, 5, month, 2);
+        buffer[7] = '-';
+        digits(buffer, 8, day, 2);
+        buffer[10] = 'T';
+        digits(buffer, 11, hour, 2);
+        buffer[13] = ':';
+        digits(buffer, 14, minute, 2);
+        buffer[16] = ':';
+        digits(buffer, 17, second, 2);
+        if (nano == 0) {
+            return 19;
+        }
+        buffer[19] = '.';
+        digits(buffer, 20, nano, 9);
+        int length = MAX_TIMESTAMP_LENGTH;
+        while (buffer[length - 1] == '0') {
+            length--;
+        }
+        return length;
+    }
+
+    private static void digits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
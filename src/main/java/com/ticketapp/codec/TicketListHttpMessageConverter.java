@@ -0,0 +1,71 @@
+package com.ticketapp.codec;
+
+import com.ticketapp.model.Ticket;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@code List<Ticket>} JSON responses through {@link TicketJsonWriter}.
+ * Anything else, including reading, is left to the Jackson converter behind it.
+ */
+public class TicketListHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<Ticket>> {
+
+    private final TicketJsonWriter writer;
+
+    public TicketListHttpMessageConverter(TicketJsonWriter writer) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = writer;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return type instanceof ParameterizedType parameterized
+            && parameterized.getRawType() instanceof Class<?> raw && List.class.isAssignableFrom(raw)
+            && parameterized.getActualTypeArguments()[0] == Ticket.class
+            && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        // Without the generic type the element type is unknown
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(List<Ticket> tickets, Type type, HttpOutputMessage outputMessage) throws IOException {
+        writer.write(tickets, outputMessage.getBody());
+    }
+
+    @Override
+    public List<Ticket> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Ticket lists are read by the Jackson converter", inputMessage);
+    }
+
+    @Override
+    protected List<Ticket> readInternal(Class<? extends List<Ticket>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Ticket lists are read by the Jackson converter", inputMessage);
+    }
+}
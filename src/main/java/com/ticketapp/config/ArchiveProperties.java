@@ -0,0 +1,50 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the job that moves long-closed tickets to the archive table.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a ticket must have been closed before it is archived
+     */
+    private Duration closedAge = Duration.ofDays(90);
+
+    /**
+     * Number of tickets moved per transaction
+     */
+    private int batchSize = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getClosedAge() {
+        return closedAge;
+    }
+
+    public void setClosedAge(Duration closedAge) {
+        this.closedAge = closedAge;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for ticket attachments, whose content is kept on the filesystem rather than in the database.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.attachments")
+public class AttachmentProperties {
+
+    /**
+     * Directory holding the attachment content, one file per distinct content
+     */
+    private String directory = "data/attachments";
+
+    /**
+     * Largest single attachment
+     */
+    private DataSize maxFileSize = DataSize.ofMegabytes(10);
+
+    /**
+     * Total size of the attachments of one ticket
+     */
+    private DataSize ticketQuota = DataSize.ofMegabytes(25);
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public DataSize getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(DataSize maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public DataSize getTicketQuota() {
+        return ticketQuota;
+    }
+
+    public void setTicketQuota(DataSize ticketQuota) {
+        this.ticketQuota = ticketQuota;
+    }
+}
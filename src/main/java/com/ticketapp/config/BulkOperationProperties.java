@@ -0,0 +1,40 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the background jobs behind /api/tickets/bulk.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.bulk")
+public class BulkOperationProperties {
+
+    /**
+     * Number of tickets changed per transaction
+     */
+    private int chunkSize = 500;
+
+    /**
+     * How often unfinished operations are looked for, e.g. ones left behind by a crashed instance
+     */
+    private Duration pollInterval = Duration.ofSeconds(30);
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+}
@@ -1,24 +1,90 @@
 package com.ticketapp.config;
 
+import com.ticketapp.cache.CacheStore;
+import com.ticketapp.cache.CoalescingCache;
+import com.ticketapp.cache.HeapCacheStore;
+import com.ticketapp.cache.OffHeapStore;
+import com.ticketapp.cache.TicketSerializer;
+import com.ticketapp.cache.TieredCacheStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * Configuration class to enable caching in the application.
- * Uses ConcurrentMapCacheManager for simplicity and Spring Boot 3.x compatibility.
- * In production, this can be replaced with EhCache or Redis for better performance.
+ * Uses in-memory CoalescingCaches, so concurrent misses on the same key share a single
+ * database load and hot entries are refreshed in the background before they expire.
+ * Load counts are published as the cache.loads metric. Each cache keeps at most
+ * app.cache.max-entries on the heap, and expired entries are swept every app.cache.expiry-sweep-interval.
+ * With app.cache.off-heap.enabled the tickets are kept serialized in direct memory behind a
+ * bounded heap tier, so large working sets do not grow the heap the GC has to trace.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        // Use ConcurrentMapCacheManager for simplicity
-        // This provides in-memory caching with automatic cache creation
-        return new ConcurrentMapCacheManager("tickets", "userTickets");
+    public CacheManager cacheManager(TicketCacheProperties properties, MeterRegistry meterRegistry) {
+        // Refreshes are short blocking database loads, a virtual thread each is enough
+        Executor refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+            cache("tickets", properties, refreshExecutor, meterRegistry)
+        ));
+        return cacheManager;
+    }
+
+    private CoalescingCache cache(String name, TicketCacheProperties properties, Executor refreshExecutor,
+                                  MeterRegistry meterRegistry) {
+        Duration ttl = properties.getTtl().getOrDefault(name, Duration.ofMinutes(10));
+        int maxEntries = properties.getMaxEntries().getOrDefault(name, HeapCacheStore.DEFAULT_MAX_ENTRIES);
+        return new CoalescingCache(name, store(name, maxEntries, properties.getOffHeap(), meterRegistry), ttl,
+            properties.getRefreshAheadFactor(), refreshExecutor, meterRegistry, System::nanoTime);
+    }
+
+    private CacheStore store(String name, int maxEntries, TicketCacheProperties.OffHeap offHeap, MeterRegistry meterRegistry) {
+        if (!offHeap.isEnabled()) {
+            return new HeapCacheStore(maxEntries);
+        }
+        OffHeapStore offHeapStore = new OffHeapStore(offHeap.getMaxSize().toBytes());
+        Gauge.builder("cache.off-heap.size", offHeapStore, OffHeapStore::liveBytes)
+            .description("Bytes of serialized entries held off-heap")
+            .baseUnit("bytes")
+            .tag("cache", name)
+            .register(meterRegistry);
+        Gauge.builder("cache.off-heap.entries", offHeapStore, OffHeapStore::size)
+            .tag("cache", name)
+            .register(meterRegistry);
+        return new TieredCacheStore<>(offHeap.getHeapMaxEntries(), offHeapStore, new TicketSerializer());
+    }
+
+    @Configuration
+    static class ExpiredEntrySweep {
+
+        private final CacheManager cacheManager;
+
+        ExpiredEntrySweep(CacheManager cacheManager) {
+            this.cacheManager = cacheManager;
+        }
+
+        @Scheduled(fixedDelayString = "${app.cache.expiry-sweep-interval:PT1M}")
+        public void evictExpired() {
+            for (String name : cacheManager.getCacheNames()) {
+                if (cacheManager.getCache(name) instanceof CoalescingCache cache) {
+                    cache.evictExpired();
+                }
+            }
+        }
     }
 }
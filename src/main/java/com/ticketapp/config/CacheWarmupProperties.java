@@ -0,0 +1,49 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the startup warmup stage that pre-populates the tickets cache
+ * before the application reports itself ready.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache.warmup")
+public class CacheWarmupProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Number of most recent tickets to load into the cache
+     */
+    private int size = 50;
+
+    /**
+     * Status of the tickets considered hot (matched case-insensitively)
+     */
+    private String status = "OPEN";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
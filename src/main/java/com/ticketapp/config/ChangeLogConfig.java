@@ -0,0 +1,36 @@
+package com.ticketapp.config;
+
+import com.ticketapp.changelog.TicketChangeLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "app.changelog.enabled", havingValue = "true")
+public class ChangeLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public TicketChangeLog ticketChangeLog(ChangeLogProperties properties) {
+        return new TicketChangeLog(Path.of(properties.getDirectory()), (int) properties.getSegmentSize().toBytes());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.changelog.enabled", havingValue = "true")
+    static class ChangeLogFlush {
+
+        private final TicketChangeLog changeLog;
+
+        ChangeLogFlush(TicketChangeLog changeLog) {
+            this.changeLog = changeLog;
+        }
+
+        // Group fsyncs instead of forcing every append to disk
+        @Scheduled(fixedDelayString = "${app.changelog.flush-interval:PT0.2S}")
+        public void flush() {
+            changeLog.flush();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the append-only ticket change log.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.changelog")
+public class ChangeLogProperties {
+
+    /**
+     * Whether ticket changes are recorded and the history endpoint is available
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the segment files
+     */
+    private String directory = "data/changelog";
+
+    /**
+     * Size of each memory-mapped segment file
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * How often appended records are forced to disk
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+}
@@ -18,7 +18,7 @@ public class CorsConfig implements WebMvcConfigurer {
                     "http://localhost:4200",  // For development
                     "http://localhost:8080"   // For unified deployment
                 )
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
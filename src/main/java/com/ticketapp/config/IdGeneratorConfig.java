@@ -0,0 +1,55 @@
+package com.ticketapp.config;
+
+import com.ticketapp.id.IdGenerator;
+import com.ticketapp.id.IdLayout;
+import com.ticketapp.id.NodeIds;
+import com.ticketapp.id.SnowflakeIdGenerator;
+import com.ticketapp.id.TicketIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Ticket id generator, passed to Hibernate's {@link TicketIdGenerator} through the Hibernate settings.
+ * Define another IdGenerator bean to replace it.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdGenerator ticketIdGenerator(IdGeneratorProperties properties) {
+        IdLayout layout = new IdLayout(properties.getNodeBits(), properties.getSequenceBits());
+        int node = NodeIds.resolve(properties.getNodeId(), properties.isNodeIdFromOrdinal(), layout, hostname());
+        if (layout.totalBits() > 53) {
+            log.warn("Ticket ids of {} bits exceed JavaScript's safe integers", layout.totalBits());
+        }
+        log.info("Generating ticket ids as node {} of {}", node, layout.maxNode() + 1);
+        return new SnowflakeIdGenerator(layout, node, properties.getMaxClockSkew(), System::currentTimeMillis);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorHibernateProperties(IdGenerator ticketIdGenerator) {
+        return hibernateProperties -> hibernateProperties.put(TicketIdGenerator.SETTING, ticketIdGenerator);
+    }
+
+    private static String hostname() {
+        String hostname = System.getenv("HOSTNAME");
+        if (hostname != null) {
+            return hostname;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+}
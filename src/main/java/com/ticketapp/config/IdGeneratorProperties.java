@@ -0,0 +1,78 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Layout and node id of the generated ticket ids
+ */
+@Component
+@ConfigurationProperties(prefix = "app.ids")
+public class IdGeneratorProperties {
+
+    /**
+     * Node id of this process, distinct per instance writing tickets
+     */
+    private Integer nodeId;
+
+    /**
+     * Take the node id from the ordinal at the end of the host name, as in a Kubernetes StatefulSet,
+     * instead of app.ids.node-id
+     */
+    private boolean nodeIdFromOrdinal;
+
+    /**
+     * Bits for the node id and the per-millisecond sequence. The defaults keep ids within 53 bits,
+     * larger layouts need clients that do not read ids as JavaScript numbers.
+     */
+    private int nodeBits = 4;
+
+    private int sequenceBits = 4;
+
+    /**
+     * How far ids may run ahead of a clock that stepped back or of a burst, before failing or waiting
+     */
+    private Duration maxClockSkew = Duration.ofSeconds(2);
+
+    public Integer getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(Integer nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public boolean isNodeIdFromOrdinal() {
+        return nodeIdFromOrdinal;
+    }
+
+    public void setNodeIdFromOrdinal(boolean nodeIdFromOrdinal) {
+        this.nodeIdFromOrdinal = nodeIdFromOrdinal;
+    }
+
+    public int getNodeBits() {
+        return nodeBits;
+    }
+
+    public void setNodeBits(int nodeBits) {
+        this.nodeBits = nodeBits;
+    }
+
+    public int getSequenceBits() {
+        return sequenceBits;
+    }
+
+    public void setSequenceBits(int sequenceBits) {
+        this.sequenceBits = sequenceBits;
+    }
+
+    public Duration getMaxClockSkew() {
+        return maxClockSkew;
+    }
+
+    public void setMaxClockSkew(Duration maxClockSkew) {
+        this.maxClockSkew = maxClockSkew;
+    }
+}
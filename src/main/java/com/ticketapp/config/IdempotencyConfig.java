@@ -0,0 +1,55 @@
+package com.ticketapp.config;
+
+import com.ticketapp.idempotency.DatabaseIdempotencyStore;
+import com.ticketapp.idempotency.IdempotencyStore;
+import com.ticketapp.idempotency.InMemoryIdempotencyStore;
+import com.ticketapp.repository.IdempotencyRecordRepository;
+import com.ticketapp.service.TicketService;
+import com.ticketapp.sharding.TicketShards;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties.getTtl(), properties.getMaxEntries(), System::nanoTime);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.idempotency.store", havingValue = "database")
+    public DatabaseIdempotencyStore databaseIdempotencyStore(IdempotencyProperties properties,
+                                                             IdempotencyRecordRepository repository,
+                                                             PlatformTransactionManager transactionManager,
+                                                             TicketService ticketService) {
+        return new DatabaseIdempotencyStore(repository, new TransactionTemplate(transactionManager),
+            ticketService::getTicketById, properties.getTtl());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.idempotency.store", havingValue = "database")
+    static class DatabaseIdempotencyPurge {
+
+        private final DatabaseIdempotencyStore store;
+        private final TicketShards shards;
+
+        DatabaseIdempotencyPurge(DatabaseIdempotencyStore store, TicketShards shards) {
+            this.store = store;
+            this.shards = shards;
+        }
+
+        // Keys are stored next to their tickets, on the owner's shard
+        @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+        public void purgeExpiredKeys() {
+            for (int shard = 0; shard < shards.count(); shard++) {
+                shards.run(shard, store::purgeExpired);
+            }
+        }
+    }
+}
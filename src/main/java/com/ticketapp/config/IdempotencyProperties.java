@@ -0,0 +1,53 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for Idempotency-Key deduplication of ticket submissions.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Where keys are kept: "memory" (per replica, lost on restart) or "database"
+     */
+    private String store = "memory";
+
+    /**
+     * How long a key keeps returning the original ticket
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Maximum number of keys held by the in-memory store
+     */
+    private int maxEntries = 100_000;
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
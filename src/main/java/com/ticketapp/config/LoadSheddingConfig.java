@@ -0,0 +1,35 @@
+package com.ticketapp.config;
+
+import com.ticketapp.loadshed.AimdLimiter;
+import com.ticketapp.loadshed.LoadSheddingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the load shedding filter for /api/* ahead of the Spring Security filter chain,
+ * so rejected requests never reach authentication.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    @Bean
+    public AimdLimiter apiConcurrencyLimiter(LoadSheddingProperties properties) {
+        return new AimdLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+            properties.getMaxLimit(), properties.getBackoffRatio());
+    }
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(AimdLimiter apiConcurrencyLimiter,
+                                                                        LoadSheddingProperties properties,
+                                                                        MeterRegistry meterRegistry) {
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(
+            new LoadSheddingFilter(apiConcurrencyLimiter, properties, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(org.springframework.boot.autoconfigure.security.SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,166 @@
+package com.ticketapp.config;
+
+import com.ticketapp.loadshed.Priority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptive concurrency limit for the ticket API and the priority and timeout of each endpoint.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.load-shedding")
+public class LoadSheddingProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 100;
+
+    private int minLimit = 20;
+
+    private int maxLimit = 400;
+
+    /**
+     * Factor applied to the limit whenever a request runs over its timeout
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Retry-After sent with 503 responses
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Timeout of requests that match no endpoint, they run at NORMAL priority
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(1);
+
+    /**
+     * The first match wins. Attachment uploads and downloads last as long as the client's
+     * connection takes to move the file, so they get a timeout to match.
+     */
+    private List<Endpoint> endpoints = new ArrayList<>(List.of(
+        new Endpoint("POST", "/api/tickets", Priority.CRITICAL, Duration.ofSeconds(2)),
+        new Endpoint("GET", "/api/tickets", Priority.LOW, Duration.ofSeconds(5)),
+        new Endpoint("GET", "/api/tickets/created", Priority.LOW, Duration.ofSeconds(5)),
+        new Endpoint(null, "/api/tickets/*/attachments/**", Priority.NORMAL, Duration.ofMinutes(2))
+    ));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public static class Endpoint {
+        /**
+         * HTTP method, or unset for every method
+         */
+        private String method;
+        private String pattern;
+        private Priority priority = Priority.NORMAL;
+        private Duration timeout = Duration.ofSeconds(1);
+
+        public Endpoint() {}
+
+        public Endpoint(String method, String pattern, Priority priority, Duration timeout) {
+            this.method = method;
+            this.pattern = pattern;
+            this.priority = priority;
+            this.timeout = timeout;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public void setPriority(Priority priority) {
+            this.priority = priority;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
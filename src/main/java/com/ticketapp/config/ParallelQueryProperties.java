@@ -0,0 +1,53 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for queries fanned out in parallel, such as the admin ticket list over shards and the archive.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.parallel-queries")
+public class ParallelQueryProperties {
+
+    /**
+     * Queries running at once across all callers, kept below the connection pool size
+     */
+    private int maxConcurrency = 8;
+
+    /**
+     * How long a query may take before the results are returned without it
+     */
+    private Duration branchTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Owners one ticket list may ask for, each costing one query, or two with the archive
+     */
+    private int maxOwners = 20;
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public Duration getBranchTimeout() {
+        return branchTimeout;
+    }
+
+    public void setBranchTimeout(Duration branchTimeout) {
+        this.branchTimeout = branchTimeout;
+    }
+
+    public int getMaxOwners() {
+        return maxOwners;
+    }
+
+    public void setMaxOwners(int maxOwners) {
+        this.maxOwners = maxOwners;
+    }
+}
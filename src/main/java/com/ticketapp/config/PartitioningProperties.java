@@ -0,0 +1,48 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for monthly createdAt partitioning of the tickets table.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.partitioning")
+public class PartitioningProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Number of whole months of tickets to keep, older months are dropped
+     */
+    private int retentionMonths = 24;
+
+    /**
+     * Number of future monthly partitions to create ahead of time (PostgreSQL only)
+     */
+    private int premakeMonths = 3;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    public void setRetentionMonths(int retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+
+    public int getPremakeMonths() {
+        return premakeMonths;
+    }
+
+    public void setPremakeMonths(int premakeMonths) {
+        this.premakeMonths = premakeMonths;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ticketapp.config;
+
+import com.ticketapp.changelog.TicketChangeLog;
+import com.ticketapp.projection.TicketProjection;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.sharding.TicketShards;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Configuration
+@ConditionalOnProperty(name = "app.projection.enabled", havingValue = "true")
+public class ProjectionConfig {
+
+    @Bean
+    public TicketProjection ticketProjection(ProjectionProperties properties,
+                                             TicketRepository ticketRepository,
+                                             TicketShards shards,
+                                             PlatformTransactionManager transactionManager,
+                                             ObjectProvider<TicketChangeLog> changeLogProvider) {
+        // Each shard in a transaction of its own, so this also works from an after-commit listener
+        TransactionTemplate readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Supplier<List<TicketRepository.OwnerStatus>> tickets = () -> {
+            List<TicketRepository.OwnerStatus> all = new ArrayList<>();
+            for (int shard = 0; shard < shards.count(); shard++) {
+                all.addAll(shards.on(shard, () -> readTemplate.execute(status -> ticketRepository.findAllOwnerStatus())));
+            }
+            return all;
+        };
+        TicketProjection projection = new TicketProjection(Path.of(properties.getCheckpointFile()), tickets);
+        TicketChangeLog changeLog = changeLogProvider.getIfAvailable();
+        if (changeLog == null) {
+            projection.rebuild(tickets.get());
+            return projection;
+        }
+
+        // Resume from the checkpoint when it matches the log, otherwise start from the table at the log's end
+        long from = projection.restore();
+        if (from < 0 || from > changeLog.endPosition()) {
+            projection.rebuild(tickets.get());
+            from = changeLog.endPosition();
+        }
+        projection.followChangeLog(changeLog, from);
+        return projection;
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.projection.enabled", havingValue = "true")
+    static class ProjectionCheckpoint {
+
+        private final TicketProjection projection;
+
+        ProjectionCheckpoint(TicketProjection projection) {
+            this.projection = projection;
+        }
+
+        @Scheduled(fixedDelayString = "${app.projection.checkpoint-interval:PT1M}")
+        @PreDestroy
+        public void checkpoint() throws IOException {
+            // Without the change log there is nothing to resume from, so the projection is rebuilt instead
+            if (projection.isFollowingChangeLog()) {
+                projection.checkpoint();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory ticket read models.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.projection")
+public class ProjectionProperties {
+
+    /**
+     * Whether /api/tickets/my and the status counts are served from the in-memory projection
+     */
+    private boolean enabled = false;
+
+    /**
+     * Snapshot file used to resume from the change log instead of replaying it from the start
+     */
+    private String checkpointFile = "data/projection/tickets.snapshot";
+
+    /**
+     * How often the projection is checkpointed while following the change log
+     */
+    private Duration checkpointInterval = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    public void setCheckpointFile(String checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    public Duration getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(Duration checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+}
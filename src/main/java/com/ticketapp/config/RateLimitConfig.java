@@ -0,0 +1,34 @@
+package com.ticketapp.config;
+
+import com.ticketapp.ratelimit.BucketStore;
+import com.ticketapp.ratelimit.StripedBucketStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Bucket store for the rate limiting filter added in SecurityConfig.
+ * Define another BucketStore bean to share buckets between replicas.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    private final ObjectProvider<BucketStore> bucketStore;
+
+    public RateLimitConfig(ObjectProvider<BucketStore> bucketStore) {
+        this.bucketStore = bucketStore;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BucketStore bucketStore(RateLimitProperties properties) {
+        return new StripedBucketStore(properties.getStripes());
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        bucketStore.ifAvailable(store -> store.evictIdle(System.nanoTime()));
+    }
+}
@@ -0,0 +1,165 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-role request quotas and per-endpoint costs for the rate limiting filter.
+ * Checked when bound: an endpoint costing more than a role's bucket holds could never be called by that role.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties implements Validator {
+
+    private boolean enabled = true;
+
+    /**
+     * Number of independent stripes in the in-memory bucket store
+     */
+    private int stripes = 64;
+
+    /**
+     * Token bucket per role (lower case), a user gets the quota of their most privileged role
+     */
+    private Map<String, Quota> quotas = new LinkedHashMap<>(Map.of(
+        "admin", new Quota(200, 100),
+        "support", new Quota(100, 50),
+        "user", new Quota(30, 10)
+    ));
+
+    /**
+     * Tokens taken by matching requests, the first match wins and anything else costs 1
+     */
+    private List<EndpointCost> costs = new ArrayList<>(List.of(
+        new EndpointCost("POST", "/api/tickets", 5),
+        new EndpointCost("GET", "/api/tickets", 10)
+    ));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public Map<String, Quota> getQuotas() {
+        return quotas;
+    }
+
+    public void setQuotas(Map<String, Quota> quotas) {
+        this.quotas = quotas;
+    }
+
+    public List<EndpointCost> getCosts() {
+        return costs;
+    }
+
+    public void setCosts(List<EndpointCost> costs) {
+        this.costs = costs;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return RateLimitProperties.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        RateLimitProperties properties = (RateLimitProperties) target;
+        for (int i = 0; i < properties.getCosts().size(); i++) {
+            EndpointCost endpoint = properties.getCosts().get(i);
+            if (endpoint.getCost() < 1) {
+                errors.rejectValue("costs[" + i + "].cost", "positive", "Cost of " + endpoint.getMethod() + " "
+                    + endpoint.getPattern() + " must be at least 1");
+            }
+            properties.getQuotas().forEach((role, quota) -> {
+                if (endpoint.getCost() > quota.getCapacity()) {
+                    errors.rejectValue("costs", "capacity", "Cost " + endpoint.getCost() + " of " + endpoint.getMethod()
+                        + " " + endpoint.getPattern() + " exceeds the capacity " + quota.getCapacity() + " of role " + role);
+                }
+            });
+        }
+    }
+
+    public static class Quota {
+        private long capacity;
+        private double refillPerSecond;
+
+        public Quota() {}
+
+        public Quota(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    public static class EndpointCost {
+        private String method;
+        private String pattern;
+        private int cost = 1;
+
+        public EndpointCost() {}
+
+        public EndpointCost(String method, String pattern, int cost) {
+            this.method = method;
+            this.pattern = pattern;
+            this.cost = cost;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public int getCost() {
+            return cost;
+        }
+
+        public void setCost(int cost) {
+            this.cost = cost;
+        }
+    }
+}
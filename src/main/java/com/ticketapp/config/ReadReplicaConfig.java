@@ -0,0 +1,121 @@
+package com.ticketapp.config;
+
+import com.ticketapp.routing.H2LocalReplication;
+import com.ticketapp.routing.ReadReplicaDataSource;
+import com.ticketapp.routing.ReadYourWritesTracker;
+import com.ticketapp.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to a read replica and everything else to the primary.
+ *
+ * The application DataSource is a LazyConnectionDataSourceProxy, which only fetches a physical
+ * connection at the first statement, after the transaction manager has marked the connection
+ * read-only, and then takes it from {@link ReadReplicaDataSource}. Routing is per transaction,
+ * so open-in-view, which holds one connection for the whole request, must be off.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    public ReadReplicaConfig(Environment environment) {
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("app.datasource.routing requires spring.jpa.open-in-view=false, "
+                + "otherwise a request keeps the connection of its first transaction for all later ones");
+        }
+    }
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReadReplicaProperties properties) {
+        ReadReplicaProperties.Replica replica = properties.getReplica();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(replica.getUrl())
+            .username(replica.getUsername())
+            .password(replica.getPassword())
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReadReplicaProperties properties, UserService userService) {
+        return new ReadYourWritesTracker(userService::getCurrentUserSid, properties.getReadYourWrites(), System::nanoTime);
+    }
+
+    @Bean
+    public ReadReplicaDataSource readReplicaDataSource(HikariDataSource replicaDataSource, HikariDataSource primaryDataSource,
+                                                       ReadYourWritesTracker readYourWritesTracker,
+                                                       ReadReplicaProperties properties) {
+        return new ReadReplicaDataSource(replicaDataSource, primaryDataSource, readYourWritesTracker,
+            properties.getFailoverCooldown());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplicaDataSource readReplicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readReplicaDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.routing.local-replication.enabled", havingValue = "true")
+    public H2LocalReplication h2LocalReplication(HikariDataSource replicaDataSource, DataSourceProperties primary,
+                                                 ReadReplicaProperties properties) {
+        return new H2LocalReplication(replicaDataSource, primary.determineUrl(), primary.determineUsername(),
+            primary.determinePassword(), properties.getLocalReplication().getTables());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+    static class ReadYourWritesEviction {
+
+        private final ReadYourWritesTracker tracker;
+
+        ReadYourWritesEviction(ReadYourWritesTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        @Scheduled(fixedDelayString = "${app.datasource.routing.eviction-interval:PT1M}")
+        public void evictExpiredWrites() {
+            tracker.evictExpired();
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.datasource.routing.local-replication.enabled", havingValue = "true")
+    static class LocalReplicationSchedule {
+
+        private final H2LocalReplication replication;
+
+        LocalReplicationSchedule(H2LocalReplication replication) {
+            this.replication = replication;
+        }
+
+        @Scheduled(fixedDelayString = "${app.datasource.routing.local-replication.lag:PT2S}")
+        public void sync() {
+            replication.syncQuietly();
+        }
+    }
+}
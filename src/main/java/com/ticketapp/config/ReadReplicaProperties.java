@@ -0,0 +1,162 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica for read-only transactions, next to the spring.datasource primary.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * How long a user's reads stay on the primary after they commit a change
+     */
+    private Duration readYourWrites = Duration.ofSeconds(5);
+
+    /**
+     * How long reads stay on the primary after the replica failed to give a connection or lost one
+     */
+    private Duration failoverCooldown = Duration.ofSeconds(30);
+
+    private Replica replica = new Replica();
+
+    private LocalReplication localReplication = new LocalReplication();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getReadYourWrites() {
+        return readYourWrites;
+    }
+
+    public void setReadYourWrites(Duration readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    public Duration getFailoverCooldown() {
+        return failoverCooldown;
+    }
+
+    public void setFailoverCooldown(Duration failoverCooldown) {
+        this.failoverCooldown = failoverCooldown;
+    }
+
+    public Replica getReplica() {
+        return replica;
+    }
+
+    public void setReplica(Replica replica) {
+        this.replica = replica;
+    }
+
+    public LocalReplication getLocalReplication() {
+        return localReplication;
+    }
+
+    public void setLocalReplication(LocalReplication localReplication) {
+        this.localReplication = localReplication;
+    }
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        /**
+         * How long a read waits for a replica connection before failing over to the primary
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+
+    /**
+     * Copies tables from an H2 primary into an H2 replica, for running replica routing locally
+     */
+    public static class LocalReplication {
+        private boolean enabled = false;
+
+        /**
+         * Interval between copies, i.e. the most the replica lags behind
+         */
+        private Duration lag = Duration.ofSeconds(2);
+
+        private List<String> tables = new ArrayList<>(List.of("TICKETS", "TICKETS_ARCHIVE", "IDEMPOTENCY_KEYS", "TICKET_ATTACHMENTS"));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getLag() {
+            return lag;
+        }
+
+        public void setLag(Duration lag) {
+            this.lag = lag;
+        }
+
+        public List<String> getTables() {
+            return tables;
+        }
+
+        public void setTables(List<String> tables) {
+            this.tables = tables;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ticketapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class to enable scheduled background jobs (ticket archival, etc.).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
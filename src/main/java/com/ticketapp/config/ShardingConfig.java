@@ -0,0 +1,82 @@
+package com.ticketapp.config;
+
+import com.ticketapp.sharding.ShardRoutingDataSource;
+import com.ticketapp.sharding.ShardSchemaExporter;
+import com.ticketapp.sharding.TicketShards;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ticket shards. Without app.sharding everything lives on the one spring.datasource database.
+ */
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    public TicketShards ticketShards(ShardingProperties properties) {
+        return properties.isEnabled() ? new TicketShards(properties.getShards().size()) : TicketShards.single();
+    }
+
+    /**
+     * One pool per shard behind a single routing DataSource, so the one EntityManagerFactory and
+     * the repositories serve every shard. The shard is picked at a transaction's first statement,
+     * which rules out open-in-view and read replica routing, both of which pin connections.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+    static class ShardDataSources {
+
+        ShardDataSources(Environment environment) {
+            if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+                throw new IllegalStateException("app.sharding requires spring.jpa.open-in-view=false, "
+                    + "otherwise a request keeps the connection of its first shard for all later ones");
+            }
+            if (environment.getProperty("app.datasource.routing.enabled", Boolean.class, false)) {
+                throw new IllegalStateException("app.sharding cannot be combined with app.datasource.routing");
+            }
+        }
+
+        @Bean
+        public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties) {
+            List<HikariDataSource> shards = new ArrayList<>();
+            for (ShardingProperties.Shard shard : properties.getShards()) {
+                HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+                dataSource.setPoolName("shard-" + shards.size());
+                dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+                shards.add(dataSource);
+            }
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        }
+
+        // Post-processors are created before configuration properties are bound, so bind the count directly
+        @Bean
+        static ShardSchemaExporter shardSchemaExporter(Environment environment) {
+            int count = Binder.get(environment)
+                .bind("app.sharding.shards", Bindable.listOf(ShardingProperties.Shard.class)).map(List::size).orElse(1);
+            return new ShardSchemaExporter(new TicketShards(count));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ticketapp.config;
+
+import com.ticketapp.controller.TicketController;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.service.TicketService;
+import com.ticketapp.service.UserService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Startup tuning for the "fast-startup" profile.
+ * When spring.main.lazy-initialization is enabled, everything except the beans
+ * on the ticket request path is created on first use. CORS sources, the JWT
+ * decoder and other infrastructure are deferred until a request needs them.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter requestCriticalBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+            SecurityFilterChain.class,
+            TicketController.class,
+            TicketService.class,
+            TicketRepository.class,
+            UserService.class,
+            CacheManager.class
+        );
+    }
+}
@@ -7,9 +7,15 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
 @Configuration
 @ConditionalOnProperty(name = "app.security.mock-jwt", havingValue = "true")
@@ -21,10 +27,67 @@ public class TestSecurityConfig {
         return new MockJwtDecoder();
     }
 
+    /**
+     * Decodes mock tokens into Jwts valid for an hour.
+     * Decoded tokens are cached, so load tests measure the application rather than the mock:
+     * a repeated token returns the same immutable Jwt until it is within REUSE_MARGIN of expiring,
+     * then it is decoded again. The cache holds at most maxEntries tokens and evicts the oldest first.
+     */
     public static class MockJwtDecoder implements JwtDecoder {
-        
+
+        static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+        static final Duration REUSE_MARGIN = Duration.ofMinutes(5);
+        private static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+        private static final List<String> ADMIN_ROLES = List.of("ADMIN", "SUPPORT", "USER");
+        private static final List<String> SUPPORT_ROLES = List.of("SUPPORT", "USER");
+        private static final List<String> USER_ROLES = List.of("USER");
+        private static final Map<String, Object> HEADERS = Map.of(
+            "alg", "none",
+            "typ", "JWT"
+        );
+
+        private final ConcurrentMap<String, Decoded> decoded = new ConcurrentHashMap<>();
+        private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+        private final Clock clock;
+        private final int maxEntries;
+
+        public MockJwtDecoder() {
+            this(Clock.systemUTC(), DEFAULT_MAX_ENTRIES);
+        }
+
+        /**
+         * @param maxEntries number of decoded tokens to keep, 0 decodes every token on each call
+         */
+        public MockJwtDecoder(Clock clock, int maxEntries) {
+            this.clock = clock;
+            this.maxEntries = maxEntries;
+        }
+
         @Override
         public Jwt decode(String token) throws RuntimeException {
+            long now = clock.millis();
+            Decoded cached = decoded.get(token);
+            if (cached != null && now < cached.reuseUntil) {
+                return cached.jwt;
+            }
+
+            Jwt jwt = parse(token, Instant.ofEpochMilli(now));
+            if (maxEntries > 0) {
+                Decoded fresh = new Decoded(jwt, jwt.getExpiresAt().minus(REUSE_MARGIN).toEpochMilli());
+                if (decoded.put(token, fresh) == null) {
+                    insertionOrder.add(token);
+                    evictOverflow();
+                }
+            }
+            return jwt;
+        }
+
+        int size() {
+            return decoded.size();
+        }
+
+        private Jwt parse(String token, Instant issuedAt) {
             // Parse mock token format: "mock-{userType}-{userId}"
             // Examples: "mock-admin-user123", "mock-support-user456", "mock-user-user789"
             
@@ -37,6 +100,7 @@ public class TestSecurityConfig {
             String userId = parts[2];
             
             List<String> roles = getRolesForUserType(userType);
+            Instant expiresAt = issuedAt.plus(TOKEN_LIFETIME);
             
             Map<String, Object> claims = Map.of(
                 "SID", userId,
@@ -44,25 +108,30 @@ public class TestSecurityConfig {
                 "sub", userId,
                 "iss", "mock-issuer",
                 "aud", "ticket-app",
-                "exp", Instant.now().plusSeconds(3600).getEpochSecond(),
-                "iat", Instant.now().getEpochSecond()
-            );
-            
-            Map<String, Object> headers = Map.of(
-                "alg", "none",
-                "typ", "JWT"
+                "exp", expiresAt.getEpochSecond(),
+                "iat", issuedAt.getEpochSecond()
             );
             
-            return new Jwt(token, Instant.now(), Instant.now().plusSeconds(3600), headers, claims);
+            return new Jwt(token, issuedAt, expiresAt, HEADERS, claims);
         }
         
         private List<String> getRolesForUserType(String userType) {
             return switch (userType.toLowerCase()) {
-                case "admin" -> List.of("ADMIN", "SUPPORT", "USER");
-                case "support" -> List.of("SUPPORT", "USER");
-                case "user" -> List.of("USER");
+                case "admin" -> ADMIN_ROLES;
+                case "support" -> SUPPORT_ROLES;
+                case "user" -> USER_ROLES;
                 default -> throw new RuntimeException("Unknown user type: " + userType + ". Use: admin, support, or user");
             };
         }
+
+        private void evictOverflow() {
+            String oldest;
+            while (decoded.size() > maxEntries && (oldest = insertionOrder.poll()) != null) {
+                decoded.remove(oldest);
+            }
+        }
+
+        private record Decoded(Jwt jwt, long reuseUntil) {
+        }
     }
 }
@@ -0,0 +1,114 @@
+package com.ticketapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Expiry and refresh-ahead settings for the application caches.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class TicketCacheProperties {
+
+    /**
+     * Time to live per cache name
+     */
+    private Map<String, Duration> ttl = new LinkedHashMap<>(Map.of(
+        "tickets", Duration.ofMinutes(10)
+    ));
+
+    /**
+     * Entries kept on the heap per cache name, the least recently read go first
+     */
+    private Map<String, Integer> maxEntries = new LinkedHashMap<>(Map.of(
+        "tickets", 10_000
+    ));
+
+    /**
+     * Fraction of the TTL after which a read triggers a background reload, 0 disables refresh-ahead
+     */
+    private double refreshAheadFactor = 0.8;
+
+    /**
+     * Off-heap tier for the tickets cache
+     */
+    private OffHeap offHeap = new OffHeap();
+
+    public Map<String, Duration> getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Map<String, Duration> ttl) {
+        this.ttl = ttl;
+    }
+
+    public Map<String, Integer> getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(Map<String, Integer> maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public double getRefreshAheadFactor() {
+        return refreshAheadFactor;
+    }
+
+    public void setRefreshAheadFactor(double refreshAheadFactor) {
+        this.refreshAheadFactor = refreshAheadFactor;
+    }
+
+    public OffHeap getOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(OffHeap offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    public static class OffHeap {
+        /**
+         * Keep tickets in serialized form outside the heap, with only the hottest ones as objects
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of tickets kept as objects on the heap
+         */
+        private int heapMaxEntries = 10_000;
+
+        /**
+         * Direct memory budget for serialized tickets
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getHeapMaxEntries() {
+            return heapMaxEntries;
+        }
+
+        public void setHeapMaxEntries(int heapMaxEntries) {
+            this.heapMaxEntries = heapMaxEntries;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ticketapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.ticketapp.codec.TicketJsonWriter;
+import com.ticketapp.codec.TicketListHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Message converters for the ticket API.
+ * JSON ticket lists are streamed by TicketJsonWriter ahead of the generic Jackson converter.
+ * Configures the CBOR (application/cbor) representation Spring MVC registers next to JSON for
+ * service-to-service clients. That converter comes after the JSON one, so JSON stays the default
+ * when no Accept header asks for CBOR. It gets the application's Jackson settings, with timestamps
+ * written as integer arrays instead of ISO strings; the wire schema is in
+ * src/main/resources/schema/ticket.cddl.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+    private final ObjectMapper objectMapper;
+
+    public WebConfig(Jackson2ObjectMapperBuilder objectMapperBuilder, ObjectMapper objectMapper) {
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Same JsonFactory as the ObjectMapper, so string escaping and output features match
+        converters.add(0, new TicketListHttpMessageConverter(new TicketJsonWriter(objectMapper.getFactory())));
+        ObjectMapper cborMapper = objectMapperBuilder
+            .factory(new CBORFactory())
+            .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2CborHttpMessageConverter cbor) {
+                cbor.setObjectMapper(cborMapper);
+            }
+        }
+    }
+}
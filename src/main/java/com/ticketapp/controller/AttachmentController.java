@@ -0,0 +1,213 @@
+package com.ticketapp.controller;
+
+import com.ticketapp.attachment.AttachmentService;
+import com.ticketapp.attachment.QuotaExceededException;
+import com.ticketapp.model.Attachment;
+import com.ticketapp.service.TicketArchiveService;
+import com.ticketapp.service.TicketService;
+import com.ticketapp.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Files attached to a ticket. The file is the raw request body, e.g.
+ * {@code curl --data-binary @app.log -H "Content-Type: text/plain" .../attachments?fileName=app.log},
+ * and is streamed to disk as it arrives. Downloads support single byte ranges and are handed to
+ * Tomcat's sendfile where the connector offers it, so the kernel copies the file to the socket.
+ */
+@RestController
+@RequestMapping("/api/tickets/{ticketId}/attachments")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:8080"})
+public class AttachmentController {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AttachmentService attachmentService;
+    private final TicketService ticketService;
+    private final TicketArchiveService ticketArchiveService;
+    private final UserService userService;
+
+    public AttachmentController(AttachmentService attachmentService, TicketService ticketService,
+                                TicketArchiveService ticketArchiveService, UserService userService) {
+        this.attachmentService = attachmentService;
+        this.ticketService = ticketService;
+        this.ticketArchiveService = ticketArchiveService;
+        this.userService = userService;
+    }
+
+    // A form body would be parsed into request parameters before the upload could stream it
+    @PostMapping(consumes = {"!" + MediaType.APPLICATION_FORM_URLENCODED_VALUE, "!" + MediaType.MULTIPART_FORM_DATA_VALUE})
+    public ResponseEntity<Attachment> upload(@PathVariable long ticketId, @RequestParam String fileName,
+                                             HttpServletRequest request) throws IOException {
+        HttpStatus denied = checkAccess(ticketId, false);
+        if (denied != null) {
+            return new ResponseEntity<>(denied);
+        }
+        // Keep the last path segment only, the name is echoed back in Content-Disposition
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1).strip();
+        if (name.isEmpty() || name.length() > 255 || name.chars().anyMatch(Character::isISOControl)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        String contentType = request.getContentType() != null ? request.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+        Optional<Attachment> attachment;
+        try {
+            attachment = attachmentService.upload(ticketId, name, contentType, request.getContentLengthLong(),
+                request.getInputStream(), userService.getCurrentUserSid());
+        } catch (QuotaExceededException e) {
+            return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        return attachment
+            .map(saved -> ResponseEntity.created(URI.create("/api/tickets/" + ticketId + "/attachments/" + saved.getId())).body(saved))
+            .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Attachment>> getAttachments(@PathVariable long ticketId) {
+        HttpStatus denied = checkAccess(ticketId, true);
+        if (denied != null) {
+            return new ResponseEntity<>(denied);
+        }
+        return new ResponseEntity<>(attachmentService.getAttachments(ticketId), HttpStatus.OK);
+    }
+
+    /**
+     * The file, or the single byte range asked for. The ETag is the content's SHA-256, so it is
+     * strong and stays valid for If-None-Match and If-Range as long as the attachment exists.
+     */
+    @GetMapping("/{attachmentId}")
+    public void download(@PathVariable long ticketId, @PathVariable long attachmentId,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus denied = checkAccess(ticketId, true);
+        if (denied != null) {
+            response.setStatus(denied.value());
+            return;
+        }
+        Attachment attachment = attachmentService.getAttachment(ticketId, attachmentId).orElse(null);
+        if (attachment == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        String etag = "\"" + attachment.getSha256() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long length = attachment.getSize();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges = parseRanges(range);
+            // Several ranges would need a multipart body; the whole file answers them too
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    start = length;
+                }
+                if (start > end) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(attachment.getContentType());
+        String fileName = attachment.getFileName();
+        ContentDisposition.Builder disposition = StandardCharsets.US_ASCII.newEncoder().canEncode(fileName)
+            ? ContentDisposition.attachment().filename(fileName)
+            : ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.build().toString());
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (count == 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        Path content = attachmentService.contentOf(attachment);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file once the handler returns, with FileChannel.transferTo to the socket
+            request.setAttribute(SENDFILE_FILENAME, content.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(content, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (count > 0) {
+                long sent = file.transferTo(position, count, out);
+                if (sent <= 0) {
+                    throw new IOException("Attachment " + attachmentId + " is shorter on disk than its recorded size");
+                }
+                position += sent;
+                count -= sent;
+            }
+        }
+    }
+
+    @DeleteMapping("/{attachmentId}")
+    public ResponseEntity<Void> delete(@PathVariable long ticketId, @PathVariable long attachmentId) {
+        HttpStatus denied = checkAccess(ticketId, false);
+        if (denied != null) {
+            return new ResponseEntity<>(denied);
+        }
+        return new ResponseEntity<>(attachmentService.delete(ticketId, attachmentId) ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * ADMIN and SUPPORT reach the attachments of any ticket and get a 404 for a ticket that does
+     * not exist, everyone else those of their own tickets and a 403 for any other. Archived
+     * tickets are read-only: their attachments can be listed and downloaded, not changed.
+     * @return the status to answer with, or null if the caller may go ahead
+     */
+    private HttpStatus checkAccess(long ticketId, boolean archivedToo) {
+        if (userService.hasAnyRole("ADMIN", "SUPPORT")) {
+            return ticketService.ticketExists(ticketId)
+                || archivedToo && ticketArchiveService.getArchivedTicket(ticketId, null).isPresent()
+                ? null : HttpStatus.NOT_FOUND;
+        }
+        String sid = userService.getCurrentUserSid();
+        return ticketService.getTicketByIdForOwner(ticketId, sid).isPresent()
+            || archivedToo && ticketArchiveService.getArchivedTicket(ticketId, sid).isPresent()
+            ? null : HttpStatus.FORBIDDEN;
+    }
+
+    // A malformed Range header is ignored, as if it had not been sent
+    private static List<HttpRange> parseRanges(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+}
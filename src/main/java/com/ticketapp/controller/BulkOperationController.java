@@ -0,0 +1,61 @@
+package com.ticketapp.controller;
+
+import com.ticketapp.bulk.BulkOperationRequest;
+import com.ticketapp.bulk.BulkOperationService;
+import com.ticketapp.bulk.BulkOperationStatus;
+import com.ticketapp.service.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Mass status and priority changes for support leads, e.g. closing every ticket resolved more
+ * than 30 days ago. Operations run in the background; the returned id is polled for progress.
+ */
+@RestController
+@RequestMapping("/api/tickets/bulk")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:8080"})
+@PreAuthorize("hasRole('ADMIN') or hasRole('SUPPORT')")
+public class BulkOperationController {
+
+    private final BulkOperationService bulkOperationService;
+    private final UserService userService;
+
+    public BulkOperationController(BulkOperationService bulkOperationService, UserService userService) {
+        this.bulkOperationService = bulkOperationService;
+        this.userService = userService;
+    }
+
+    @PostMapping
+    public ResponseEntity<BulkOperationStatus> submit(@RequestBody BulkOperationRequest request) {
+        BulkOperationStatus status;
+        try {
+            status = bulkOperationService.submit(request, userService.getCurrentUserSid());
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/tickets/bulk/" + status.id()))
+            .body(status);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkOperationStatus> getStatus(@PathVariable long id) {
+        return bulkOperationService.getStatus(id)
+            .map(status -> new ResponseEntity<>(status, HttpStatus.OK))
+            .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Stop an operation; tickets it already changed are not rolled back
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BulkOperationStatus> cancel(@PathVariable long id) {
+        return bulkOperationService.cancel(id)
+            .map(status -> new ResponseEntity<>(status, HttpStatus.OK))
+            .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
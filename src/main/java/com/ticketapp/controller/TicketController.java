@@ -1,14 +1,29 @@
 package com.ticketapp.controller;
 
+import com.ticketapp.changelog.TicketChangeLog;
+import com.ticketapp.event.TicketChangeEvent;
+import com.ticketapp.idempotency.IdempotencyKeyReusedException;
+import com.ticketapp.idempotency.IdempotencyStore;
 import com.ticketapp.model.Ticket;
+import com.ticketapp.projection.TicketProjection;
+import com.ticketapp.service.ParallelQueryExecutor;
+import com.ticketapp.service.TicketArchiveService;
+import com.ticketapp.service.TicketListingService;
 import com.ticketapp.service.TicketService;
 import com.ticketapp.service.UserService;
+import com.ticketapp.sharding.TicketShards;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tickets")
@@ -20,61 +35,197 @@ public class TicketController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TicketArchiveService ticketArchiveService;
+
+    @Autowired
+    private TicketListingService ticketListingService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private TicketShards ticketShards;
+
+    @Autowired(required = false)
+    private TicketChangeLog ticketChangeLog;
+
+    @Autowired(required = false)
+    private TicketProjection ticketProjection;
+
     public TicketController(TicketService ticketService) {
         this.ticketService = ticketService;
     }
 
     @PostMapping
-    public ResponseEntity<Ticket> createTicket(@RequestBody Ticket ticket) {
+    public ResponseEntity<Ticket> createTicket(@RequestBody Ticket ticket,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         // Set the createdBy field to the current user's SID
-        ticket.setCreatedBy(userService.getCurrentUserSid());
-        Ticket savedTicket = ticketService.createTicket(ticket);
-        return new ResponseEntity<>(savedTicket, HttpStatus.CREATED);
+        String currentUserSid = userService.getCurrentUserSid();
+        ticket.setCreatedBy(currentUserSid);
+
+        if (idempotencyKey == null) {
+            Ticket savedTicket = ticketService.createTicket(ticket);
+            return new ResponseEntity<>(savedTicket, HttpStatus.CREATED);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 255) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        // Retries with the same key get the originally created ticket back; keys are scoped per user
+        // and kept on the user's shard, so a persistent key commits together with its ticket.
+        // A key reused for a different ticket is refused rather than answered with the first one.
+        String fingerprint = IdempotencyStore.fingerprint(ticket);
+        IdempotencyStore.Result result;
+        try {
+            result = ticketShards.on(ticketShards.shardOf(currentUserSid), () -> idempotencyStore.createOnce(
+                currentUserSid + ":" + idempotencyKey, fingerprint, () -> ticketService.createTicket(ticket)));
+        } catch (IdempotencyKeyReusedException e) {
+            return new ResponseEntity<>(HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+            .body(result.ticket());
     }
 
+    /**
+     * Every ticket, or those of the given owners, oldest first. The underlying queries run in
+     * parallel; if some did not answer in time the others' tickets are returned with a
+     * Partial-Results header naming the missing ones. Too many owners at once get a 400.
+     */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPPORT')")
-    public ResponseEntity<List<Ticket>> getAllTickets() {
-        List<Ticket> tickets = ticketService.getAllTickets();
-        return new ResponseEntity<>(tickets, HttpStatus.OK);
+    public ResponseEntity<List<Ticket>> getAllTickets(
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) List<String> createdBy) {
+        ParallelQueryExecutor.Result<Ticket> result;
+        try {
+            result = ticketListingService.listTickets(createdBy, includeArchived);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.partial()) {
+            response.header("Partial-Results", String.join(",", result.timedOut()));
+        }
+        return response.body(result.items());
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<Ticket>> getMyTickets() {
+    public ResponseEntity<List<Ticket>> getMyTickets(
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         String currentUserSid = userService.getCurrentUserSid();
-        List<Ticket> tickets = ticketService.getTicketsByCreatedBy(currentUserSid);
+        // With the projection enabled the user's ticket ids are known without querying by owner
+        List<Ticket> tickets = ticketProjection != null
+            ? ticketService.getTicketsByIds(ticketProjection.ticketIds(currentUserSid))
+            : ticketService.getTicketsByCreatedBy(currentUserSid);
+        if (includeArchived) {
+            tickets = new ArrayList<>(tickets);
+            tickets.addAll(ticketArchiveService.getArchivedTicketsByCreatedBy(currentUserSid));
+        }
         return new ResponseEntity<>(tickets, HttpStatus.OK);
     }
 
+    @GetMapping("/created")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPPORT')")
+    public ResponseEntity<List<Ticket>> getTicketsCreatedBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<Ticket> tickets = ticketService.getTicketsCreatedBetween(from, to);
+        return new ResponseEntity<>(tickets, HttpStatus.OK);
+    }
+
+    /**
+     * Number of live tickets per status, from the in-memory projection
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPPORT')")
+    public ResponseEntity<Map<String, Long>> getTicketStats() {
+        if (ticketProjection == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(ticketProjection.statusCounts(), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Ticket> getTicketById(@PathVariable Long id) {
-        Ticket ticket = ticketService.getTicketById(id);
-        
-        // Users can only view their own tickets unless they have ADMIN or SUPPORT role
-        String currentUserSid = userService.getCurrentUserSid();
-        if (!ticket.getCreatedBy().equals(currentUserSid) && 
-            !userService.hasAnyRole("ADMIN", "SUPPORT")) {
-            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        // ADMIN and SUPPORT can view any ticket
+        if (userService.hasAnyRole("ADMIN", "SUPPORT")) {
+            return new ResponseEntity<>(ticketService.getTicketById(id), HttpStatus.OK);
         }
-        
-        return new ResponseEntity<>(ticket, HttpStatus.OK);
+
+        // Everyone else goes through an owner-scoped lookup
+        return ticketService.getTicketByIdForOwner(id, userService.getCurrentUserSid())
+            .map(ticket -> new ResponseEntity<>(ticket, HttpStatus.OK))
+            .orElseGet(() -> new ResponseEntity<>(HttpStatus.FORBIDDEN));
+    }
+
+    /**
+     * Every recorded change of a ticket, oldest first. Only available when the change log is enabled.
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<TicketChangeEvent>> getTicketHistory(@PathVariable Long id) {
+        if (ticketChangeLog == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        List<TicketChangeEvent> history = ticketChangeLog.history(id);
+
+        // Users can only see the history of their own tickets; the CREATED record names the owner
+        if (!userService.hasAnyRole("ADMIN", "SUPPORT")) {
+            String currentUserSid = userService.getCurrentUserSid();
+            boolean owner = history.stream()
+                .filter(event -> event.type() == TicketChangeEvent.Type.CREATED)
+                .findFirst()
+                .map(created -> currentUserSid.equals(created.createdBy()))
+                .orElseGet(() -> ticketService.getTicketByIdForOwner(id, currentUserSid).isPresent());
+            if (!owner) {
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+        }
+        return new ResponseEntity<>(history, HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Ticket> updateTicket(@PathVariable Long id, @RequestBody Ticket ticketDetails) {
-        Ticket existingTicket = ticketService.getTicketById(id);
-        String currentUserSid = userService.getCurrentUserSid();
-        
-        // Users can only update their own tickets unless they have ADMIN or SUPPORT role
-        if (!existingTicket.getCreatedBy().equals(currentUserSid) && 
-            !userService.hasAnyRole("ADMIN", "SUPPORT")) {
-            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        // ADMIN and SUPPORT can update any ticket; createdBy is never changed by the update
+        if (userService.hasAnyRole("ADMIN", "SUPPORT")) {
+            return ticketService.updateTicket(id, ticketDetails)
+                .map(ticket -> new ResponseEntity<>(ticket, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        }
+
+        // Users can only update their own tickets
+        return ticketService.updateOwnedTicket(id, userService.getCurrentUserSid(), ticketDetails)
+            .map(ticket -> new ResponseEntity<>(ticket, HttpStatus.OK))
+            .orElseGet(() -> new ResponseEntity<>(HttpStatus.FORBIDDEN));
+    }
+
+    /**
+     * Partial update using JSON Merge Patch (RFC 7396).
+     * Only title, description, status and priority can be patched, and none of them can be removed.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<Ticket> patchTicket(@PathVariable Long id, @RequestBody Map<String, Object> patch) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            if (!TicketService.PATCHABLE_FIELDS.contains(entry.getKey()) || !(entry.getValue() instanceof String value)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            changes.put(entry.getKey(), value);
         }
-        
-        // Preserve the original createdBy field
-        ticketDetails.setCreatedBy(existingTicket.getCreatedBy());
-        Ticket updatedTicket = ticketService.updateTicket(id, ticketDetails);
-        return new ResponseEntity<>(updatedTicket, HttpStatus.OK);
+
+        // ADMIN and SUPPORT can patch any ticket
+        if (userService.hasAnyRole("ADMIN", "SUPPORT")) {
+            return ticketService.patchTicket(id, changes)
+                .map(ticket -> new ResponseEntity<>(ticket, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        }
+
+        // Users can only patch their own tickets
+        return ticketService.patchOwnedTicket(id, userService.getCurrentUserSid(), changes)
+            .map(ticket -> new ResponseEntity<>(ticket, HttpStatus.OK))
+            .orElseGet(() -> new ResponseEntity<>(HttpStatus.FORBIDDEN));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,73 @@
+package com.ticketapp.event;
+
+import com.ticketapp.model.Ticket;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A change to a ticket, published by TicketService for every write.
+ * Only the fields that changed are carried; createdBy may be null when the writer does not know it.
+ * The owner never changes after creation, so it is not part of the changed fields.
+ * A PURGED event stands for every ticket a retention purge removed from one shard at once; it
+ * names no ticket, so listeners drop or reload whatever they derived from the removed rows.
+ */
+public record TicketChangeEvent(Type type, long ticketId, String createdBy, Instant timestamp,
+                                Map<String, String> changes) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, ARCHIVED, PURGED
+    }
+
+    /**
+     * Ticket id of a PURGED event, which is about no single ticket
+     */
+    public static final long NO_TICKET = 0;
+
+    public static TicketChangeEvent created(Ticket ticket) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        changes.put("title", ticket.getTitle());
+        changes.put("description", ticket.getDescription());
+        changes.put("status", ticket.getStatus());
+        changes.put("priority", ticket.getPriority());
+        return new TicketChangeEvent(Type.CREATED, ticket.getId(), ticket.getCreatedBy(), Instant.now(), changes);
+    }
+
+    /**
+     * Update event holding only the fields of the new values that differ from the previous ticket.
+     * Without a previous version every supplied field is recorded.
+     */
+    public static TicketChangeEvent updated(long ticketId, String createdBy, Ticket previous, Map<String, String> newValues) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        newValues.forEach((field, value) -> {
+            if (previous == null || !Objects.equals(fieldValue(previous, field), value)) {
+                changes.put(field, value);
+            }
+        });
+        return new TicketChangeEvent(Type.UPDATED, ticketId, createdBy, Instant.now(), changes);
+    }
+
+    public static TicketChangeEvent deleted(long ticketId, String createdBy) {
+        return new TicketChangeEvent(Type.DELETED, ticketId, createdBy, Instant.now(), Map.of());
+    }
+
+    public static TicketChangeEvent archived(long ticketId) {
+        return new TicketChangeEvent(Type.ARCHIVED, ticketId, null, Instant.now(), Map.of());
+    }
+
+    public static TicketChangeEvent purged() {
+        return new TicketChangeEvent(Type.PURGED, NO_TICKET, null, Instant.now(), Map.of());
+    }
+
+    private static String fieldValue(Ticket ticket, String field) {
+        return switch (field) {
+            case "title" -> ticket.getTitle();
+            case "description" -> ticket.getDescription();
+            case "status" -> ticket.getStatus();
+            case "priority" -> ticket.getPriority();
+            default -> null;
+        };
+    }
+}
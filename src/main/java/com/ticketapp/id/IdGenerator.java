@@ -0,0 +1,12 @@
+package com.ticketapp.id;
+
+/**
+ * Source of ticket ids. Define an IdGenerator bean to replace the default {@link SnowflakeIdGenerator}.
+ *
+ * Ids must be unique across every process writing tickets, increase with creation time, and carry
+ * the shard in their low {@link IdLayout#SHARD_BITS} bits so lookups by id can be routed.
+ */
+public interface IdGenerator {
+
+    long nextId(int shard);
+}
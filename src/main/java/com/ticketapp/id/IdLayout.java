@@ -0,0 +1,73 @@
+package com.ticketapp.id;
+
+/**
+ * Bit layout of ticket ids, most significant first:
+ * <pre>
+ *   41 bits   timestamp, ms since 2025-01-01T00:00Z (good until 2094)
+ *    n bits   node, the process that generated the id
+ *    s bits   sequence within the millisecond
+ *    4 bits   shard the ticket lives on
+ * </pre>
+ * Ids sort by creation time. The shard sits in the lowest bits, where it can be read without
+ * knowing the rest of the layout. The default layout has 16 nodes and 16 ids per node, shard
+ * and millisecond, and fits in 53 bits, so ids survive JSON.parse in the browser as numbers.
+ */
+public record IdLayout(int nodeBits, int sequenceBits) {
+
+    public static final long EPOCH_MILLIS = 1735689600000L;
+
+    public static final int TIMESTAMP_BITS = 41;
+    public static final int SHARD_BITS = 4;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    /**
+     * Largest integer a JavaScript number holds exactly
+     */
+    public static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+    public static final IdLayout DEFAULT = new IdLayout(4, 4);
+
+    public IdLayout {
+        if (nodeBits < 0 || sequenceBits < 1 || TIMESTAMP_BITS + nodeBits + sequenceBits + SHARD_BITS > 63) {
+            throw new IllegalArgumentException("Invalid id layout: " + nodeBits + " node bits, " + sequenceBits + " sequence bits");
+        }
+    }
+
+    /**
+     * Shard encoded in an id, whatever its layout
+     */
+    public static int shardOf(long id) {
+        return (int) id & (MAX_SHARDS - 1);
+    }
+
+    public int totalBits() {
+        return TIMESTAMP_BITS + nodeBits + sequenceBits + SHARD_BITS;
+    }
+
+    public int maxNode() {
+        return (1 << nodeBits) - 1;
+    }
+
+    public int maxSequence() {
+        return (1 << sequenceBits) - 1;
+    }
+
+    public long maxTimestamp() {
+        return (1L << TIMESTAMP_BITS) - 1;
+    }
+
+    public long compose(long timestamp, int node, int sequence, int shard) {
+        return (((timestamp << nodeBits | node) << sequenceBits | sequence) << SHARD_BITS) | shard;
+    }
+
+    /**
+     * Creation time encoded in an id, in epoch milliseconds
+     */
+    public long epochMillisOf(long id) {
+        return (id >>> (nodeBits + sequenceBits + SHARD_BITS)) + EPOCH_MILLIS;
+    }
+
+    public int nodeOf(long id) {
+        return (int) (id >>> (sequenceBits + SHARD_BITS)) & maxNode();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ticketapp.id;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the node id of this process for {@link SnowflakeIdGenerator}.
+ *
+ * Either the configured id, or, when enabled, the ordinal at the end of the host name as given to
+ * the pods of a Kubernetes StatefulSet (ticket-app-3 is node 3). The ordinal is opt-in because other
+ * host names end in digits too: ip-10-0-0-3 and ip-10-0-1-3 would both be node 3. A host name
+ * without an ordinal, or with one that does not fit the layout's node bits, fails startup.
+ */
+public final class NodeIds {
+
+    private static final Pattern ORDINAL = Pattern.compile("-(\\d+)$");
+
+    private NodeIds() {
+    }
+
+    public static int resolve(Integer configured, boolean fromOrdinal, IdLayout layout, String hostname) {
+        if (fromOrdinal) {
+            return ordinal(layout, hostname);
+        }
+        if (configured == null) {
+            throw new IllegalStateException("No node id configured for ticket ids; set app.ids.node-id, "
+                + "distinct per instance writing tickets, or app.ids.node-id-from-ordinal in a StatefulSet");
+        }
+        if (configured < 0 || configured > layout.maxNode()) {
+            throw new IllegalStateException("app.ids.node-id " + configured + " is outside the "
+                + (layout.maxNode() + 1) + " node ids of " + layout.nodeBits() + " bits");
+        }
+        return configured;
+    }
+
+    private static int ordinal(IdLayout layout, String hostname) {
+        Matcher ordinal = hostname == null ? null : ORDINAL.matcher(hostname);
+        if (ordinal == null || !ordinal.find()) {
+            throw new IllegalStateException("Host name " + hostname + " does not end in an ordinal; "
+                + "set app.ids.node-id instead of app.ids.node-id-from-ordinal");
+        }
+        String digits = ordinal.group(1);
+        if (digits.length() >= 10 || Integer.parseInt(digits) > layout.maxNode()) {
+            throw new IllegalStateException("Host name " + hostname + " ends in ordinal " + digits
+                + ", beyond the " + (layout.maxNode() + 1) + " node ids of " + layout.nodeBits()
+                + " bits; raise app.ids.node-bits or set app.ids.node-id");
+        }
+        return Integer.parseInt(digits);
+    }
+}
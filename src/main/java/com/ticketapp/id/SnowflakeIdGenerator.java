@@ -0,0 +1,96 @@
+package com.ticketapp.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style ids made in process: timestamp, node id, sequence and shard as laid out by
+ * {@link IdLayout}. Processes only need distinct node ids, they never talk to each other or to
+ * the database to get an id.
+ *
+ * Each shard has its own sequence, as the shard bits already keep the shards' ids apart.
+ * A generator's ids for a shard strictly increase. When the clock steps back, or a millisecond's
+ * sequence runs out, the generator carries on from its last timestamp, running ahead of the
+ * clock. It runs ahead by at most the max clock skew: beyond that it waits for the clock to catch
+ * up after a burst, and fails after a larger step back rather than stall for that long.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SnowflakeIdGenerator.class);
+
+    private final IdLayout layout;
+    private final int node;
+    private final LongSupplier clock;
+    private final long maxSkewMillis;
+
+    private final long[] lastTimestamps = new long[IdLayout.MAX_SHARDS];
+    private final int[] sequences = new int[IdLayout.MAX_SHARDS];
+
+    public SnowflakeIdGenerator(IdLayout layout, int node, Duration maxClockSkew, LongSupplier clock) {
+        if (node < 0 || node > layout.maxNode()) {
+            throw new IllegalArgumentException("Node id " + node + " does not fit in " + layout.nodeBits() + " bits");
+        }
+        this.layout = layout;
+        this.node = node;
+        this.clock = clock;
+        this.maxSkewMillis = maxClockSkew.toMillis();
+        Arrays.fill(lastTimestamps, -1);
+    }
+
+    @Override
+    public synchronized long nextId(int shard) {
+        long now = currentTimestamp();
+        long lastTimestamp = lastTimestamps[shard];
+        int sequence = sequences[shard];
+        if (now < lastTimestamp - maxSkewMillis) {
+            throw new IllegalStateException("Clock moved back " + (lastTimestamp - now) + "ms, more than the "
+                + maxSkewMillis + "ms allowed, not generating ids");
+        }
+
+        long timestamp;
+        if (now > lastTimestamp) {
+            timestamp = now;
+            sequence = 0;
+        } else if (sequence < layout.maxSequence()) {
+            timestamp = lastTimestamp;
+            sequence++;
+        } else {
+            timestamp = lastTimestamp + 1;
+            sequence = 0;
+            if (timestamp - now > maxSkewMillis) {
+                awaitClock(timestamp - maxSkewMillis);
+            }
+        }
+        if (timestamp > layout.maxTimestamp()) {
+            throw new IllegalStateException("Id timestamp overflow");
+        }
+        lastTimestamps[shard] = timestamp;
+        sequences[shard] = sequence;
+        return layout.compose(timestamp, node, sequence, shard);
+    }
+
+    public IdLayout getLayout() {
+        return layout;
+    }
+
+    public int getNode() {
+        return node;
+    }
+
+    private long currentTimestamp() {
+        return clock.getAsLong() - IdLayout.EPOCH_MILLIS;
+    }
+
+    // Sustained demand above the sequence capacity ends up here, throttled to the clock
+    private void awaitClock(long timestamp) {
+        log.debug("Id generator {}ms ahead of the clock, waiting", maxSkewMillis);
+        while (currentTimestamp() < timestamp) {
+            LockSupport.parkNanos(100_000);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ticketapp.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the id in process with the application's {@link IdGenerator}, for the shard the insert is routed to
+ */
+@IdGeneratorType(TicketIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TicketId {
+}
@@ -0,0 +1,45 @@
+package com.ticketapp.id;
+
+import com.ticketapp.sharding.TicketShards;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.time.Duration;
+import java.util.EnumSet;
+
+/**
+ * Hibernate side of {@link TicketId}: assigns ids from an {@link IdGenerator} before the INSERT,
+ * so no identity column or sequence is involved and inserts can be batched.
+ *
+ * The IdGenerator is handed over in the Hibernate settings under {@link #SETTING}, see IdGeneratorConfig.
+ * Without it, as when Hibernate is bootstrapped outside the application, node 0 is used.
+ */
+public class TicketIdGenerator implements BeforeExecutionGenerator {
+
+    public static final String SETTING = "com.ticketapp.id.generator";
+
+    private final IdGenerator generator;
+
+    public TicketIdGenerator(TicketId annotation, Member member, CustomIdGeneratorCreationContext context) {
+        Object configured = context.getServiceRegistry().requireService(ConfigurationService.class)
+            .getSettings().get(SETTING);
+        this.generator = configured instanceof IdGenerator idGenerator
+            ? idGenerator
+            : new SnowflakeIdGenerator(IdLayout.DEFAULT, 0, Duration.ofSeconds(2), System::currentTimeMillis);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return generator.nextId(TicketShards.current());
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
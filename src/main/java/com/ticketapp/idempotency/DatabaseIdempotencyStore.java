@@ -0,0 +1,110 @@
+package com.ticketapp.idempotency;
+
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.IdempotencyRecordRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency store that survives restarts and is shared between replicas.
+ * The key is inserted in the same transaction as the ticket, so the primary key on
+ * idempotency_keys decides which of two racing requests creates the ticket.
+ * Duplicates arriving on the same replica while a request is in flight wait for it
+ * instead of going to the database.
+ */
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final ConcurrentMap<String, Pending> inFlight = new ConcurrentHashMap<>();
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Function<Long, Ticket> ticketLoader;
+    private final Duration ttl;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository repository, TransactionTemplate transactionTemplate,
+                                    Function<Long, Ticket> ticketLoader, Duration ttl) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.ticketLoader = ticketLoader;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Result createOnce(String key, String fingerprint, Supplier<Ticket> create) {
+        Pending load = new Pending(fingerprint, new CompletableFuture<>());
+        Pending existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            checkFingerprint(key, existing.fingerprint(), fingerprint);
+            try {
+                return new Result(existing.result().join().ticket(), true);
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        try {
+            Result result = createPersistent(key, fingerprint, create);
+            load.result().complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            load.result().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    private Result createPersistent(String key, String fingerprint, Supplier<Ticket> create) {
+        Optional<Result> replay = replay(key, fingerprint);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        try {
+            Ticket ticket = transactionTemplate.execute(status -> {
+                Ticket created = create.get();
+                // An expired key not purged yet is free again, it would otherwise fail the insert
+                repository.deleteExpired(key, LocalDateTime.now().minus(ttl));
+                repository.insert(key, fingerprint, created.getId(), LocalDateTime.now());
+                return created;
+            });
+            return new Result(ticket, false);
+        } catch (DataIntegrityViolationException ex) {
+            // Another replica committed the same key first, our ticket was rolled back with the key
+            return replay(key, fingerprint).orElseThrow(() -> ex);
+        }
+    }
+
+    private Optional<Result> replay(String key, String fingerprint) {
+        return repository.findById(key)
+            .filter(record -> record.getCreatedAt().isAfter(LocalDateTime.now().minus(ttl)))
+            .map(record -> {
+                checkFingerprint(key, record.getFingerprint(), fingerprint);
+                return new Result(ticketLoader.apply(record.getTicketId()), true);
+            });
+    }
+
+    private static void checkFingerprint(String key, String original, String fingerprint) {
+        if (!original.equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException("Idempotency key " + key + " was used for a different submission");
+        }
+    }
+
+    /**
+     * Delete keys older than the TTL
+     */
+    public int purgeExpired() {
+        return transactionTemplate.execute(status -> repository.deleteCreatedBefore(LocalDateTime.now().minus(ttl)));
+    }
+
+    private record Pending(String fingerprint, CompletableFuture<Result> result) {}
+}
@@ -0,0 +1,11 @@
+package com.ticketapp.idempotency;
+
+/**
+ * An Idempotency-Key sent again with a different submission than the one it was first used for
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ticketapp.idempotency;
+
+import com.ticketapp.model.Ticket;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates ticket submissions carrying the same Idempotency-Key.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Create the ticket at most once per key.
+     * A repeated key returns the ticket created by the first request, and a request arriving
+     * while the first one is still running waits for its result instead of creating another.
+     * @param fingerprint digest of the submission, see {@link #fingerprint(Ticket)}
+     * @throws IdempotencyKeyReusedException if the key was first used for a different submission
+     */
+    Result createOnce(String key, String fingerprint, Supplier<Ticket> create);
+
+    /**
+     * SHA-256 of the fields a submission sets, so a retry can be told from a key reused for another ticket
+     */
+    static String fingerprint(Ticket ticket) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String field : new String[] {ticket.getTitle(), ticket.getDescription(), ticket.getStatus(), ticket.getPriority()}) {
+                // Length-prefixed, so no two different field lists hash the same input
+                String encoded = field == null ? "-1:" : field.length() + ":" + field;
+                digest.update(encoded.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    record Result(Ticket ticket, boolean replayed) {}
+}
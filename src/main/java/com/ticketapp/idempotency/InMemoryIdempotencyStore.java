@@ -0,0 +1,92 @@
+package com.ticketapp.idempotency;
+
+import com.ticketapp.model.Ticket;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory idempotency store.
+ * Keys are kept for a fixed TTL and evicted oldest first, so insertion order is also
+ * expiry order and eviction only ever looks at the head of the queue.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier ticker;
+
+    public InMemoryIdempotencyStore(Duration ttl, int maxEntries, LongSupplier ticker) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public Result createOnce(String key, String fingerprint, Supplier<Ticket> create) {
+        long now = ticker.getAsLong();
+        evictExpired(now);
+
+        Entry entry = new Entry(key, fingerprint, now, new CompletableFuture<>());
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing != null && !existing.isExpired(now, ttlNanos)) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException("Idempotency key " + key + " was used for a different submission");
+            }
+            return new Result(await(existing), true);
+        }
+        if (existing != null && !entries.replace(key, existing, entry)) {
+            // Another request replaced the expired entry first, follow it
+            return createOnce(key, fingerprint, create);
+        }
+
+        insertionOrder.add(entry);
+        try {
+            Ticket ticket = create.get();
+            entry.result.complete(ticket);
+            return new Result(ticket, false);
+        } catch (RuntimeException ex) {
+            // Failed attempts are not remembered, the client may retry with the same key
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (head.isExpired(now, ttlNanos) || entries.size() > maxEntries)) {
+            if (insertionOrder.remove(head)) {
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    private Ticket await(Entry entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    private record Entry(String key, String fingerprint, long createdAt, CompletableFuture<Ticket> result) {
+        boolean isExpired(long now, long ttlNanos) {
+            return now - createdAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ticketapp.index;
+
+import java.util.Arrays;
+
+/**
+ * Copy-on-write sets of longs kept as sorted primitive arrays.
+ * An id costs 8 bytes instead of a boxed Long plus a hash table node, and an array is never
+ * modified once published, so readers need no locking.
+ */
+public final class LongSets {
+
+    public static final long[] EMPTY = new long[0];
+
+    private LongSets() {
+    }
+
+    /**
+     * Sorted, duplicate-free copy of the given values
+     */
+    public static long[] of(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+
+    public static boolean contains(long[] set, long value) {
+        return Arrays.binarySearch(set, value) >= 0;
+    }
+
+    /**
+     * @return a new set with the value added, or the same set if it was already present
+     */
+    public static long[] add(long[] set, long value) {
+        int index = Arrays.binarySearch(set, value);
+        if (index >= 0) {
+            return set;
+        }
+        int insertAt = -index - 1;
+        long[] grown = new long[set.length + 1];
+        System.arraycopy(set, 0, grown, 0, insertAt);
+        grown[insertAt] = value;
+        System.arraycopy(set, insertAt, grown, insertAt + 1, set.length - insertAt);
+        return grown;
+    }
+
+    /**
+     * @return a new set without the value, or the same set if it was not present
+     */
+    public static long[] remove(long[] set, long value) {
+        int index = Arrays.binarySearch(set, value);
+        if (index < 0) {
+            return set;
+        }
+        long[] shrunk = new long[set.length - 1];
+        System.arraycopy(set, 0, shrunk, 0, index);
+        System.arraycopy(set, index + 1, shrunk, index, set.length - index - 1);
+        return shrunk;
+    }
+
+    /**
+     * @return a new set without any of the given sorted values
+     */
+    public static long[] removeAll(long[] set, long[] sortedValues) {
+        long[] kept = new long[set.length];
+        int size = 0;
+        for (long value : set) {
+            if (Arrays.binarySearch(sortedValues, value) < 0) {
+                kept[size++] = value;
+            }
+        }
+        return size == set.length ? set : Arrays.copyOf(kept, size);
+    }
+}
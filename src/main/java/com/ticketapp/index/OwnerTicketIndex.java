@@ -0,0 +1,103 @@
+package com.ticketapp.index;
+
+import com.ticketapp.event.TicketChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory secondary index from ticket owner to the ids of their tickets.
+ *
+ * An owner's ids are loaded on first use and then kept current from the ticket change events,
+ * so repeat lookups need no SQL. Ids are kept in compact sorted arrays (see {@link LongSets})
+ * under interned owner keys. Deletes whose owner is unknown are cleaned up by
+ * {@link #removeAll(String, long[])} once the ids are found to be gone.
+ */
+@Component
+public class OwnerTicketIndex {
+
+    // An owner's ids, or null while a load is in flight for them. The version changes on every
+    // write to the owner and is checked when the load is published, both inside a compute on the
+    // owner's entry, so a load only gives way to writes to its own owner.
+    private record Entry(long version, long[] ids) {}
+
+    private final Map<String, Entry> byOwner = new ConcurrentHashMap<>();
+
+    // Source of versions, unique across owners and across clear()
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * @return the owner's ticket ids in ascending order, or null if they have not been loaded
+     */
+    public long[] get(String owner) {
+        Entry entry = byOwner.get(owner);
+        return entry != null ? entry.ids() : null;
+    }
+
+    /**
+     * Stamp to read before querying the owner's ids passed to {@link #load(String, long[], long)}
+     */
+    public long stamp(String owner) {
+        return byOwner.computeIfAbsent(owner.intern(), key -> new Entry(versions.incrementAndGet(), null)).version();
+    }
+
+    /**
+     * Publish ids loaded from the database, unless a write to the owner was applied since the stamp was read
+     * @return the ids now known for the owner
+     */
+    public long[] load(String owner, long[] ids, long stamp) {
+        long[] sorted = LongSets.of(ids);
+        Entry published = byOwner.computeIfPresent(owner, (key, existing) ->
+            existing.ids() == null && existing.version() == stamp ? new Entry(stamp, sorted) : existing);
+        return published != null && published.ids() != null ? published.ids() : sorted;
+    }
+
+    public void add(String owner, long id) {
+        // Owners neither loaded nor loading have no entry and need none
+        byOwner.computeIfPresent(owner, (key, entry) ->
+            new Entry(versions.incrementAndGet(), entry.ids() != null ? LongSets.add(entry.ids(), id) : null));
+    }
+
+    public void remove(String owner, long id) {
+        byOwner.computeIfPresent(owner, (key, entry) ->
+            new Entry(versions.incrementAndGet(), entry.ids() != null ? LongSets.remove(entry.ids(), id) : null));
+    }
+
+    /**
+     * Drop ids that no longer resolve to a ticket
+     */
+    public void removeAll(String owner, long[] ids) {
+        long[] sorted = LongSets.of(ids);
+        byOwner.computeIfPresent(owner, (key, entry) ->
+            entry.ids() != null ? new Entry(entry.version(), LongSets.removeAll(entry.ids(), sorted)) : entry);
+    }
+
+    public int ownerCount() {
+        return (int) byOwner.values().stream().filter(entry -> entry.ids() != null).count();
+    }
+
+    public void clear() {
+        byOwner.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketChange(TicketChangeEvent event) {
+        switch (event.type()) {
+            case CREATED -> add(event.createdBy(), event.ticketId());
+            case DELETED, ARCHIVED -> {
+                // Without an owner the id stays until a lookup finds it gone, see removeAll
+                if (event.createdBy() != null) {
+                    remove(event.createdBy(), event.ticketId());
+                }
+            }
+            case PURGED -> clear();
+            case UPDATED -> {
+                // The owner never changes
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ticketapp.loadshed;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit with additive increase, multiplicative decrease.
+ *
+ * Every request that completes within its timeout while at least half the limit is in use
+ * raises the limit by one; every request that runs over its timeout multiplies it by the
+ * backoff ratio. Under a slow database latency crosses the timeouts, the limit drops towards
+ * minLimit and excess requests are rejected immediately instead of queueing on server threads.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("The backoff ratio must be between 0 and 1");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Admit a request if the requests in flight are below the priority's share of the limit.
+     * Every admitted request must be followed by exactly one {@link #release(boolean)}.
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.share()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param overloaded whether the request ran over its timeout or failed
+     */
+    public void release(boolean overloaded) {
+        int wasInFlight = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (overloaded) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (wasInFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,114 @@
+package com.ticketapp.loadshed;
+
+import com.ticketapp.config.LoadSheddingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rejects API requests with 503 and Retry-After once the adaptive concurrency limit is reached,
+ * before they take a server thread through authentication and the database.
+ *
+ * Each request is matched to an endpoint for its priority and timeout. Completing within the
+ * timeout lets the limit grow, running over it (or failing with 5xx) shrinks it. Requests are not
+ * interrupted at the timeout, a blocked JDBC call cannot be safely cancelled from here, it only
+ * signals overload. In-flight requests, latency and rejections are published per endpoint as
+ * loadshed.* meters.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final AimdLimiter limiter;
+    private final LoadSheddingProperties properties;
+    private final List<EndpointState> endpoints = new ArrayList<>();
+    private final EndpointState defaultEndpoint;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public LoadSheddingFilter(AimdLimiter limiter, LoadSheddingProperties properties, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.properties = properties;
+        for (LoadSheddingProperties.Endpoint endpoint : properties.getEndpoints()) {
+            endpoints.add(new EndpointState(endpoint, meterRegistry));
+        }
+        defaultEndpoint = new EndpointState(new LoadSheddingProperties.Endpoint(
+            null, null, Priority.NORMAL, properties.getDefaultTimeout()), meterRegistry);
+        Gauge.builder("loadshed.limit", limiter, AimdLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("loadshed.inflight", limiter, AimdLimiter::getInFlight).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointState endpoint = endpointFor(request);
+        if (!limiter.tryAcquire(endpoint.rule.getPriority())) {
+            endpoint.rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+            return;
+        }
+
+        endpoint.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            endpoint.inFlight.decrementAndGet();
+            endpoint.latency.record(elapsed, TimeUnit.NANOSECONDS);
+            limiter.release(failed || elapsed > endpoint.timeoutNanos);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    private EndpointState endpointFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (EndpointState endpoint : endpoints) {
+            if ((endpoint.rule.getMethod() == null || endpoint.rule.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(endpoint.rule.getPattern(), path)) {
+                return endpoint;
+            }
+        }
+        return defaultEndpoint;
+    }
+
+    private static class EndpointState {
+        final LoadSheddingProperties.Endpoint rule;
+        final long timeoutNanos;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final Timer latency;
+        final Counter rejected;
+
+        EndpointState(LoadSheddingProperties.Endpoint rule, MeterRegistry meterRegistry) {
+            this.rule = rule;
+            this.timeoutNanos = rule.getTimeout().toNanos();
+            String name = rule.getPattern() == null ? "other"
+                : (rule.getMethod() != null ? rule.getMethod().toUpperCase() : "*") + " " + rule.getPattern();
+            Gauge.builder("loadshed.endpoint.inflight", inFlight, AtomicInteger::get)
+                .tag("endpoint", name).register(meterRegistry);
+            this.latency = Timer.builder("loadshed.endpoint.latency").tag("endpoint", name).register(meterRegistry);
+            this.rejected = Counter.builder("loadshed.endpoint.rejected").tag("endpoint", name)
+                .tag("priority", rule.getPriority().name()).register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ticketapp.loadshed;
+
+/**
+ * Request priority for load shedding: a request is admitted while the number of requests in
+ * flight is below its share of the current concurrency limit, so lower priorities are shed first
+ */
+public enum Priority {
+    CRITICAL(1.0),
+    NORMAL(0.8),
+    LOW(0.5);
+
+    private final double share;
+
+    Priority(double share) {
+        this.share = share;
+    }
+
+    public double share() {
+        return share;
+    }
+}
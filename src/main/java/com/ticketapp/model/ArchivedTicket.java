@@ -0,0 +1,108 @@
+package com.ticketapp.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cold-tier copy of a closed ticket, moved out of the tickets table by the archive job.
+ * Keeps the original id so archived tickets can be referenced the same way as live ones.
+ */
+@Entity
+@Table(name = "tickets_archive", indexes = @Index(name = "idx_tickets_archive_created_by", columnList = "created_by"))
+public class ArchivedTicket {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, length = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(nullable = false)
+    private String priority;
+
+    @Column(nullable = false)
+    private String createdBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime closedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    // The attachments stay where they were, under the ticket's id, when the ticket is archived
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_id", insertable = false, updatable = false,
+        foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private List<Attachment> attachments;
+
+    public ArchivedTicket() {}
+
+    /**
+     * Convert back to a Ticket so archived results can be returned alongside live ones
+     */
+    public Ticket toTicket() {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle(title);
+        ticket.setDescription(description);
+        ticket.setStatus(status);
+        ticket.setPriority(priority);
+        ticket.setCreatedBy(createdBy);
+        ticket.setCreatedAt(createdAt);
+        ticket.setClosedAt(closedAt);
+        return ticket;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    /**
+     * Only available while the archived ticket is attached to an open session
+     */
+    public List<Attachment> getAttachments() {
+        return attachments;
+    }
+}
@@ -0,0 +1,100 @@
+package com.ticketapp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A file attached to a ticket. Only the metadata is a row; the content lives in the blob store
+ * under its SHA-256, so identical files attached to several tickets are stored once.
+ */
+@Entity
+@Table(name = "ticket_attachments", indexes = {
+    @Index(name = "idx_ticket_attachments_ticket_id", columnList = "ticket_id"),
+    @Index(name = "idx_ticket_attachments_sha256", columnList = "sha256")
+})
+public class Attachment {
+
+    // Generated on the ticket's shard, so it is routed like a ticket id
+    @Id
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    // No foreign key: a partitioned tickets table cannot be referenced by id alone, and archived
+    // tickets keep their attachments after their row has moved to tickets_archive
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_id", insertable = false, updatable = false,
+        foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @JsonIgnore
+    private Ticket ticket;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    private long size;
+
+    // Hex SHA-256 of the content, the key of the blob holding it
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private String uploadedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public Attachment() {}
+
+    public Attachment(Long id, Long ticketId, String fileName, String contentType, long size, String sha256,
+                      String uploadedBy) {
+        this.id = id;
+        this.ticketId = ticketId;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+        this.sha256 = sha256;
+        this.uploadedBy = uploadedBy;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public Ticket getTicket() {
+        return ticket;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public String getUploadedBy() {
+        return uploadedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
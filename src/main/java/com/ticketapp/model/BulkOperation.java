@@ -0,0 +1,161 @@
+package com.ticketapp.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A mass status or priority change and its progress on one shard.
+ * Every shard holds its own row under the operation's id, so a chunk of ticket updates and the
+ * checkpoint after it commit together in one local transaction.
+ */
+@Entity
+@Table(name = "bulk_operations", indexes = @Index(name = "idx_bulk_operations_state", columnList = "state"))
+public class BulkOperation {
+
+    public enum State {
+        PENDING, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    @Id
+    private Long id;
+
+    // Filter; a null criterion matches every ticket
+    private String filterStatus;
+
+    private String filterPriority;
+
+    private LocalDateTime createdBefore;
+
+    // Change; a null field is left as it is
+    private String newStatus;
+
+    private String newPriority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private State state = State.PENDING;
+
+    // Tickets matching the filter when the operation was submitted
+    private long matched;
+
+    private long processed;
+
+    // Keyset checkpoint: every matching ticket up to this id has been changed
+    private long lastTicketId;
+
+    @Column(nullable = false)
+    private String requestedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String error;
+
+    // Fences off a second runner, or a cancel, racing the chunk that is in flight
+    @Version
+    private Long version;
+
+    public BulkOperation() {}
+
+    public BulkOperation(Long id, String filterStatus, String filterPriority, LocalDateTime createdBefore,
+                         String newStatus, String newPriority, String requestedBy) {
+        this.id = id;
+        this.filterStatus = filterStatus;
+        this.filterPriority = filterPriority;
+        this.createdBefore = createdBefore;
+        this.newStatus = newStatus;
+        this.newPriority = newPriority;
+        this.requestedBy = requestedBy;
+    }
+
+    /**
+     * Record a committed chunk that changed tickets up to and including lastTicketId
+     */
+    public void advance(long lastTicketId, int count) {
+        this.state = State.RUNNING;
+        this.lastTicketId = lastTicketId;
+        this.processed += count;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void finish(State state, String error) {
+        this.state = state;
+        this.error = error;
+        this.updatedAt = LocalDateTime.now();
+        this.finishedAt = this.updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFilterStatus() {
+        return filterStatus;
+    }
+
+    public String getFilterPriority() {
+        return filterPriority;
+    }
+
+    public LocalDateTime getCreatedBefore() {
+        return createdBefore;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+
+    public String getNewPriority() {
+        return newPriority;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getMatched() {
+        return matched;
+    }
+
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public long getLastTicketId() {
+        return lastTicketId;
+    }
+
+    public String getRequestedBy() {
+        return requestedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ticketapp.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key of a ticket submission and the ticket it created, used by the database-backed store.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key", length = 512)
+    private String key;
+
+    /**
+     * SHA-256 of the submission that first used the key
+     */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private Long ticketId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String key, String fingerprint, Long ticketId, LocalDateTime createdAt) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.ticketId = ticketId;
+        this.createdAt = createdAt;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
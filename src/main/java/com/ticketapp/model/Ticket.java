@@ -1,13 +1,34 @@
 package com.ticketapp.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ticketapp.id.TicketId;
 import jakarta.persistence.*;
-import java.time.LocalDateTime;
+import org.hibernate.annotations.DynamicUpdate;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Cached tickets number in the millions, so the layout is kept lean: status, priority and the
+ * owner repeat across tickets and share one instance per value, and createdAt is held as epoch
+ * microseconds rather than a LocalDateTime with its LocalDate and LocalTime.
+ */
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+    @Index(name = "idx_tickets_created_at", columnList = "created_at"),
+    @Index(name = "idx_tickets_closed_at", columnList = "closed_at")
+})
+@DynamicUpdate
 public class Ticket {
+    /**
+     * {@link #getCreatedAtMicros()} of a ticket without a createdAt
+     */
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    // Time-ordered and naming the ticket's shard, see IdLayout
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TicketId
     private Long id;
 
     @Column(nullable = false)
@@ -25,11 +46,38 @@ public class Ticket {
     @Column(nullable = false)
     private String createdBy;
 
-    @Column(nullable = false)
-    private LocalDateTime createdAt = LocalDateTime.now();
+    // Epoch microseconds, mapped through getCreatedAt/setCreatedAt; NO_TIMESTAMP stands for null
+    @Transient
+    private long createdAt = toMicros(LocalDateTime.now());
+
+    // Set when the ticket is first closed, used to age closed tickets out to the archive
+    private LocalDateTime closedAt;
+
+    // Loaded on first access only, so listing tickets never queries attachments
+    @OneToMany(mappedBy = "ticket", fetch = FetchType.LAZY)
+    @JsonIgnore
+    private List<Attachment> attachments;
 
     public Ticket() {}
 
+    // Hibernate sets fields directly, bypassing the setters that share the values
+    @PostLoad
+    void shareRepeatedValues() {
+        status = share(status);
+        priority = share(priority);
+        createdBy = share(createdBy);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void trackClosedAt() {
+        if (!"CLOSED".equalsIgnoreCase(status)) {
+            closedAt = null;
+        } else if (closedAt == null) {
+            closedAt = LocalDateTime.now();
+        }
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -60,7 +108,7 @@ public class Ticket {
     }
 
     public void setStatus(String status) {
-        this.status = status;
+        this.status = share(status);
     }
 
     public String getPriority() {
@@ -68,7 +116,7 @@ public class Ticket {
     }
 
     public void setPriority(String priority) {
-        this.priority = priority;
+        this.priority = share(priority);
     }
 
     public String getCreatedBy() {
@@ -76,14 +124,55 @@ public class Ticket {
     }
 
     public void setCreatedBy(String createdBy) {
-        this.createdBy = createdBy;
+        this.createdBy = share(createdBy);
     }
 
+    @Access(AccessType.PROPERTY)
+    @Column(name = "created_at", nullable = false)
     public LocalDateTime getCreatedAt() {
+        if (createdAt == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(createdAt, 1_000_000L),
+            (int) Math.floorMod(createdAt, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * createdAt as UTC epoch microseconds, or {@link #NO_TIMESTAMP}, for sorting and writing
+     * tickets without creating a LocalDateTime per call
+     */
+    @JsonIgnore
+    public long getCreatedAtMicros() {
         return createdAt;
     }
 
+    /**
+     * Kept to the microsecond, the precision of the created_at column
+     */
     public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+        this.createdAt = createdAt != null ? toMicros(createdAt) : NO_TIMESTAMP;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    /**
+     * Only available while the ticket is attached to an open session; null on tickets not loaded by Hibernate
+     */
+    public List<Attachment> getAttachments() {
+        return attachments;
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    private static String share(String value) {
+        return value != null ? value.intern() : null;
     }
 }
@@ -0,0 +1,223 @@
+package com.ticketapp.projection;
+
+import com.ticketapp.changelog.TicketChangeLog;
+import com.ticketapp.event.TicketChangeEvent;
+import com.ticketapp.index.LongSets;
+import com.ticketapp.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory read models derived from the ticket change stream: the ticket ids of each owner,
+ * kept as compact sorted arrays like {@link com.ticketapp.index.OwnerTicketIndex}, and the
+ * number of tickets per status.
+ *
+ * When the change log is enabled the projection follows it, so it can be checkpointed together
+ * with its log position and resumed by replaying only the records after the checkpoint.
+ * Otherwise it is rebuilt from the tickets table on startup and kept current from
+ * {@link TicketChangeEvent}s published after each commit. A retention purge does not say which
+ * tickets it removed, so the projection is reloaded from the tickets table after one.
+ */
+public class TicketProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketProjection.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x54505231;
+
+    private record Entry(String owner, String status) {
+    }
+
+    private final Path checkpointFile;
+    private final Supplier<List<TicketRepository.OwnerStatus>> tickets;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, long[]> idsByOwner = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> countsByStatus = new ConcurrentHashMap<>();
+
+    private volatile boolean followingChangeLog;
+    private long position;
+
+    /**
+     * @param tickets reads owner and status of every ticket, for reloading after a purge
+     */
+    public TicketProjection(Path checkpointFile, Supplier<List<TicketRepository.OwnerStatus>> tickets) {
+        this.checkpointFile = checkpointFile;
+        this.tickets = tickets;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketChange(TicketChangeEvent event) {
+        // Events reach a projection that follows the change log through its subscription instead
+        if (!followingChangeLog) {
+            apply(event);
+        }
+    }
+
+    public synchronized void apply(TicketChangeEvent event) {
+        Long id = event.ticketId();
+        switch (event.type()) {
+            case CREATED -> {
+                remove(id);
+                add(id, event.createdBy(), event.changes().get("status"));
+            }
+            case UPDATED -> {
+                Entry entry = entries.get(id);
+                String status = event.changes().get("status");
+                if (entry != null && status != null) {
+                    remove(id);
+                    add(id, entry.owner(), status);
+                }
+            }
+            case DELETED, ARCHIVED -> remove(id);
+            case PURGED -> rebuild(tickets.get());
+        }
+    }
+
+    /**
+     * Ids of the tickets created by a user, in ascending order. The array must not be modified.
+     */
+    public long[] ticketIds(String owner) {
+        return idsByOwner.getOrDefault(owner, LongSets.EMPTY);
+    }
+
+    /**
+     * Number of live tickets per upper-cased status
+     */
+    public Map<String, Long> statusCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        countsByStatus.forEach((status, count) -> {
+            if (count.get() > 0) {
+                counts.put(status, count.get());
+            }
+        });
+        return counts;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Replace the projection with the current contents of the tickets table
+     */
+    public synchronized void rebuild(List<TicketRepository.OwnerStatus> tickets) {
+        clear();
+        tickets.forEach(ticket -> add(ticket.getId(), ticket.getCreatedBy(), ticket.getStatus()));
+        log.info("Rebuilt ticket projection from {} tickets", tickets.size());
+    }
+
+    /**
+     * Replay the change log from a position and keep following it
+     */
+    public void followChangeLog(TicketChangeLog changeLog, long fromPosition) {
+        followingChangeLog = true;
+        changeLog.subscribe(fromPosition, this::apply);
+    }
+
+    private synchronized void apply(TicketChangeEvent event, long nextPosition) {
+        apply(event);
+        position = nextPosition;
+    }
+
+    public boolean isFollowingChangeLog() {
+        return followingChangeLog;
+    }
+
+    /**
+     * Write the projection and its change log position to the checkpoint file.
+     * The file is replaced atomically, so a crash mid-write leaves the previous checkpoint intact.
+     */
+    public void checkpoint() throws IOException {
+        Files.createDirectories(checkpointFile.toAbsolutePath().getParent());
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        synchronized (this) {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(position);
+                out.writeInt(entries.size());
+                for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeUTF(entry.getValue().owner());
+                    out.writeUTF(entry.getValue().status());
+                }
+            }
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Load the checkpoint file into the projection
+     * @return the change log position to resume from, or -1 if there is no usable checkpoint
+     */
+    public synchronized long restore() {
+        clear();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                log.warn("Ignoring projection checkpoint {} with an unknown format", checkpointFile);
+                return -1;
+            }
+            long checkpointPosition = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                add(in.readLong(), in.readUTF(), in.readUTF());
+            }
+            position = checkpointPosition;
+            log.info("Restored ticket projection with {} tickets at change log position {}", count, checkpointPosition);
+            return checkpointPosition;
+        } catch (NoSuchFileException e) {
+            return -1;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable projection checkpoint {}", checkpointFile, e);
+            clear();
+            return -1;
+        }
+    }
+
+    private void add(Long id, String owner, String status) {
+        if (owner == null || status == null) {
+            return;
+        }
+        String internedOwner = owner.intern();
+        String normalizedStatus = status.toUpperCase(Locale.ROOT).intern();
+        entries.put(id, new Entry(internedOwner, normalizedStatus));
+        idsByOwner.merge(internedOwner, new long[]{id}, (ids, added) -> LongSets.add(ids, id));
+        countsByStatus.computeIfAbsent(normalizedStatus, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        idsByOwner.computeIfPresent(entry.owner(), (owner, ids) -> {
+            long[] remaining = LongSets.remove(ids, id);
+            return remaining.length > 0 ? remaining : null;
+        });
+        countsByStatus.get(entry.status()).decrementAndGet();
+    }
+
+    private void clear() {
+        entries.clear();
+        idsByOwner.clear();
+        countsByStatus.clear();
+        position = 0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ticketapp.ratelimit;
+
+import java.util.function.Supplier;
+
+/**
+ * Storage for per-client token buckets.
+ * The in-memory {@link StripedBucketStore} is the default; a shared store can be
+ * plugged in by defining another BucketStore bean.
+ */
+public interface BucketStore {
+
+    /**
+     * Get the bucket for the given key, creating it with the factory on first use
+     */
+    TokenBucket resolve(String key, Supplier<TokenBucket> factory);
+
+    /**
+     * Drop buckets that are full again, they are recreated on the next request
+     */
+    void evictIdle(long nowNanos);
+
+    int size();
+}
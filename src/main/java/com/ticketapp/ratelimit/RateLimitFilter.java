@@ -0,0 +1,86 @@
+package com.ticketapp.ratelimit;
+
+import com.ticketapp.config.RateLimitProperties;
+import com.ticketapp.service.UserService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits authenticated requests with a token bucket per user SID.
+ * Added to the security filter chain after bearer token authentication, so the
+ * SID and roles of the JWT are available. Rejected requests get 429 with Retry-After.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Most privileged role first, a user gets the quota of the first role they have
+    private static final List<String> ROLE_PRECEDENCE = List.of("ADMIN", "SUPPORT", "USER");
+
+    private final BucketStore bucketStore;
+    private final RateLimitProperties properties;
+    private final UserService userService;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(BucketStore bucketStore, RateLimitProperties properties, UserService userService) {
+        this.bucketStore = bucketStore;
+        this.properties = properties;
+        this.userService = userService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String sid = userService.getCurrentUserSid();
+        RateLimitProperties.Quota quota = sid != null ? quotaFor(userService.getCurrentUserRoles()) : null;
+        if (quota == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = bucketStore.resolve(sid,
+            () -> new TokenBucket(quota.getCapacity(), quota.getRefillPerSecond(), now));
+        long waitNanos = bucket.tryConsume(costOf(request), now);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    private RateLimitProperties.Quota quotaFor(List<String> roles) {
+        for (String role : ROLE_PRECEDENCE) {
+            if (roles.contains(role)) {
+                return properties.getQuotas().get(role.toLowerCase());
+            }
+        }
+        return null;
+    }
+
+    private int costOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitProperties.EndpointCost endpoint : properties.getCosts()) {
+            if (endpoint.getMethod().equalsIgnoreCase(request.getMethod())
+                    && pathMatcher.match(endpoint.getPattern(), path)) {
+                return endpoint.getCost();
+            }
+        }
+        return 1;
+    }
+}
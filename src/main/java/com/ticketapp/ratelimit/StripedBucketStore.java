@@ -0,0 +1,56 @@
+package com.ticketapp.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory bucket store split into independent stripes by key hash,
+ * so threads working on different clients rarely touch the same map segment.
+ */
+public class StripedBucketStore implements BucketStore {
+
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public StripedBucketStore(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public TokenBucket resolve(String key, Supplier<TokenBucket> factory) {
+        ConcurrentHashMap<String, TokenBucket> stripe = stripeFor(key);
+        // Plain get first, computeIfAbsent locks the bin even when the bucket exists
+        TokenBucket bucket = stripe.get(key);
+        if (bucket == null) {
+            bucket = stripe.computeIfAbsent(key, k -> factory.get());
+        }
+        return bucket;
+    }
+
+    @Override
+    public void evictIdle(long nowNanos) {
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) {
+            stripe.values().removeIf(bucket -> bucket.isFull(nowNanos));
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private ConcurrentHashMap<String, TokenBucket> stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
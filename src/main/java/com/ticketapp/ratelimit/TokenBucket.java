@@ -0,0 +1,68 @@
+package com.ticketapp.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * Implemented in its GCRA form: the only state is the theoretical arrival time (TAT) of the
+ * next request, updated with a single CAS, so taking tokens never blocks or allocates.
+ * A bucket is full when the TAT is in the past and empty when it is capacity intervals ahead.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take the given number of tokens
+     * @return 0 if the tokens were taken, otherwise the nanoseconds to wait before retrying
+     * @throws IllegalArgumentException if more tokens are asked for than the bucket can ever hold
+     */
+    public long tryConsume(long tokens, long nowNanos) {
+        if (tokens > capacity) {
+            throw new IllegalArgumentException("Cannot take " + tokens + " tokens from a bucket of " + capacity);
+        }
+        long increment = nanosPerToken * tokens;
+        long burstAllowance = nanosPerToken * capacity;
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long newTat = Math.max(tat, nowNanos) + increment;
+            long waitNanos = newTat - nowNanos - burstAllowance;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Tokens currently available
+     */
+    public long availableTokens(long nowNanos) {
+        long backlog = Math.max(0, theoreticalArrivalTime.get() - nowNanos);
+        return capacity - (backlog + nanosPerToken - 1) / nanosPerToken;
+    }
+
+    /**
+     * A full bucket holds no state worth keeping and can be dropped from the store
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalTime.get() <= nowNanos;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ticketapp.repository;
+
+import com.ticketapp.model.ArchivedTicket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, Long> {
+    List<ArchivedTicket> findByCreatedBy(String createdBy);
+
+    // Read-only so the listing reads the replica, see TicketRepository.findAllByOrderByCreatedAtAsc
+    @Transactional(readOnly = true)
+    List<ArchivedTicket> findAllByOrderByCreatedAtAsc();
+
+    @Transactional(readOnly = true)
+    List<ArchivedTicket> findByCreatedByOrderByCreatedAtAsc(String createdBy);
+
+    /**
+     * Copy tickets that are still archivable into the archive with a single INSERT ... SELECT, without loading them
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedTicket (id, title, description, status, priority, createdBy, createdAt, closedAt, archivedAt) " +
+           "SELECT t.id, t.title, t.description, t.status, t.priority, t.createdBy, t.createdAt, t.closedAt, :archivedAt " +
+           "FROM Ticket t WHERE t.id IN :ids AND" + TicketRepository.ARCHIVABLE)
+    int copyFromTickets(@Param("ids") List<Long> ids,
+                        @Param("closedBefore") LocalDateTime closedBefore,
+                        @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,33 @@
+package com.ticketapp.repository;
+
+import com.ticketapp.model.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+
+    List<Attachment> findByTicketIdOrderByIdAsc(Long ticketId);
+
+    Optional<Attachment> findByIdAndTicketId(Long id, Long ticketId);
+
+    /**
+     * Attachments whose ticket is neither live nor archived any more, e.g. after a retention purge
+     */
+    @Query("SELECT a FROM Attachment a WHERE NOT EXISTS (SELECT t.id FROM Ticket t WHERE t.id = a.ticketId)" +
+           " AND NOT EXISTS (SELECT r.id FROM ArchivedTicket r WHERE r.id = a.ticketId)")
+    List<Attachment> findOrphaned();
+
+    @Query("SELECT COALESCE(SUM(a.size), 0) FROM Attachment a WHERE a.ticketId = :ticketId")
+    long sumSizeByTicketId(@Param("ticketId") Long ticketId);
+
+    /**
+     * Attachments sharing the content with the given digest, which keep its blob alive
+     */
+    long countBySha256(String sha256);
+}
@@ -0,0 +1,41 @@
+package com.ticketapp.repository;
+
+import com.ticketapp.model.BulkOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BulkOperationRepository extends JpaRepository<BulkOperation, Long> {
+
+    /**
+     * Read-write so progress is read on the primary, which is the only place the table is kept
+     */
+    @Override
+    @Transactional
+    Optional<BulkOperation> findById(Long id);
+
+    @Transactional
+    List<BulkOperation> findByStateInOrderByIdAsc(Collection<BulkOperation.State> states);
+
+    /**
+     * Move an unfinished operation to a final state. Bumping the version makes a runner holding
+     * the old one fail its chunk instead of overwriting the state.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkOperation o SET o.state = :state, o.updatedAt = :now, o.finishedAt = :now, " +
+           "o.version = o.version + 1 WHERE o.id = :id AND o.state IN :unfinished")
+    int finish(@Param("id") Long id,
+               @Param("state") BulkOperation.State state,
+               @Param("now") LocalDateTime now,
+               @Param("unfinished") Collection<BulkOperation.State> unfinished);
+}
@@ -0,0 +1,46 @@
+package com.ticketapp.repository;
+
+import com.ticketapp.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Read-write so a replay check runs on the primary and sees keys committed moments ago
+     */
+    @Override
+    @Transactional
+    Optional<IdempotencyRecord> findById(String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :createdBefore")
+    int deleteCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore);
+
+    /**
+     * Always an INSERT, so a key another replica committed meanwhile fails on the primary key;
+     * save would merge and overwrite it instead
+     */
+    @Modifying
+    @Query("INSERT INTO IdempotencyRecord (key, fingerprint, ticketId, createdAt) " +
+           "VALUES (:key, :fingerprint, :ticketId, :createdAt)")
+    int insert(@Param("key") String key,
+               @Param("fingerprint") String fingerprint,
+               @Param("ticketId") Long ticketId,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Delete the key if it has expired, whether or not the purge has got to it yet
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.createdAt <= :expiredAt")
+    int deleteExpired(@Param("key") String key, @Param("expiredAt") LocalDateTime expiredAt);
+}
@@ -1,12 +1,169 @@
 package com.ticketapp.repository;
 
 import com.ticketapp.model.Ticket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
+    // Bulk updates bypass entity callbacks, so keep closedAt in step with the new status here
+    String CLOSED_AT_UPDATE = "t.closedAt = CASE WHEN UPPER(:status) = 'CLOSED' " +
+        "THEN COALESCE(t.closedAt, LOCAL DATETIME) ELSE NULL END";
+
+    // Closed before the archive cutoff, repeated by every statement of an archive batch
+    String ARCHIVABLE = " UPPER(t.status) = 'CLOSED' AND t.closedAt < :closedBefore";
+
+    // Filter of a bulk operation, a null criterion matches every ticket
+    String BULK_FILTER = " AND (:status IS NULL OR UPPER(t.status) = UPPER(:status))" +
+        " AND (:priority IS NULL OR UPPER(t.priority) = UPPER(:priority))" +
+        " AND (:createdBefore IS NULL OR t.createdAt < :createdBefore)";
+
     List<Ticket> findByCreatedBy(String createdBy);
+
+    /**
+     * Read-only so the listing reads the replica like findAll does; a query method declared here
+     * has no transaction of its own, and its connection would come from the primary
+     */
+    @Transactional(readOnly = true)
+    List<Ticket> findAllByOrderByCreatedAtAsc();
+
+    @Transactional(readOnly = true)
+    List<Ticket> findByCreatedByOrderByCreatedAtAsc(String createdBy);
+
+    /**
+     * Read-write so it runs on the primary: the owner index is loaded from this and then kept
+     * current from committed changes, which a lagging replica may not have yet
+     */
+    @Transactional
+    @Query("SELECT t.id FROM Ticket t WHERE t.createdBy = :createdBy")
+    List<Long> findIdsByCreatedBy(@Param("createdBy") String createdBy);
+
+    /**
+     * Read-write so it runs on the primary, like every query whose tickets go into the tickets cache:
+     * a row read from a lagging replica would be served from the cache after the write that changed it
+     */
+    @Transactional
+    List<Ticket> findByStatusIgnoreCaseOrderByCreatedAtDesc(String status, Pageable pageable);
+
+    Optional<Ticket> findByIdAndCreatedBy(Long id, String createdBy);
+
+    /**
+     * The tickets with the given ids, read on the primary since they are put into the tickets cache
+     */
+    @Transactional
+    @Query("SELECT t FROM Ticket t WHERE t.id IN :ids")
+    List<Ticket> findAllForCache(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.title = :title, t.description = :description, " +
+           "t.status = :status, t.priority = :priority, " + CLOSED_AT_UPDATE + " WHERE t.id = :id")
+    int updateTicketFields(@Param("id") Long id,
+                           @Param("title") String title,
+                           @Param("description") String description,
+                           @Param("status") String status,
+                           @Param("priority") String priority);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.title = :title, t.description = :description, " +
+           "t.status = :status, t.priority = :priority, " + CLOSED_AT_UPDATE +
+           " WHERE t.id = :id AND t.createdBy = :createdBy")
+    int updateOwnedTicketFields(@Param("id") Long id,
+                                @Param("createdBy") String createdBy,
+                                @Param("title") String title,
+                                @Param("description") String description,
+                                @Param("status") String status,
+                                @Param("priority") String priority);
+
+    /**
+     * Next batch of tickets to archive, locked until the batch's transaction ends so none of them
+     * can be reopened between being copied to the archive and deleted
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Ticket t WHERE" + ARCHIVABLE + " ORDER BY t.id")
+    List<Long> findIdsClosedBefore(@Param("closedBefore") LocalDateTime closedBefore, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Ticket t WHERE t.id IN :ids AND" + ARCHIVABLE)
+    int deleteArchivable(@Param("ids") List<Long> ids, @Param("closedBefore") LocalDateTime closedBefore);
+
+    /**
+     * Half-open range on the partition key, so PostgreSQL only scans the monthly partitions it touches
+     */
+    List<Ticket> findByCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtAsc(LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM Ticket t WHERE t.createdAt < :createdBefore")
+    int deleteCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore);
+
+    /**
+     * Next chunk of tickets matching a bulk operation's filter after the checkpoint id, locked
+     * until the chunk's transaction ends so the set-based update cannot miss a concurrent edit
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.id > :afterId" + BULK_FILTER + " ORDER BY t.id")
+    List<Ticket> findBulkChunk(@Param("afterId") long afterId,
+                               @Param("status") String status,
+                               @Param("priority") String priority,
+                               @Param("createdBefore") LocalDateTime createdBefore,
+                               Pageable pageable);
+
+    @Transactional
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE 1 = 1" + BULK_FILTER)
+    long countBulkMatches(@Param("status") String status,
+                          @Param("priority") String priority,
+                          @Param("createdBefore") LocalDateTime createdBefore);
+
+    /**
+     * Set-based status and priority change, leaving a field as it is when its new value is null
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = COALESCE(:status, t.status), " +
+           "t.priority = COALESCE(:priority, t.priority), " +
+           "t.closedAt = CASE WHEN UPPER(COALESCE(:status, t.status)) = 'CLOSED' " +
+           "THEN COALESCE(t.closedAt, LOCAL DATETIME) ELSE NULL END WHERE t.id IN :ids")
+    int bulkUpdate(@Param("ids") Collection<Long> ids,
+                   @Param("status") String status,
+                   @Param("priority") String priority);
+
+    /**
+     * The ticket, locked until the caller's transaction ends, e.g. to serialize uploads checking its attachment quota
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.id = :id")
+    Optional<Ticket> lockById(@Param("id") Long id);
+
+    /**
+     * Ids among the given ones that still exist, read on the primary
+     */
+    @Transactional
+    @Query("SELECT t.id FROM Ticket t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Owner and status of every ticket, without loading the text columns.
+     * Read on the primary, like {@link #findIdsByCreatedBy}, since the projection is kept current from committed changes.
+     */
+    @Transactional
+    @Query("SELECT t.id AS id, t.createdBy AS createdBy, t.status AS status FROM Ticket t")
+    List<OwnerStatus> findAllOwnerStatus();
+
+    interface OwnerStatus {
+        Long getId();
+
+        String getCreatedBy();
+
+        String getStatus();
+    }
 }
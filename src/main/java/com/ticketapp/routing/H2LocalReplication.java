@@ -0,0 +1,80 @@
+package com.ticketapp.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Stand-in for database replication in the local two-H2 setup.
+ *
+ * Each {@link #sync()} copies the replicated tables from the primary H2 database into the replica
+ * through H2 linked tables, in one replica transaction so readers see either the old or the new
+ * copy. Calling it every N seconds gives a replica that lags the primary by up to N seconds.
+ */
+public class H2LocalReplication {
+
+    private static final Logger log = LoggerFactory.getLogger(H2LocalReplication.class);
+
+    private final DataSource replica;
+    private final String primaryUrl;
+    private final String username;
+    private final String password;
+    private final List<String> tables;
+
+    public H2LocalReplication(DataSource replica, String primaryUrl, String username, String password, List<String> tables) {
+        this.replica = replica;
+        this.primaryUrl = primaryUrl;
+        this.username = username;
+        this.password = password;
+        this.tables = tables;
+    }
+
+    public synchronized void sync() throws SQLException {
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            // DDL commits implicitly in H2, so set up the links and tables before the copy transaction
+            for (String table : tables) {
+                statement.execute("CREATE LINKED TABLE IF NOT EXISTS " + link(table) + "('org.h2.Driver', "
+                    + quote(primaryUrl) + ", " + quote(username) + ", " + quote(password) + ", " + quote(table) + ")");
+                statement.execute("CREATE TABLE IF NOT EXISTS " + table + " AS SELECT * FROM " + link(table) + " WITH NO DATA");
+            }
+
+            connection.setAutoCommit(false);
+            try {
+                for (String table : tables) {
+                    statement.execute("DELETE FROM " + table);
+                    statement.execute("INSERT INTO " + table + " SELECT * FROM " + link(table));
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Scheduled variant of {@link #sync()} that logs instead of failing, e.g. before the primary schema exists
+     */
+    public void syncQuietly() {
+        try {
+            sync();
+        } catch (SQLException e) {
+            log.warn("Local replica sync failed: {}", e.getMessage());
+        }
+    }
+
+    private static String link(String table) {
+        return "PRIMARY_" + table;
+    }
+
+    private static String quote(String value) {
+        return "'" + (value == null ? "" : value.replace("'", "''")) + "'";
+    }
+}
@@ -0,0 +1,132 @@
+package com.ticketapp.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Connections for read-only transactions.
+ *
+ * Serves them from the replica, except for users inside their read-your-writes window and
+ * while the replica is marked down. A replica that fails to hand out a connection, or whose
+ * connection, statement or result set fails with a connection-level error (SQLState class 08),
+ * is marked down for the failover cooldown and its reads fall back to the primary. The statement
+ * that hit the error still fails, the next transaction reads from the primary.
+ */
+public class ReadReplicaDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    /**
+     * Only objects the driver never gets back as arguments, so it cannot trip over a proxy
+     */
+    private static final Set<Class<?>> WATCHED_TYPES = Set.of(Statement.class, PreparedStatement.class,
+        CallableStatement.class, ResultSet.class, DatabaseMetaData.class);
+
+    private final DataSource replica;
+    private final DataSource primary;
+    private final ReadYourWritesTracker readYourWrites;
+    private final long failoverCooldownNanos;
+
+    private volatile long replicaDownUntil;
+    private volatile boolean replicaDown;
+
+    public ReadReplicaDataSource(DataSource replica, DataSource primary, ReadYourWritesTracker readYourWrites,
+                                 Duration failoverCooldown) {
+        this.replica = replica;
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        this.failoverCooldownNanos = failoverCooldown.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWrites.currentUserWroteRecently() || isReplicaDown()) {
+            return primary.getConnection();
+        }
+        try {
+            return watch(replica.getConnection());
+        } catch (SQLException e) {
+            markReplicaDown(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (readYourWrites.currentUserWroteRecently() || isReplicaDown()) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return watch(replica.getConnection(username, password));
+        } catch (SQLException e) {
+            markReplicaDown(e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    public boolean isReplicaDown() {
+        return replicaDown && System.nanoTime() - replicaDownUntil < 0;
+    }
+
+    private void markReplicaDown(SQLException cause) {
+        replicaDownUntil = System.nanoTime() + failoverCooldownNanos;
+        replicaDown = true;
+        log.warn("Read replica unavailable, reading from the primary for the next {}s",
+            failoverCooldownNanos / 1_000_000_000L, cause);
+    }
+
+    /**
+     * Proxies the replica connection, and the JDBC objects it hands out, to see their failures
+     */
+    private Connection watch(Connection connection) {
+        return (Connection) watch(connection, Connection.class);
+    }
+
+    private Object watch(Object target, Class<?> type) {
+        InvocationHandler handler = (proxy, method, args) -> invoke(target, method, args);
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException && isConnectionFailure(sqlException)) {
+                markReplicaDown(sqlException);
+            }
+            throw e.getCause();
+        }
+        Class<?> returnType = method.getReturnType();
+        if (result != null && WATCHED_TYPES.contains(returnType)) {
+            return watch(result, returnType);
+        }
+        return result;
+    }
+
+    static boolean isConnectionFailure(SQLException e) {
+        if (e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException) {
+            return true;
+        }
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+}
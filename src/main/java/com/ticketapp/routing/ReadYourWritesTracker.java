@@ -0,0 +1,61 @@
+package com.ticketapp.routing;
+
+import com.ticketapp.event.TicketChangeEvent;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers when each user last committed a ticket change, so that their reads keep going to
+ * the primary for a window long enough for the replicas to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> lastWriteBySid = new ConcurrentHashMap<>();
+    private final Supplier<String> currentSid;
+    private final long windowNanos;
+    private final LongSupplier ticker;
+
+    public ReadYourWritesTracker(Supplier<String> currentSid, Duration window, LongSupplier ticker) {
+        this.currentSid = currentSid;
+        this.windowNanos = window.toNanos();
+        this.ticker = ticker;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketChange(TicketChangeEvent event) {
+        String sid = currentSid.get();
+        if (sid != null) {
+            lastWriteBySid.put(sid, ticker.getAsLong());
+        }
+    }
+
+    /**
+     * Whether the current user committed a change within the window
+     */
+    public boolean currentUserWroteRecently() {
+        String sid = currentSid.get();
+        if (sid == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteBySid.get(sid);
+        return lastWrite != null && ticker.getAsLong() - lastWrite < windowNanos;
+    }
+
+    /**
+     * Forget users whose window has passed
+     */
+    public void evictExpired() {
+        long now = ticker.getAsLong();
+        lastWriteBySid.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    public int size() {
+        return lastWriteBySid.size();
+    }
+}
@@ -0,0 +1,206 @@
+package com.ticketapp.service;
+
+import com.ticketapp.config.ParallelQueryProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent queries in parallel and merges their results.
+ *
+ * Each branch runs on its own virtual thread with the caller's security context, and at most
+ * app.parallel-queries.max-concurrency branches hold a connection at once. A branch that has
+ * not returned by its timeout is given up and the results come back without it, marked as
+ * partial. A running branch is never interrupted, as an interrupt in the middle of JDBC I/O can
+ * leave the pooled connection broken: it finishes and its result is dropped. A branch still
+ * waiting for a permit stops waiting at its timeout, and one whose fan-out has already failed or
+ * timed out by the time it gets a permit does not run. A branch that fails fails the whole query.
+ * Branches run outside the caller's transaction, each in its own; called inside a transaction
+ * they run one after another in it instead, without timeouts, so they see its uncommitted writes.
+ */
+@Component
+public class ParallelQueryExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelQueryExecutor.class);
+
+    private final ExecutorService executor =
+        new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    private final Semaphore permits;
+    private final Duration defaultTimeout;
+
+    public ParallelQueryExecutor(ParallelQueryProperties properties) {
+        this.permits = new Semaphore(properties.getMaxConcurrency());
+        this.defaultTimeout = properties.getBranchTimeout();
+    }
+
+    /**
+     * One independent query
+     * @param timeout how long to wait for it counted from the start of the fan-out, or null for the default
+     */
+    public record Branch<T>(String name, Duration timeout, Supplier<List<T>> query) {
+
+        public static <T> Branch<T> of(String name, Supplier<List<T>> query) {
+            return new Branch<>(name, null, query);
+        }
+    }
+
+    /**
+     * Merged results, missing those of the branches that timed out
+     */
+    public record Result<T>(List<T> items, List<String> timedOut) {
+
+        public boolean partial() {
+            return !timedOut.isEmpty();
+        }
+    }
+
+    /**
+     * Run the branches in parallel and merge their results
+     * @param order order each branch's results are sorted in, merged k-way; null to concatenate them in branch order
+     */
+    public <T> Result<T> gather(List<Branch<T>> branches, Comparator<? super T> order) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return new Result<>(merge(branches.stream().map(branch -> branch.query().get()).toList(), order), List.of());
+        }
+        long start = System.nanoTime();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        List<Future<List<T>>> futures = new ArrayList<>(branches.size());
+        for (Branch<T> branch : branches) {
+            long deadline = start + timeoutOf(branch).toNanos();
+            futures.add(executor.submit(() -> run(branch, deadline, abandoned)));
+        }
+
+        List<List<T>> runs = new ArrayList<>(branches.size());
+        List<String> timedOut = new ArrayList<>();
+        try {
+            for (int i = 0; i < branches.size(); i++) {
+                Branch<T> branch = branches.get(i);
+                long remaining = start + timeoutOf(branch).toNanos() - System.nanoTime();
+                try {
+                    runs.add(futures.get(i).get(Math.max(remaining, 0), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    futures.get(i).cancel(false);
+                    timedOut.add(branch.name());
+                    log.warn("Query branch {} timed out after {}, returning partial results", branch.name(), timeoutOf(branch));
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof TimeoutException)) {
+                        throw e;
+                    }
+                    timedOut.add(branch.name());
+                    log.warn("Query branch {} got no permit within {}, returning partial results", branch.name(), timeoutOf(branch));
+                }
+            }
+        } catch (ExecutionException e) {
+            abandon(futures, abandoned);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Query branch failed", e.getCause());
+        } catch (InterruptedException e) {
+            abandon(futures, abandoned);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for query branches", e);
+        }
+        return new Result<>(merge(runs, order), List.copyOf(timedOut));
+    }
+
+    private Duration timeoutOf(Branch<?> branch) {
+        return branch.timeout() != null ? branch.timeout() : defaultTimeout;
+    }
+
+    // Virtual threads start at once, so a queued branch is blocked on the semaphore rather than
+    // sitting in a queue where cancel(false) would drop it: it stops waiting at its own deadline
+    private <T> List<T> run(Branch<T> branch, long deadline, AtomicBoolean abandoned)
+            throws InterruptedException, TimeoutException {
+        if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("No permit for query branch " + branch.name());
+        }
+        try {
+            if (abandoned.get() || System.nanoTime() - deadline >= 0) {
+                throw new TimeoutException("Query branch " + branch.name() + " is no longer awaited");
+            }
+            return branch.query().get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void abandon(List<? extends Future<?>> futures, AtomicBoolean abandoned) {
+        abandoned.set(true);
+        futures.forEach(future -> future.cancel(false));
+    }
+
+    /**
+     * Merge sorted runs in O(n log k) by repeatedly taking the smallest head from a heap of the
+     * k runs. Equal items keep the order of their runs.
+     */
+    static <T> List<T> merge(List<List<T>> runs, Comparator<? super T> order) {
+        List<T> merged = new ArrayList<>(runs.stream().mapToInt(List::size).sum());
+        if (order == null) {
+            runs.forEach(merged::addAll);
+            return merged;
+        }
+        Comparator<Cursor<T>> byHead = (a, b) -> order.compare(a.head(), b.head());
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(runs.size(), 1),
+            byHead.thenComparingInt(Cursor::run));
+        for (int run = 0; run < runs.size(); run++) {
+            if (!runs.get(run).isEmpty()) {
+                heads.add(new Cursor<>(run, runs.get(run)));
+            }
+        }
+        while (!heads.isEmpty()) {
+            Cursor<T> cursor = heads.poll();
+            merged.add(cursor.head());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Cursor<T> {
+        private final int run;
+        private final List<T> items;
+        private int position;
+
+        Cursor(int run, List<T> items) {
+            this.run = run;
+            this.items = items;
+        }
+
+        int run() {
+            return run;
+        }
+
+        T head() {
+            return items.get(position);
+        }
+
+        boolean advance() {
+            return ++position < items.size();
+        }
+    }
+}
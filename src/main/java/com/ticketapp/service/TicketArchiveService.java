@@ -0,0 +1,136 @@
+package com.ticketapp.service;
+
+import com.ticketapp.config.ArchiveProperties;
+import com.ticketapp.event.TicketChangeEvent;
+import com.ticketapp.model.ArchivedTicket;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.ArchivedTicketRepository;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.sharding.TicketShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hot/cold tiering for tickets.
+ * Tickets closed for longer than the configured age are moved from the tickets table
+ * to tickets_archive, so the default queries only scan the live working set.
+ */
+@Service
+public class TicketArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketArchiveService.class);
+
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final CacheManager cacheManager;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TicketShards shards;
+
+    public TicketArchiveService(TicketRepository ticketRepository,
+                                ArchivedTicketRepository archivedTicketRepository,
+                                CacheManager cacheManager,
+                                ArchiveProperties properties,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                TicketShards shards) {
+        this.ticketRepository = ticketRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.shards = shards;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 0 3 * * *}")
+    public void scheduledArchive() {
+        if (properties.isEnabled()) {
+            archiveClosedTickets();
+        }
+    }
+
+    /**
+     * Move every ticket closed before the configured age to the archive, one batch per transaction.
+     * Each shard archives into its own tickets_archive table.
+     * @return the number of tickets archived
+     */
+    public int archiveClosedTickets() {
+        LocalDateTime closedBefore = LocalDateTime.now().minus(properties.getClosedAge());
+        int total = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            total += shards.on(shard, () -> archiveShard(closedBefore));
+        }
+
+        if (total > 0) {
+            log.info("Archived {} tickets closed before {}", total, closedBefore);
+        }
+        return total;
+    }
+
+    private int archiveShard(LocalDateTime closedBefore) {
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(closedBefore));
+            total += moved;
+        } while (moved == properties.getBatchSize());
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime closedBefore) {
+        List<Long> ids = ticketRepository.findIdsClosedBefore(closedBefore, PageRequest.of(0, properties.getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        archivedTicketRepository.copyFromTickets(ids, closedBefore, LocalDateTime.now());
+        ticketRepository.deleteArchivable(ids, closedBefore);
+
+        evictAfterCommit(ids);
+        ids.forEach(id -> eventPublisher.publishEvent(TicketChangeEvent.archived(id)));
+        return ids.size();
+    }
+
+    private void evictAfterCommit(List<Long> ids) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Cache ticketsCache = cacheManager.getCache("tickets");
+                if (ticketsCache != null) {
+                    ids.forEach(ticketsCache::evict);
+                }
+            }
+        });
+    }
+
+    /**
+     * The archived ticket with this id, provided it belongs to createdBy, or to anyone if that is null
+     */
+    public Optional<Ticket> getArchivedTicket(Long id, String createdBy) {
+        return shards.on(shards.shardOfTicket(id), () -> archivedTicketRepository.findById(id))
+            .filter(archived -> createdBy == null || archived.getCreatedBy().equals(createdBy))
+            .map(ArchivedTicket::toTicket);
+    }
+
+    public List<Ticket> getArchivedTicketsByCreatedBy(String createdBy) {
+        return shards.on(shards.shardOf(createdBy), () -> archivedTicketRepository.findByCreatedBy(createdBy)).stream()
+            .map(ArchivedTicket::toTicket)
+            .toList();
+    }
+}
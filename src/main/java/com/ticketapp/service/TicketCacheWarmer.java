@@ -0,0 +1,72 @@
+package com.ticketapp.service;
+
+import com.ticketapp.config.CacheWarmupProperties;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.sharding.TicketShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pre-populates the tickets cache with the most recent hot tickets.
+ * Runs as an ApplicationRunner, which Spring Boot invokes before publishing
+ * the ApplicationReadyEvent, so readiness only flips to ACCEPTING_TRAFFIC
+ * once the cache is warm.
+ */
+@Component
+public class TicketCacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketCacheWarmer.class);
+
+    private final TicketRepository ticketRepository;
+    private final CacheManager cacheManager;
+    private final CacheWarmupProperties properties;
+    private final TicketShards shards;
+
+    public TicketCacheWarmer(TicketRepository ticketRepository, CacheManager cacheManager,
+                             CacheWarmupProperties properties, TicketShards shards) {
+        this.ticketRepository = ticketRepository;
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        this.shards = shards;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled() || properties.getSize() <= 0) {
+            return;
+        }
+        warmUp();
+    }
+
+    /**
+     * Load the most recent tickets with the configured status into the tickets cache
+     * @return the number of tickets cached
+     */
+    public int warmUp() {
+        Cache ticketsCache = cacheManager.getCache("tickets");
+        if (ticketsCache == null) {
+            return 0;
+        }
+
+        // The newest tickets overall are among the newest of each shard
+        PageRequest newest = PageRequest.of(0, properties.getSize());
+        List<Ticket> hotTickets = shards.gather(
+            () -> ticketRepository.findByStatusIgnoreCaseOrderByCreatedAtDesc(properties.getStatus(), newest),
+            Comparator.comparingLong(Ticket::getCreatedAtMicros).reversed());
+        hotTickets = hotTickets.subList(0, Math.min(hotTickets.size(), properties.getSize()));
+        hotTickets.forEach(ticket -> ticketsCache.put(ticket.getId(), ticket));
+
+        log.info("Warmed tickets cache with {} {} tickets", hotTickets.size(), properties.getStatus());
+        return hotTickets.size();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ticketapp.service;
+
+import com.ticketapp.config.ParallelQueryProperties;
+import com.ticketapp.model.ArchivedTicket;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.ArchivedTicketRepository;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.service.ParallelQueryExecutor.Branch;
+import com.ticketapp.sharding.TicketShards;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Admin ticket lists assembled from several independent queries: live and archived tickets,
+ * on every shard or for a set of owners. The queries run in parallel and their createdAt-sorted
+ * results are merged, so the list takes as long as its slowest query rather than their sum.
+ */
+@Service
+public class TicketListingService {
+
+    private static final Comparator<Ticket> BY_CREATED_AT = Comparator.comparingLong(Ticket::getCreatedAtMicros);
+
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final ParallelQueryExecutor queryExecutor;
+    private final TicketShards shards;
+    private final ParallelQueryProperties properties;
+
+    public TicketListingService(TicketRepository ticketRepository,
+                                ArchivedTicketRepository archivedTicketRepository,
+                                ParallelQueryExecutor queryExecutor,
+                                TicketShards shards,
+                                ParallelQueryProperties properties) {
+        this.ticketRepository = ticketRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.queryExecutor = queryExecutor;
+        this.shards = shards;
+        this.properties = properties;
+    }
+
+    /**
+     * Tickets oldest first, partial if a query timed out
+     * @param owners SIDs whose tickets to list, or null or empty for everyone's
+     * @throws IllegalArgumentException if more than app.parallel-queries.max-owners distinct owners are asked for
+     */
+    public ParallelQueryExecutor.Result<Ticket> listTickets(List<String> owners, boolean includeArchived) {
+        if (shards.count() > 1 && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot query all shards from inside a transaction");
+        }
+        List<Branch<Ticket>> branches = new ArrayList<>();
+        if (owners == null || owners.isEmpty()) {
+            for (int shard = 0; shard < shards.count(); shard++) {
+                branches.add(branch("tickets-shard-" + shard, shard, ticketRepository::findAllByOrderByCreatedAtAsc));
+                if (includeArchived) {
+                    branches.add(branch("archive-shard-" + shard, shard,
+                        () -> toTickets(archivedTicketRepository.findAllByOrderByCreatedAtAsc())));
+                }
+            }
+        } else {
+            List<String> distinctOwners = owners.stream().distinct().toList();
+            if (distinctOwners.size() > properties.getMaxOwners()) {
+                throw new IllegalArgumentException("At most " + properties.getMaxOwners() + " owners can be listed at once");
+            }
+            for (String owner : distinctOwners) {
+                int shard = shards.shardOf(owner);
+                branches.add(branch("tickets-" + owner, shard, () -> ticketRepository.findByCreatedByOrderByCreatedAtAsc(owner)));
+                if (includeArchived) {
+                    branches.add(branch("archive-" + owner, shard,
+                        () -> toTickets(archivedTicketRepository.findByCreatedByOrderByCreatedAtAsc(owner))));
+                }
+            }
+        }
+        return queryExecutor.gather(branches, BY_CREATED_AT);
+    }
+
+    private Branch<Ticket> branch(String name, int shard, Supplier<List<Ticket>> query) {
+        return Branch.of(name, () -> shards.on(shard, query));
+    }
+
+    private static List<Ticket> toTickets(List<ArchivedTicket> archived) {
+        return archived.stream().map(ArchivedTicket::toTicket).toList();
+    }
+}
@@ -0,0 +1,208 @@
+package com.ticketapp.service;
+
+import com.ticketapp.config.PartitioningProperties;
+import com.ticketapp.event.TicketChangeEvent;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.sharding.TicketShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains monthly createdAt partitions of the tickets table.
+ * On PostgreSQL the table is natively range-partitioned (see db/postgresql/tickets-partitioned.sql):
+ * partitions are created ahead of time and expired months are removed with DROP TABLE.
+ * Other databases have no native partitioning, so expired months are removed with a single
+ * month-aligned range DELETE over the created_at index. Each shard is purged in a transaction
+ * of its own.
+ */
+@Service
+public class TicketPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketPartitionService.class);
+
+    static final String PARTITION_PREFIX = "tickets_p";
+    static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    static final String DEFAULT_PARTITION = "tickets_default";
+
+    private final TicketRepository ticketRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final PartitioningProperties properties;
+    private final TicketShards shards;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Boolean nativePartitioning;
+
+    public TicketPartitionService(TicketRepository ticketRepository, JdbcTemplate jdbcTemplate,
+                                  CacheManager cacheManager, PartitioningProperties properties,
+                                  TicketShards shards, ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+        this.ticketRepository = ticketRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        this.shards = shards;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.partitioning.cron:0 30 2 * * *}")
+    public void scheduledMaintenance() {
+        if (properties.isEnabled()) {
+            for (int shard = 0; shard < shards.count(); shard++) {
+                shards.run(shard, this::createUpcomingPartitions);
+            }
+            purgeExpiredMonths();
+        }
+    }
+
+    /**
+     * Partitions are also made on startup, so a fresh deployment does not wait for the first
+     * nightly run with the current month's tickets piling up in the default partition
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPartitionsOnStartup() {
+        if (properties.isEnabled()) {
+            for (int shard = 0; shard < shards.count(); shard++) {
+                shards.run(shard, this::createUpcomingPartitions);
+            }
+        }
+    }
+
+    /**
+     * Create the current and upcoming monthly partitions (PostgreSQL only).
+     * A month whose tickets already went to the default partition cannot simply be attached, the
+     * default partition would then hold rows of the new range. Those rows are moved into the new
+     * table before it is attached, all in one transaction.
+     */
+    public void createUpcomingPartitions() {
+        if (!isNativePartitioning()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= properties.getPremakeMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            String partition = partitionName(month);
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition)) {
+                continue;
+            }
+            String from = "'" + month.atDay(1) + "'";
+            String to = "'" + month.plusMonths(1).atDay(1) + "'";
+            String inRange = " WHERE created_at >= " + from + " AND created_at < " + to;
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE tickets INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, DEFAULT_PARTITION)) {
+                    jdbcTemplate.execute("INSERT INTO " + partition + " SELECT * FROM " + DEFAULT_PARTITION + inRange);
+                    jdbcTemplate.execute("DELETE FROM " + DEFAULT_PARTITION + inRange);
+                }
+                jdbcTemplate.execute("ALTER TABLE tickets ATTACH PARTITION " + partition
+                    + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+            });
+            log.info("Created ticket partition {}", partition);
+        }
+    }
+
+    /**
+     * Remove every month older than the retention period from every shard.
+     * Whole partitions are dropped where the database supports it, and whatever remains before
+     * the boundary (the default partition, or the whole table without native partitioning)
+     * is removed with one range DELETE. Nothing reads the removed rows, so a shard that lost any
+     * announces them with a single PURGED event and has the tickets cache cleared after commit.
+     * @return the number of rows deleted by the range DELETEs
+     */
+    public int purgeExpiredMonths() {
+        YearMonth boundaryMonth = retentionBoundary(LocalDate.now(), properties.getRetentionMonths());
+        int deleted = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            deleted += shards.on(shard, () -> transactionTemplate.execute(status -> purgeShard(boundaryMonth)));
+        }
+        return deleted;
+    }
+
+    private int purgeShard(YearMonth boundaryMonth) {
+        int dropped = 0;
+        if (isNativePartitioning()) {
+            for (String partition : expiredPartitions(boundaryMonth)) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Dropped expired ticket partition {}", partition);
+                dropped++;
+            }
+        }
+        int deleted = ticketRepository.deleteCreatedBefore(boundaryMonth.atDay(1).atStartOfDay());
+
+        if (dropped > 0 || deleted > 0) {
+            clearCacheAfterCommit();
+            eventPublisher.publishEvent(TicketChangeEvent.purged());
+        }
+        return deleted;
+    }
+
+    /**
+     * First month that is kept when retaining the given number of whole months before the current one
+     */
+    static YearMonth retentionBoundary(LocalDate today, int retentionMonths) {
+        return YearMonth.from(today).minusMonths(retentionMonths);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private List<String> expiredPartitions(YearMonth boundaryMonth) {
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'tickets'", String.class);
+
+        List<String> expired = new ArrayList<>();
+        for (String partition : partitions) {
+            if (partition.startsWith(PARTITION_PREFIX)
+                    && partition.compareTo(partitionName(boundaryMonth)) < 0) {
+                expired.add(partition);
+            }
+        }
+        return expired;
+    }
+
+    private boolean isNativePartitioning() {
+        if (nativePartitioning == null) {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            nativePartitioning = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return nativePartitioning;
+    }
+
+    // The owner index follows the PURGED event; the cache has no listener, so it is cleared here
+    private void clearCacheAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Cache ticketsCache = cacheManager.getCache("tickets");
+                if (ticketsCache != null) {
+                    ticketsCache.clear();
+                }
+            }
+        });
+    }
+}
@@ -1,55 +1,318 @@
 package com.ticketapp.service;
 
+import com.ticketapp.event.TicketChangeEvent;
+import com.ticketapp.index.LongSets;
+import com.ticketapp.index.OwnerTicketIndex;
 import com.ticketapp.model.Ticket;
 import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.sharding.TicketShards;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class TicketService {
+    /**
+     * Fields that can be changed through a partial update
+     */
+    public static final Set<String> PATCHABLE_FIELDS = Set.of("title", "description", "status", "priority");
+
+    // Ids bound per IN query, well below PostgreSQL's limit of 32767 bind parameters
+    static final int IDS_PER_QUERY = 1000;
+
     private final TicketRepository ticketRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OwnerTicketIndex ownerTicketIndex;
+    private final TicketShards shards;
 
     @Autowired
-    public TicketService(TicketRepository ticketRepository) {
+    public TicketService(TicketRepository ticketRepository, CacheManager cacheManager,
+                         ApplicationEventPublisher eventPublisher, OwnerTicketIndex ownerTicketIndex,
+                         TicketShards shards) {
         this.ticketRepository = ticketRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.ownerTicketIndex = ownerTicketIndex;
+        this.shards = shards;
     }
 
     public Ticket createTicket(Ticket ticket) {
-        return ticketRepository.save(ticket);
+        Ticket saved = shards.on(shards.shardOf(ticket.getCreatedBy()), () -> ticketRepository.save(ticket));
+        eventPublisher.publishEvent(TicketChangeEvent.created(saved));
+        return saved;
     }
 
-    public List<Ticket> getAllTickets() {
-        return ticketRepository.findAll();
+    /**
+     * Get tickets created in [from, to) for reporting.
+     * The range is applied directly to createdAt so partitioned tables only scan the months it covers.
+     */
+    public List<Ticket> getTicketsCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return shards.gather(
+            () -> ticketRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtAsc(from, to),
+            Comparator.comparingLong(Ticket::getCreatedAtMicros).thenComparing(Ticket::getId));
     }
 
-    @Cacheable(value = "tickets", key = "#id")
+    // Read-write so the cache is loaded from the primary, never from a replica that has not seen the last write yet
+    @Transactional
+    @Cacheable(value = "tickets", key = "#id", sync = true)
     public Ticket getTicketById(Long id) {
-        Optional<Ticket> ticket = ticketRepository.findById(id);
+        Optional<Ticket> ticket = shards.on(shards.shardOfTicket(id), () -> ticketRepository.findById(id));
         return ticket.orElseThrow(() -> new RuntimeException("Ticket not found with id: " + id));
     }
 
+    /**
+     * Get a ticket only if it was created by the given user.
+     * A cached ticket is checked in memory, otherwise ownership is part of the query,
+     * so a lookup of someone else's ticket never loads the row. Read on the primary, since a found
+     * ticket goes into the cache.
+     */
+    @Transactional
+    public Optional<Ticket> getTicketByIdForOwner(Long id, String createdBy) {
+        Cache ticketsCache = cacheManager.getCache("tickets");
+        Ticket cached = ticketsCache != null ? ticketsCache.get(id, Ticket.class) : null;
+        if (cached != null) {
+            return cached.getCreatedBy().equals(createdBy) ? Optional.of(cached) : Optional.empty();
+        }
+
+        Optional<Ticket> ticket = shards.on(shards.shardOfTicket(id), () -> ticketRepository.findByIdAndCreatedBy(id, createdBy));
+        if (ticketsCache != null) {
+            ticket.ifPresent(found -> ticketsCache.put(id, found));
+        }
+        return ticket;
+    }
+
+    /**
+     * Whether the ticket exists, checked on the primary so a ticket the replica has not caught up with is found
+     */
+    public boolean ticketExists(Long id) {
+        return !shards.on(shards.shardOfTicket(id), () -> ticketRepository.findExistingIds(List.of(id))).isEmpty();
+    }
+
+    /**
+     * Update any ticket.
+     * @return the updated ticket, or empty if the ticket does not exist
+     */
+    @Transactional
+    @CacheEvict(value = "tickets", key = "#id")
+    public Optional<Ticket> updateTicket(Long id, Ticket ticketDetails) {
+        return shards.on(shards.shardOfTicket(id), () -> doUpdateTicket(id, ticketDetails));
+    }
+
+    private Optional<Ticket> doUpdateTicket(Long id, Ticket ticketDetails) {
+        Ticket previous = peekCachedTicket(id);
+        int updated = ticketRepository.updateTicketFields(id,
+            ticketDetails.getTitle(), ticketDetails.getDescription(),
+            ticketDetails.getStatus(), ticketDetails.getPriority());
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        Optional<Ticket> ticket = ticketRepository.findById(id);
+        ticket.ifPresent(found -> publishUpdate(id, found.getCreatedBy(), previous, ticketDetails));
+        return ticket;
+    }
+
+    /**
+     * Update a ticket only if it was created by the given user.
+     * Ownership is checked by the UPDATE itself, so no read precedes the write.
+     * @return the updated ticket, or empty if the ticket does not exist or belongs to someone else
+     */
+    @Transactional
     @CacheEvict(value = "tickets", key = "#id")
-    public Ticket updateTicket(Long id, Ticket ticketDetails) {
-        Ticket ticket = getTicketById(id);
-        ticket.setTitle(ticketDetails.getTitle());
-        ticket.setDescription(ticketDetails.getDescription());
-        ticket.setStatus(ticketDetails.getStatus());
-        ticket.setPriority(ticketDetails.getPriority());
-        return ticketRepository.save(ticket);
+    public Optional<Ticket> updateOwnedTicket(Long id, String createdBy, Ticket ticketDetails) {
+        return shards.on(shards.shardOfTicket(id), () -> doUpdateOwnedTicket(id, createdBy, ticketDetails));
+    }
+
+    private Optional<Ticket> doUpdateOwnedTicket(Long id, String createdBy, Ticket ticketDetails) {
+        Ticket previous = peekCachedTicket(id);
+        int updated = ticketRepository.updateOwnedTicketFields(id, createdBy,
+            ticketDetails.getTitle(), ticketDetails.getDescription(),
+            ticketDetails.getStatus(), ticketDetails.getPriority());
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        publishUpdate(id, createdBy, previous, ticketDetails);
+        return ticketRepository.findById(id);
+    }
+
+    // The cached copy, if any, is the cheapest previous version to diff an overwrite against
+    private Ticket peekCachedTicket(Long id) {
+        Cache ticketsCache = cacheManager.getCache("tickets");
+        return ticketsCache != null ? ticketsCache.get(id, Ticket.class) : null;
+    }
+
+    private void publishUpdate(Long id, String createdBy, Ticket previous, Ticket ticketDetails) {
+        Map<String, String> newValues = new LinkedHashMap<>();
+        newValues.put("title", ticketDetails.getTitle());
+        newValues.put("description", ticketDetails.getDescription());
+        newValues.put("status", ticketDetails.getStatus());
+        newValues.put("priority", ticketDetails.getPriority());
+        eventPublisher.publishEvent(TicketChangeEvent.updated(id, createdBy, previous, newValues));
+    }
+
+    /**
+     * Apply a partial update to any ticket.
+     * Only the supplied fields are changed, and with dynamic update the SQL only touches changed columns.
+     */
+    @Transactional
+    public Optional<Ticket> patchTicket(Long id, Map<String, String> changes) {
+        return applyPatch(id, shards.on(shards.shardOfTicket(id), () -> ticketRepository.findById(id)), changes);
+    }
+
+    /**
+     * Apply a partial update to a ticket only if it was created by the given user.
+     * @return the patched ticket, or empty if the ticket does not exist or belongs to someone else
+     */
+    @Transactional
+    public Optional<Ticket> patchOwnedTicket(Long id, String createdBy, Map<String, String> changes) {
+        return applyPatch(id, shards.on(shards.shardOfTicket(id), () -> ticketRepository.findByIdAndCreatedBy(id, createdBy)),
+            changes);
+    }
+
+    private Optional<Ticket> applyPatch(Long id, Optional<Ticket> ticket, Map<String, String> changes) {
+        ticket.ifPresent(found -> {
+            eventPublisher.publishEvent(TicketChangeEvent.updated(id, found.getCreatedBy(), found, changes));
+            applyChanges(found, changes);
+            // Replace a cached copy with the patched entity once the change is committed instead of
+            // evicting it. The cached instance is shared with readers, so it is never changed in place.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    Cache ticketsCache = cacheManager.getCache("tickets");
+                    if (ticketsCache != null && ticketsCache.get(id) != null) {
+                        ticketsCache.put(id, found);
+                    }
+                }
+            });
+        });
+        return ticket;
+    }
+
+    private static void applyChanges(Ticket ticket, Map<String, String> changes) {
+        changes.forEach((field, value) -> {
+            switch (field) {
+                case "title" -> ticket.setTitle(value);
+                case "description" -> ticket.setDescription(value);
+                case "status" -> ticket.setStatus(value);
+                case "priority" -> ticket.setPriority(value);
+                default -> throw new IllegalArgumentException("Field cannot be patched: " + field);
+            }
+        });
     }
 
     @CacheEvict(value = "tickets", key = "#id")
     public void deleteTicket(Long id) {
-        ticketRepository.deleteById(id);
+        Ticket previous = peekCachedTicket(id);
+        shards.run(shards.shardOfTicket(id), () -> ticketRepository.deleteById(id));
+        eventPublisher.publishEvent(TicketChangeEvent.deleted(id, previous != null ? previous.getCreatedBy() : null));
     }
     
-    @Cacheable(value = "userTickets", key = "#createdBy")
+    /**
+     * Resolve tickets by id through the tickets cache, loading the misses from the primary in a
+     * single query. Ids that no longer exist are skipped.
+     */
+    public List<Ticket> getTicketsByIds(long[] ids) {
+        Cache ticketsCache = cacheManager.getCache("tickets");
+        Ticket[] found = new Ticket[ids.length];
+        List<Long> misses = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            found[i] = ticketsCache != null ? ticketsCache.get(ids[i], Ticket.class) : null;
+            if (found[i] == null) {
+                misses.add(ids[i]);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<Long, Ticket> loaded = new HashMap<>();
+            for (Ticket ticket : findAllById(misses)) {
+                loaded.put(ticket.getId(), ticket);
+                if (ticketsCache != null) {
+                    ticketsCache.put(ticket.getId(), ticket);
+                }
+            }
+            for (int i = 0; i < ids.length; i++) {
+                if (found[i] == null) {
+                    found[i] = loaded.get(ids[i]);
+                }
+            }
+        }
+
+        List<Ticket> tickets = new ArrayList<>(ids.length);
+        for (Ticket ticket : found) {
+            if (ticket != null) {
+                tickets.add(ticket);
+            }
+        }
+        return tickets;
+    }
+
+    // One query per shard the ids live on and per IDS_PER_QUERY of them
+    private List<Ticket> findAllById(List<Long> ids) {
+        if (shards.count() == 1) {
+            return inChunks(ids, ticketRepository::findAllForCache);
+        }
+        Map<Integer, List<Long>> idsByShard = new HashMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(shards.shardOfTicket(id), shard -> new ArrayList<>()).add(id);
+        }
+        List<Ticket> tickets = new ArrayList<>(ids.size());
+        idsByShard.forEach((shard, shardIds) -> tickets.addAll(shards.on(shard, () -> inChunks(shardIds, ticketRepository::findAllForCache))));
+        return tickets;
+    }
+
+    private static <T> List<T> inChunks(List<Long> ids, Function<List<Long>, List<T>> query) {
+        if (ids.size() <= IDS_PER_QUERY) {
+            return query.apply(ids);
+        }
+        List<T> results = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+            results.addAll(query.apply(ids.subList(from, Math.min(from + IDS_PER_QUERY, ids.size()))));
+        }
+        return results;
+    }
+
+    /**
+     * Get the tickets created by a user.
+     * The ids come from the owner index, which is loaded with an id-only query on first use,
+     * and the tickets themselves from the tickets cache.
+     */
     public List<Ticket> getTicketsByCreatedBy(String createdBy) {
-        return ticketRepository.findByCreatedBy(createdBy);
+        long[] ids = ownerTicketIndex.get(createdBy);
+        if (ids == null) {
+            long stamp = ownerTicketIndex.stamp(createdBy);
+            List<Long> loaded = shards.on(shards.shardOf(createdBy), () -> ticketRepository.findIdsByCreatedBy(createdBy));
+            ids = ownerTicketIndex.load(createdBy, loaded.stream().mapToLong(Long::longValue).toArray(), stamp);
+        }
+
+        List<Ticket> tickets = getTicketsByIds(ids);
+        if (tickets.size() < ids.length) {
+            // Deleted or archived without a known owner, so the index only learns about it here.
+            // A lagging read replica can miss new tickets too, so only drop ids the primary no longer has.
+            long[] resolved = LongSets.of(tickets.stream().mapToLong(Ticket::getId).toArray());
+            List<Long> unresolved = Arrays.stream(ids).filter(id -> !LongSets.contains(resolved, id)).boxed().toList();
+            List<Long> stillExisting = shards.on(shards.shardOf(createdBy), () -> inChunks(unresolved, ticketRepository::findExistingIds));
+            long[] existing = LongSets.of(stillExisting.stream().mapToLong(Long::longValue).toArray());
+            ownerTicketIndex.removeAll(createdBy, unresolved.stream().mapToLong(Long::longValue)
+                .filter(id -> !LongSets.contains(existing, id)).toArray());
+        }
+        return tickets;
     }
 }
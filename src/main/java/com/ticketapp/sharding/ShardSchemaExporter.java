@@ -0,0 +1,42 @@
+package com.ticketapp.sharding;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import java.util.Set;
+
+/**
+ * Hibernate only generates the schema on the shard it happens to connect to at startup, shard 0.
+ * When it generates the schema at all (ddl-auto create or create-drop), this repeats the export on
+ * every other shard right after the EntityManagerFactory is built, before anything queries them.
+ */
+public class ShardSchemaExporter implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaExporter.class);
+
+    private static final Set<String> CREATING_ACTIONS = Set.of("create", "create-drop", "drop-and-create");
+
+    private final TicketShards shards;
+
+    public ShardSchemaExporter(TicketShards shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractEntityManagerFactoryBean factory) {
+            Object action = factory.getJpaPropertyMap().get("hibernate.hbm2ddl.auto");
+            if (action != null && CREATING_ACTIONS.contains(action.toString())) {
+                SessionFactory sessionFactory = factory.getNativeEntityManagerFactory().unwrap(SessionFactory.class);
+                for (int shard = 1; shard < shards.count(); shard++) {
+                    shards.run(shard, () -> sessionFactory.getSchemaManager().exportMappedObjects(false));
+                }
+                log.info("Exported the schema to {} more shards", shards.count() - 1);
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ticketapp.sharding;
+
+import com.ticketapp.id.IdLayout;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Places tickets on shards by a hash of their owner's SID and runs work on a chosen shard.
+ *
+ * The shard is held in a thread local read by {@link ShardRoutingDataSource} when a transaction
+ * issues its first statement, so {@link #on(int, Supplier)} must wrap that first statement, and
+ * a transaction stays on its shard until it ends. With a single shard everything runs as is.
+ * The owner hash depends on the shard count, so the count cannot change once tickets exist.
+ */
+public class TicketShards {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int count;
+
+    public TicketShards(int count) {
+        if (count < 1 || count > IdLayout.MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + IdLayout.MAX_SHARDS + ": " + count);
+        }
+        this.count = count;
+    }
+
+    public static TicketShards single() {
+        return new TicketShards(1);
+    }
+
+    /**
+     * Shard the current thread's work is routed to, 0 when none was chosen
+     */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Shard holding the tickets of an owner
+     */
+    public int shardOf(String owner) {
+        if (count == 1) {
+            return 0;
+        }
+        int hash = owner.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), count);
+    }
+
+    /**
+     * Shard holding a ticket. An id naming a shard that does not exist cannot be found anywhere,
+     * so it is sent to some shard to come back as not found.
+     */
+    public int shardOfTicket(long id) {
+        return count == 1 ? 0 : IdLayout.shardOf(id) % count;
+    }
+
+    public <T> T on(int shard, Supplier<T> work) {
+        if (count == 1) {
+            return work.get();
+        }
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public void run(int shard, Runnable work) {
+        on(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a query on every shard and merge the results.
+     * Each shard needs its own transaction, so this cannot be called inside one.
+     * @param order order of each shard's results to merge by, or null to concatenate them
+     */
+    public <T> List<T> gather(Supplier<List<T>> query, Comparator<? super T> order) {
+        if (count == 1) {
+            return query.get();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot query all shards from inside a transaction");
+        }
+        List<T> merged = new ArrayList<>();
+        for (int shard = 0; shard < count; shard++) {
+            merged.addAll(on(shard, query));
+        }
+        if (order != null) {
+            // Sorted runs, which the list sort merges in near-linear time
+            merged.sort(order);
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,37 @@
+-- Monthly range-partitioned tickets table for PostgreSQL.
+-- Apply instead of letting Hibernate create the table (spring.jpa.hibernate.ddl-auto=none).
+-- Monthly partitions are created ahead of time and dropped after the retention period
+-- by TicketPartitionService when app.partitioning.enabled=true.
+
+CREATE TABLE IF NOT EXISTS tickets (
+    id          BIGSERIAL     NOT NULL,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000) NOT NULL,
+    status      VARCHAR(255)  NOT NULL,
+    priority    VARCHAR(255)  NOT NULL,
+    created_by  VARCHAR(255)  NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    closed_at   TIMESTAMP(6),
+    -- The partition key has to be part of the primary key
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- The current month and the three after it, matching app.partitioning.premake-months, so new
+-- tickets never land in the default partition before the first maintenance run
+DO $$
+DECLARE
+    first_month DATE := date_trunc('month', CURRENT_DATE);
+    month_start DATE;
+BEGIN
+    FOR i IN 0..3 LOOP
+        month_start := first_month + make_interval(months => i);
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF tickets FOR VALUES FROM (%L) TO (%L)',
+            'tickets_p' || to_char(month_start, 'YYYYMM'), month_start, month_start + make_interval(months => 1));
+    END LOOP;
+END $$;
+
+-- Catches rows outside the pre-created monthly range so inserts never fail
+CREATE TABLE IF NOT EXISTS tickets_default PARTITION OF tickets DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_created_at ON tickets (created_at);
+CREATE INDEX IF NOT EXISTS idx_tickets_closed_at ON tickets (closed_at);
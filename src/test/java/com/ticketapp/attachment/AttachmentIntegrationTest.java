@@ -0,0 +1,317 @@
+package com.ticketapp.attachment;
+
+import com.ticketapp.model.Attachment;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.ArchivedTicketRepository;
+import com.ticketapp.repository.AttachmentRepository;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.service.TicketArchiveService;
+import com.ticketapp.service.TicketService;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Attachments run on their own database and blob directory, so no other test context sees them
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:attachment-test",
+    "app.security.mock-jwt=false",
+    "spring.security.oauth2.resourceserver.jwt.jwk-set-uri=https://mock-oidc-provider.com/.well-known/jwks.json",
+    "app.attachments.directory=target/attachment-test",
+    "app.attachments.max-file-size=1KB",
+    "app.attachments.ticket-quota=2KB"
+})
+@DisplayName("Attachment Integration Tests")
+class AttachmentIntegrationTest {
+
+    private static final Path BLOBS = Path.of("target/attachment-test");
+    private static final byte[] LOG = "2026-10-19 12:00:01 ERROR Printer on fire\n".repeat(10).getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketArchiveService ticketArchiveService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        attachmentRepository.deleteAll();
+        ticketRepository.deleteAll();
+        archivedTicketRepository.deleteAll();
+        FileSystemUtils.deleteRecursively(BLOBS);
+    }
+
+    @Test
+    @DisplayName("Should let the owner upload an attachment and download it, whole or by range")
+    void shouldUploadAndDownloadByRange() throws Exception {
+        // Given
+        Ticket ticket = saveTicket("user123");
+        String location = mockMvc.perform(post("/api/tickets/{id}/attachments", ticket.getId())
+                .with(user("user123"))
+                .param("fileName", "logs/app.log")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(LOG))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.fileName").value("app.log"))
+            .andExpect(jsonPath("$.size").value(LOG.length))
+            .andExpect(jsonPath("$.uploadedBy").value("user123"))
+            .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        // When / Then
+        mockMvc.perform(get(location).with(user("user123")))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"app.log\""))
+            .andExpect(content().bytes(LOG));
+        mockMvc.perform(get(location).with(user("user123")).header(HttpHeaders.RANGE, "bytes=20-24"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 20-24/" + LOG.length))
+            .andExpect(content().string("ERROR"));
+        mockMvc.perform(get(location).with(user("user123")).header(HttpHeaders.RANGE, "bytes=-6"))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().string(" fire\n"));
+        mockMvc.perform(get(location).with(user("user123")).header(HttpHeaders.RANGE, "bytes=" + LOG.length + "-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + LOG.length));
+        mockMvc.perform(get(location).with(user("someone-else")))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should store identical content once and delete it with its last attachment")
+    void shouldDeduplicateContent() throws Exception {
+        // Given
+        Ticket first = saveTicket("user123");
+        Ticket second = saveTicket("user456");
+
+        // When
+        Attachment one = upload(first, LOG);
+        Attachment other = upload(second, LOG);
+
+        // Then
+        assertThat(one.getSha256()).isEqualTo(other.getSha256());
+        assertThat(blobFiles()).hasSize(1);
+        assertThat(attachmentService.delete(first.getId(), one.getId())).isTrue();
+        assertThat(blobFiles()).hasSize(1);
+        ticketService.deleteTicket(second.getId());
+        assertThat(attachmentRepository.count()).isZero();
+        assertThat(blobFiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the attachments of an archived ticket readable and read-only")
+    void shouldKeepAttachmentsOfArchivedTicket() throws Exception {
+        // Given
+        Ticket ticket = saveTicket("user123");
+        ticket.setStatus("CLOSED");
+        ticket.setClosedAt(LocalDateTime.now().minusDays(365));
+        ticketRepository.save(ticket);
+        Attachment attachment = upload(ticket, LOG);
+
+        // When
+        int archived = ticketArchiveService.archiveClosedTickets();
+
+        // Then
+        assertThat(archived).isEqualTo(1);
+        assertThat(attachmentRepository.count()).isEqualTo(1);
+        assertThat(blobFiles()).hasSize(1);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            assertThat(archivedTicketRepository.findById(ticket.getId()).orElseThrow().getAttachments())
+                .extracting(Attachment::getId).containsExactly(attachment.getId()));
+        mockMvc.perform(get("/api/tickets/{id}/attachments/{attachmentId}", ticket.getId(), attachment.getId())
+                .with(user("user123")))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(LOG));
+        mockMvc.perform(get("/api/tickets/{id}/attachments", ticket.getId()).with(support()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(attachment.getId()));
+        mockMvc.perform(get("/api/tickets/{id}/attachments", ticket.getId()).with(user("someone-else")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/tickets/{id}/attachments/{attachmentId}", ticket.getId(), attachment.getId())
+                .with(user("user123")))
+            .andExpect(status().isForbidden());
+        assertThat(attachmentRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject attachments over the file size limit or the ticket quota and keep nothing")
+    void shouldEnforceQuotas() throws Exception {
+        // Given
+        Ticket ticket = saveTicket("user123");
+        upload(ticket, new byte[1000]);
+        upload(ticket, new byte[999]);
+
+        // When / Then: an undeclared size is caught while streaming, a declared one before reading
+        assertThatThrownBy(() -> upload(ticket, new byte[100]))
+            .isInstanceOf(QuotaExceededException.class);
+        assertThatThrownBy(() -> attachmentService.upload(ticket.getId(), "big.bin", "application/octet-stream",
+            5000, InputStream.nullInputStream(), "user123"))
+            .isInstanceOf(QuotaExceededException.class);
+        mockMvc.perform(post("/api/tickets/{id}/attachments", saveTicket("user123").getId())
+                .with(user("user123"))
+                .param("fileName", "big.bin")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[1025]))
+            .andExpect(status().isPayloadTooLarge());
+        assertThat(attachmentRepository.count()).isEqualTo(2);
+        try (Stream<Path> incoming = Files.list(BLOBS.resolve("incoming"))) {
+            assertThat(incoming).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not hold up other attachments of the same content while an upload waits for its ticket")
+    void shouldNotHoldContentLockWhileWaitingForTicket() throws Exception {
+        // Given
+        Ticket first = saveTicket("user123");
+        Ticket second = saveTicket("user123");
+        Attachment existing = upload(first, LOG);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch deleted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> lockHolder = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                ticketRepository.lockById(second.getId());
+                locked.countDown();
+                try {
+                    return deleted.await(500, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            locked.await();
+            Future<Attachment> waiting = executor.submit(() -> upload(second, LOG));
+            Thread.sleep(100);
+
+            // When
+            attachmentService.delete(first.getId(), existing.getId());
+            deleted.countDown();
+
+            // Then
+            assertThat(lockHolder.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(waiting.get(5, TimeUnit.SECONDS).getSha256()).isEqualTo(existing.getSha256());
+            assertThat(blobFiles()).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer staff with 404 for the attachments of a ticket that does not exist")
+    void shouldNotFindAttachmentsOfMissingTicket() throws Exception {
+        // Given
+        Ticket ticket = saveTicket("user123");
+        upload(ticket, LOG);
+
+        // When / Then
+        mockMvc.perform(get("/api/tickets/{id}/attachments", ticket.getId()).with(support()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].fileName").value("upload.bin"));
+        mockMvc.perform(get("/api/tickets/{id}/attachments", ticket.getId() + 1).with(support()))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tickets/{id}/attachments", ticket.getId() + 1).with(user("user123")))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should load a ticket's attachments only when they are accessed")
+    void shouldLoadAttachmentsLazily() throws Exception {
+        // Given
+        Ticket saved = saveTicket("user123");
+        upload(saved, LOG);
+
+        // When / Then
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Ticket ticket = ticketRepository.findById(saved.getId()).orElseThrow();
+            assertThat(Hibernate.isInitialized(ticket.getAttachments())).isFalse();
+            assertThat(ticket.getAttachments()).extracting(Attachment::getFileName).containsExactly("upload.bin");
+        });
+        mockMvc.perform(get("/api/tickets/{id}", saved.getId()).with(user("user123")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.attachments").doesNotExist());
+    }
+
+    private Attachment upload(Ticket ticket, byte[] content) throws Exception {
+        return attachmentService.upload(ticket.getId(), "upload.bin", "application/octet-stream", -1,
+            new ByteArrayInputStream(content), ticket.getCreatedBy()).orElseThrow();
+    }
+
+    private List<Path> blobFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(BLOBS)) {
+            return files.filter(Files::isRegularFile).filter(file -> !file.startsWith(BLOBS.resolve("incoming"))).toList();
+        }
+    }
+
+    private Ticket saveTicket(String createdBy) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Printer on fire");
+        ticket.setDescription("Logs attached");
+        ticket.setCreatedBy(createdBy);
+        return ticketRepository.save(ticket);
+    }
+
+    private static RequestPostProcessor user(String sid) {
+        return jwt().jwt(jwt -> jwt.claim("SID", sid).claim("roles", List.of("USER")));
+    }
+
+    private static RequestPostProcessor support() {
+        return jwt().jwt(jwt -> jwt.claim("SID", "agent1").claim("roles", List.of("SUPPORT")));
+    }
+}
@@ -0,0 +1,194 @@
+package com.ticketapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketapp.TicketAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Page-load latency of the Angular app's startup fan-out (index.html, then its scripts and
+ * stylesheet, /api/tickets/my and a few /api/tickets/{id} in parallel) against the default
+ * connector and against the http2 profile.
+ *
+ * Each simulated browser has its own HttpClient. Over HTTP/1.1 it keeps at most 6 requests in
+ * flight, like browsers do per host; over HTTP/2 (h2c) everything is multiplexed on one
+ * connection. Both runs send Accept-Encoding: gzip. The app is started in-process for each run
+ * with rate limiting and request logging turned off.
+ *
+ * Run with: mvn test-compile exec:exec -Dbenchmark=FrontendFanOutBenchmark
+ *           [-Dbenchmark.args="browsers pageLoads"]
+ */
+public class FrontendFanOutBenchmark {
+
+    private static final int HTTP1_CONNECTIONS_PER_HOST = 6;
+    private static final int TICKETS_PER_USER = 5;
+    private static final Pattern ASSET = Pattern.compile("(?:src|href)=\"([^\"]+\\.(?:js|css))\"");
+
+    private final String baseUrl;
+    private final HttpClient.Version version;
+
+    // Ids of each user's seeded tickets, as returned by the API
+    private long[][] ticketIds;
+
+    private FrontendFanOutBenchmark(int port, HttpClient.Version version) {
+        this.baseUrl = "http://localhost:" + port;
+        this.version = version;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int browsers = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int pageLoads = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        long[] http1 = run("default", HttpClient.Version.HTTP_1_1, browsers, pageLoads);
+        long[] http2 = run("http2", HttpClient.Version.HTTP_2, browsers, pageLoads);
+
+        System.out.printf("%n%d browsers x %d page loads%n", browsers, pageLoads);
+        System.out.printf("%-24s %8s %8s %8s %8s%n", "", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        print("HTTP/1.1, default", http1);
+        print("h2c, http2 profile", http2);
+    }
+
+    private static long[] run(String profile, HttpClient.Version version, int browsers, int pageLoads) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketAppApplication.class)
+            .profiles(profile)
+            .run(
+                "--server.port=0",
+                "--app.rate-limit.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.ticketapp=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.security=WARN");
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            FrontendFanOutBenchmark benchmark = new FrontendFanOutBenchmark(port, version);
+            benchmark.seed(browsers);
+            // Warm up the JIT and connection handling before measuring
+            benchmark.measure(browsers, Math.max(1, pageLoads / 4));
+            long[] latencies = benchmark.measure(browsers, pageLoads);
+            Arrays.sort(latencies);
+            return latencies;
+        } finally {
+            context.close();
+        }
+    }
+
+    private void seed(int users) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        ObjectMapper objectMapper = new ObjectMapper();
+        ticketIds = new long[users][TICKETS_PER_USER];
+        for (int user = 0; user < users; user++) {
+            for (int i = 0; i < TICKETS_PER_USER; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tickets"))
+                    .header("Authorization", token(user))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"title\":\"Ticket " + i + "\",\"description\":\"Seeded for the fan-out benchmark\",\"priority\":\"HIGH\"}"))
+                    .build();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 201) {
+                    throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+                }
+                ticketIds[user][i] = objectMapper.readTree(response.body()).get("id").asLong();
+            }
+        }
+    }
+
+    private long[] measure(int browsers, int pageLoads) throws Exception {
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int browser = 0; browser < browsers; browser++) {
+                int user = browser;
+                results.add(executor.submit(() -> browse(user, pageLoads)));
+            }
+        }
+        long[] latencies = new long[browsers * pageLoads];
+        int i = 0;
+        for (Future<long[]> result : results) {
+            for (long latency : result.get()) {
+                latencies[i++] = latency;
+            }
+        }
+        return latencies;
+    }
+
+    private long[] browse(int user, int pageLoads) throws Exception {
+        try (HttpClient client = HttpClient.newBuilder().version(version).build()) {
+            Semaphore inFlight = new Semaphore(version == HttpClient.Version.HTTP_1_1 ? HTTP1_CONNECTIONS_PER_HOST : Integer.MAX_VALUE);
+            long[] latencies = new long[pageLoads];
+            for (int load = 0; load < pageLoads; load++) {
+                long start = System.nanoTime();
+                pageLoad(client, inFlight, user);
+                latencies[load] = System.nanoTime() - start;
+            }
+            return latencies;
+        }
+    }
+
+    private void pageLoad(HttpClient client, Semaphore inFlight, int user) throws Exception {
+        String index = client.send(get("/", null), HttpResponse.BodyHandlers.ofString()).body();
+
+        Set<String> paths = new LinkedHashSet<>();
+        Matcher assets = ASSET.matcher(index);
+        while (assets.find()) {
+            paths.add("/" + assets.group(1));
+        }
+        paths.add("/api/tickets/my");
+        for (long id : ticketIds[user]) {
+            paths.add("/api/tickets/" + id);
+        }
+
+        List<CompletableFuture<?>> responses = new ArrayList<>();
+        for (String path : paths) {
+            String authorization = path.startsWith("/api/") ? token(user) : null;
+            inFlight.acquire();
+            responses.add(client.sendAsync(get(path, authorization), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private HttpRequest get(String path, String authorization) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Accept-Encoding", "gzip");
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return builder.GET().build();
+    }
+
+    private static String token(int user) {
+        return "Bearer mock-user-" + user;
+    }
+
+    private static void print(String label, long[] sortedNanos) {
+        System.out.printf("%-24s %8.2f %8.2f %8.2f %8.2f%n", label,
+            percentile(sortedNanos, 0.50), percentile(sortedNanos, 0.90),
+            percentile(sortedNanos, 0.99), sortedNanos[sortedNanos.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,100 @@
+package com.ticketapp.benchmark;
+
+import com.ticketapp.id.IdLayout;
+import com.ticketapp.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ids per second from the in-process Snowflake generator, in the default 53-bit layout and a
+ * wide 63-bit layout with 1024 ids per millisecond, against fetching each id from an in-memory H2
+ * sequence. The sequence stands in for an identity column, and leaves out the network round trip
+ * a real database adds. The default layout is capped at 16 ids per millisecond and shard, so its
+ * scores show the clock-bound ceiling, for one shard and spread over four, rather than the cost
+ * of the code.
+ *
+ * Run with: mvn test-compile exec:exec -Dbenchmark=IdGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private SnowflakeIdGenerator defaultLayout;
+    private SnowflakeIdGenerator wideLayout;
+    private Connection connection;
+    private int nextShard;
+
+    @Setup
+    public void setUp() throws SQLException {
+        defaultLayout = new SnowflakeIdGenerator(IdLayout.DEFAULT, 1, Duration.ofSeconds(2), System::currentTimeMillis);
+        wideLayout = new SnowflakeIdGenerator(new IdLayout(8, 10), 1, Duration.ofSeconds(2), System::currentTimeMillis);
+        connection = DriverManager.getConnection("jdbc:h2:mem:id-benchmark", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS ticket_ids");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @State(Scope.Thread)
+    public static class SequenceStatement {
+        PreparedStatement statement;
+
+        @Setup
+        public void setUp(IdGeneratorBenchmark benchmark) throws SQLException {
+            statement = benchmark.connection.prepareStatement("SELECT NEXT VALUE FOR ticket_ids");
+        }
+
+        @TearDown
+        public void tearDown() throws SQLException {
+            statement.close();
+        }
+    }
+
+    @Benchmark
+    public long snowflakeDefaultLayout() {
+        return defaultLayout.nextId(0);
+    }
+
+    @Benchmark
+    public long snowflakeDefaultLayoutFourShards() {
+        return defaultLayout.nextId(nextShard++ & 3);
+    }
+
+    @Benchmark
+    public long snowflakeWideLayout() {
+        return wideLayout.nextId(0);
+    }
+
+    @Benchmark
+    public long databaseSequence(SequenceStatement sequence) throws SQLException {
+        try (ResultSet resultSet = sequence.statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(IdGeneratorBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
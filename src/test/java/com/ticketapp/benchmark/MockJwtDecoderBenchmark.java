@@ -0,0 +1,58 @@
+package com.ticketapp.benchmark;
+
+import com.ticketapp.config.TestSecurityConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of decoding a mock token per request, with the decoded-token cache disabled (size 0)
+ * and enabled, for a load test's worth of distinct users. Allocation per call is reported by
+ * the gc profiler.
+ *
+ * Run with: mvn test-compile exec:exec -Dbenchmark=MockJwtDecoderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class MockJwtDecoderBenchmark {
+
+    private static final int USERS = 5000;
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private TestSecurityConfig.MockJwtDecoder decoder;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        decoder = new TestSecurityConfig.MockJwtDecoder(Clock.systemUTC(), cacheSize);
+        tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            tokens[i] = (i % 50 == 0 ? "mock-admin-lt" : "mock-user-lt") + i;
+        }
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(tokens[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MockJwtDecoderBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build()).run();
+    }
+}
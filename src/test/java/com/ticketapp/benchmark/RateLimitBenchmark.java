@@ -0,0 +1,58 @@
+package com.ticketapp.benchmark;
+
+import com.ticketapp.ratelimit.BucketStore;
+import com.ticketapp.ratelimit.StripedBucketStore;
+import com.ticketapp.ratelimit.TokenBucket;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark for the rate limiter's bucket lookup and token CAS.
+ * Eight threads hammer either a few hot buckets (one noisy integration) or many
+ * distinct users. At 50k req/s the per-request budget is 20 µs, so anything in the
+ * sub-microsecond range is negligible next to the request itself.
+ *
+ * Run with: mvn test-compile exec:exec -Dbenchmark=RateLimitBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    @Param({"4", "100000"})
+    private int users;
+
+    private BucketStore store;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        store = new StripedBucketStore(64);
+        keys = new String[users];
+        for (int i = 0; i < users; i++) {
+            keys[i] = "user" + i;
+        }
+    }
+
+    @Benchmark
+    public long resolveAndConsume() {
+        String key = keys[ThreadLocalRandom.current().nextInt(users)];
+        long now = System.nanoTime();
+        // Effectively unlimited so the benchmark measures the CAS path, not rejections
+        TokenBucket bucket = store.resolve(key, () -> new TokenBucket(Long.MAX_VALUE / 2_000_000_000L, 1_000_000_000, now));
+        return bucket.tryConsume(1, now);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimitBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.ticketapp.benchmark;
+
+import com.ticketapp.cache.CacheStore;
+import com.ticketapp.cache.HeapCacheStore;
+import com.ticketapp.cache.OffHeapStore;
+import com.ticketapp.cache.TicketSerializer;
+import com.ticketapp.cache.TieredCacheStore;
+import com.ticketapp.model.Ticket;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap-only versus tiered (bounded heap + off-heap) storage for the tickets cache.
+ * Each fork fills the store with a large working set and then reads it with a skewed key
+ * distribution: 90% of reads go to the hottest 1% of tickets. The GC profiler reports
+ * gc.count and gc.time next to throughput; with the whole set on the heap every young
+ * collection has to trace the full object graph, with the tiered store only the hot tier.
+ *
+ * Run with: mvn test-compile exec:exec -Dbenchmark=TicketCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-XX:MaxDirectMemorySize=1g"})
+public class TicketCacheBenchmark {
+
+    @Param({"heap", "tiered"})
+    private String store;
+
+    @Param({"1000000"})
+    private int tickets;
+
+    private CacheStore cacheStore;
+
+    @Setup
+    public void setUp() {
+        cacheStore = "heap".equals(store)
+            ? new HeapCacheStore(tickets)
+            : new TieredCacheStore<>(tickets / 100, new OffHeapStore(512L << 20), new TicketSerializer());
+        for (long id = 0; id < tickets; id++) {
+            cacheStore.put(id, new CacheStore.Stored(ticket(id), System.nanoTime()));
+        }
+    }
+
+    @Benchmark
+    public Object skewedRead() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextInt(10) < 9 ? random.nextInt(tickets / 100) : random.nextInt(tickets);
+        return cacheStore.get(id);
+    }
+
+    @Benchmark
+    public void write() {
+        long id = ThreadLocalRandom.current().nextInt(tickets);
+        cacheStore.put(id, new CacheStore.Stored(ticket(id), System.nanoTime()));
+    }
+
+    private static Ticket ticket(long id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setDescription("Cannot access the shared drive after the password change, error 0x" + Long.toHexString(id));
+        ticket.setStatus("OPEN");
+        ticket.setPriority("MEDIUM");
+        ticket.setCreatedBy("user" + (id % 5000));
+        ticket.setCreatedAt(LocalDateTime.now());
+        return ticket;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TicketCacheBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
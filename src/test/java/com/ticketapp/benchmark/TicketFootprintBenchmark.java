@@ -0,0 +1,103 @@
+package com.ticketapp.benchmark;
+
+import com.ticketapp.model.Ticket;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Heap retained per cached ticket, with the current Ticket against a field-for-field copy of
+ * its layout before repeated values were shared and createdAt was packed. Each variant is
+ * hydrated like JDBC does, with a fresh object for every column value, and measured as the
+ * growth of the live heap in the class histogram the JVM takes after a full GC
+ * (jcmd GC.class_histogram).
+ *
+ * Run with: mvn test-compile exec:exec -Dbenchmark=TicketFootprintBenchmark
+ *           [-Dbenchmark.args="tickets"]
+ */
+public class TicketFootprintBenchmark {
+
+    private static final String[] STATUSES = {"OPEN", "IN_PROGRESS", "RESOLVED", "CLOSED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private record TicketBefore(Long id, String title, String description, String status, String priority,
+                                String createdBy, LocalDateTime createdAt, LocalDateTime closedAt) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        long bytesBefore = retainedBytesPerTicket(tickets, i -> new TicketBefore(id(i), title(i), description(i),
+            status(i), priority(i), owner(i), createdAt(i), null));
+        long bytesAfter = retainedBytesPerTicket(tickets, i -> {
+            Ticket ticket = new Ticket();
+            ticket.setId(id(i));
+            ticket.setTitle(title(i));
+            ticket.setDescription(description(i));
+            ticket.setStatus(status(i));
+            ticket.setPriority(priority(i));
+            ticket.setCreatedBy(owner(i));
+            ticket.setCreatedAt(createdAt(i));
+            return ticket;
+        });
+
+        System.out.printf("%nHeap per cached ticket, %d tickets%n", tickets);
+        System.out.printf("%-24s %8d bytes%n", "before", bytesBefore);
+        System.out.printf("%-24s %8d bytes (%.2fx as many per heap)%n", "shared and packed", bytesAfter,
+            (double) bytesBefore / bytesAfter);
+    }
+
+    private static long retainedBytesPerTicket(int tickets, IntFunction<Object> hydrate) throws Exception {
+        long baseline = liveHeapBytes();
+        List<Object> cached = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            cached.add(hydrate.apply(i));
+        }
+        long retained = liveHeapBytes() - baseline;
+        Reference.reachabilityFence(cached);
+        return retained / tickets;
+    }
+
+    private static long liveHeapBytes() throws Exception {
+        String histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+            new ObjectName("com.sun.management:type=DiagnosticCommand"), "gcClassHistogram",
+            new Object[]{new String[0]}, new String[]{String[].class.getName()});
+        // The last line reads "Total <instances> <bytes>"
+        String[] total = histogram.strip().lines().reduce((first, second) -> second).orElseThrow().trim().split("\\s+");
+        return Long.parseLong(total[2]);
+    }
+
+    private static Long id(int i) {
+        return 232_152_715_410_176L + i * 16L;
+    }
+
+    private static String title(int i) {
+        return "Printer " + i + " on floor " + i % 12 + " is jammed";
+    }
+
+    private static String description(int i) {
+        return ("Paper jam in tray " + i + " again. ").repeat(4);
+    }
+
+    // Copies, as a JDBC driver returns a new String for every row
+    private static String status(int i) {
+        return new String(STATUSES[i % STATUSES.length]);
+    }
+
+    private static String priority(int i) {
+        return new String(PRIORITIES[i % PRIORITIES.length]);
+    }
+
+    private static String owner(int i) {
+        return "S-1-5-21-3623811015-3361044348-30300820-" + (1000 + i % 1000);
+    }
+
+    private static LocalDateTime createdAt(int i) {
+        return LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(i).plusNanos(i * 1_000L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ticketapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.ticketapp.codec.TicketJsonWriter;
+import com.ticketapp.model.Ticket;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a ticket list response with the ObjectMapper and with {@link TicketJsonWriter},
+ * into a discarding stream so only serialization is measured. Allocation per operation is
+ * reported by the gc profiler (gc.alloc.rate.norm).
+ *
+ * Run with: mvn test-compile exec:exec -Dbenchmark=TicketJsonBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketJsonBenchmark {
+
+    @Param({"100", "10000"})
+    private int tickets;
+
+    private ObjectMapper mapper;
+    private TicketJsonWriter writer;
+    private List<Ticket> list;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        writer = new TicketJsonWriter(mapper.getFactory());
+        list = new ArrayList<>(tickets);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_789);
+        for (long id = 1; id <= tickets; id++) {
+            Ticket ticket = new Ticket();
+            ticket.setId(id);
+            ticket.setTitle("Login issue #" + id);
+            ticket.setDescription("Cannot access my account after the password reset");
+            ticket.setStatus(id % 3 == 0 ? "CLOSED" : "OPEN");
+            ticket.setPriority("HIGH");
+            ticket.setCreatedBy("user" + (id % 500));
+            ticket.setCreatedAt(createdAt.plusSeconds(id));
+            ticket.setClosedAt(id % 3 == 0 ? createdAt.plusDays(1) : null);
+            list.add(ticket);
+        }
+    }
+
+    @Benchmark
+    public void objectMapper() throws IOException {
+        mapper.writeValue(OutputStream.nullOutputStream(), list);
+    }
+
+    @Benchmark
+    public void streamingWriter() throws IOException {
+        writer.write(list, OutputStream.nullOutputStream());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TicketJsonBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build()).run();
+    }
+}
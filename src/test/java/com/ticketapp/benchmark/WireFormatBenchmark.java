@@ -0,0 +1,79 @@
+package com.ticketapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.ticketapp.model.Ticket;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a ticket list as JSON and as CBOR, configured the way the
+ * HTTP message converters are (ISO strings for JSON dates, integer arrays for CBOR).
+ * The payload size of each format is printed during setup.
+ *
+ * Run with: mvn test-compile exec:exec -Dbenchmark=WireFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"1000", "100000"})
+    private int tickets;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private List<Ticket> list;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "json".equals(format)
+            ? JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build()
+            : CBORMapper.builder().findAndAddModules().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        list = new ArrayList<>(tickets);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_000);
+        for (long id = 1; id <= tickets; id++) {
+            Ticket ticket = new Ticket();
+            ticket.setId(id);
+            ticket.setTitle("Login issue #" + id);
+            ticket.setDescription("Cannot access my account after the password reset");
+            ticket.setStatus(id % 3 == 0 ? "CLOSED" : "OPEN");
+            ticket.setPriority("HIGH");
+            ticket.setCreatedBy("user" + (id % 500));
+            ticket.setCreatedAt(createdAt.plusSeconds(id));
+            list.add(ticket);
+        }
+        payload = mapper.writeValueAsBytes(list);
+        System.out.printf("%n%s payload for %d tickets: %d bytes%n", format, tickets, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public Ticket[] decode() throws IOException {
+        return mapper.readValue(payload, Ticket[].class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WireFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,166 @@
+package com.ticketapp.bulk;
+
+import com.ticketapp.model.BulkOperation;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.BulkOperationRepository;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bulk operations run on their own database, so no other test context picks them up
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bulk-test",
+    "app.bulk.chunk-size=2",
+    "app.bulk.poll-interval=PT1H"
+})
+@DisplayName("BulkOperationService Tests")
+class BulkOperationServiceTest {
+
+    private static final BulkOperationRequest CLOSE_OLD_RESOLVED = new BulkOperationRequest(
+        new BulkOperationRequest.Filter("RESOLVED", null, null, Duration.ofDays(30)),
+        new BulkOperationRequest.Change("CLOSED", null));
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @Autowired
+    private BulkOperationRepository bulkOperationRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        bulkOperationRepository.deleteAll();
+        ticketRepository.deleteAll();
+        cacheManager.getCache("tickets").clear();
+    }
+
+    @Test
+    @DisplayName("Should change every matching ticket in chunks and report progress")
+    void shouldChangeMatchingTicketsInChunks() throws Exception {
+        // Given
+        List<Long> matching = IntStream.range(0, 5).mapToObj(i -> saveTicket("RESOLVED", 40).getId()).toList();
+        Ticket recent = saveTicket("RESOLVED", 1);
+        Ticket open = saveTicket("OPEN", 40);
+
+        // When
+        BulkOperationStatus submitted = bulkOperationService.submit(CLOSE_OLD_RESOLVED, "lead");
+        bulkOperationService.resume().get(10, TimeUnit.SECONDS);
+
+        // Then
+        BulkOperationStatus status = bulkOperationService.getStatus(submitted.id()).orElseThrow();
+        assertThat(status.state()).isEqualTo(BulkOperation.State.COMPLETED);
+        assertThat(status.matched()).isEqualTo(5);
+        assertThat(status.processed()).isEqualTo(5);
+        assertThat(status.requestedBy()).isEqualTo("lead");
+        assertThat(status.finishedAt()).isNotNull();
+        assertThat(ticketRepository.findAllById(matching)).allSatisfy(ticket -> {
+            assertThat(ticket.getStatus()).isEqualTo("CLOSED");
+            assertThat(ticket.getClosedAt()).isNotNull();
+            assertThat(ticket.getPriority()).isEqualTo("MEDIUM");
+        });
+        assertThat(ticketRepository.findById(recent.getId()).orElseThrow().getStatus()).isEqualTo("RESOLVED");
+        assertThat(ticketRepository.findById(open.getId()).orElseThrow().getStatus()).isEqualTo("OPEN");
+    }
+
+    @Test
+    @DisplayName("Should evict changed tickets from the cache")
+    void shouldEvictChangedTicketsFromCache() throws Exception {
+        // Given
+        Ticket ticket = saveTicket("RESOLVED", 40);
+        ticketService.getTicketById(ticket.getId());
+        assertThat(cacheManager.getCache("tickets").get(ticket.getId())).isNotNull();
+
+        // When
+        bulkOperationService.submit(CLOSE_OLD_RESOLVED, "lead");
+        bulkOperationService.resume().get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(cacheManager.getCache("tickets").get(ticket.getId())).isNull();
+        assertThat(ticketService.getTicketById(ticket.getId()).getStatus()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted operation from its checkpoint")
+    void shouldResumeFromCheckpoint() throws Exception {
+        // Given an operation that committed its first chunk before the instance went down
+        List<Ticket> tickets = IntStream.range(0, 4).mapToObj(i -> saveTicket("OPEN", 0)).toList();
+        BulkOperation interrupted = new BulkOperation(42L, "OPEN", null, null, null, "LOW", "lead");
+        interrupted.advance(tickets.get(1).getId(), 2);
+        bulkOperationRepository.save(interrupted);
+
+        // When
+        bulkOperationService.resume().get(10, TimeUnit.SECONDS);
+
+        // Then
+        BulkOperationStatus status = bulkOperationService.getStatus(42L).orElseThrow();
+        assertThat(status.state()).isEqualTo(BulkOperation.State.COMPLETED);
+        assertThat(status.processed()).isEqualTo(4);
+        assertThat(ticketRepository.findAllById(tickets.stream().map(Ticket::getId).toList()))
+            .extracting(Ticket::getPriority)
+            .containsExactlyInAnyOrder("MEDIUM", "MEDIUM", "LOW", "LOW");
+    }
+
+    @Test
+    @DisplayName("Should leave tickets alone once an operation is cancelled")
+    void shouldStopCancelledOperation() throws Exception {
+        // Given
+        Ticket ticket = saveTicket("OPEN", 0);
+        bulkOperationRepository.save(new BulkOperation(43L, "OPEN", null, null, "CLOSED", null, "lead"));
+
+        // When
+        BulkOperationStatus cancelled = bulkOperationService.cancel(43L).orElseThrow();
+        bulkOperationService.resume().get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(cancelled.state()).isEqualTo(BulkOperation.State.CANCELLED);
+        assertThat(ticketRepository.findById(ticket.getId()).orElseThrow().getStatus()).isEqualTo("OPEN");
+    }
+
+    @Test
+    @DisplayName("Should reject an operation without a filter or without a change")
+    void shouldRejectUnboundedOperation() {
+        assertThatThrownBy(() -> bulkOperationService.submit(new BulkOperationRequest(
+            new BulkOperationRequest.Filter(null, null, null, null), CLOSE_OLD_RESOLVED.change()), "lead"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bulkOperationService.submit(new BulkOperationRequest(
+            CLOSE_OLD_RESOLVED.filter(), new BulkOperationRequest.Change(null, null)), "lead"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(bulkOperationRepository.count()).isZero();
+    }
+
+    private Ticket saveTicket(String status, int ageDays) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Printer on fire");
+        ticket.setDescription("Smoke coming out of the tray");
+        ticket.setStatus(status);
+        ticket.setCreatedBy("user123");
+        ticket.setCreatedAt(LocalDateTime.now().minusDays(ageDays));
+        return ticketRepository.save(ticket);
+    }
+}
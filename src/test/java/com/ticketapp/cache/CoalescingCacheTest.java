@@ -0,0 +1,195 @@
+package com.ticketapp.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CoalescingCache Tests")
+class CoalescingCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+    private CoalescingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Run refreshes inline so the test can observe them deterministically
+        cache = new CoalescingCache("tickets", Duration.ofSeconds(10), 0.8, Runnable::run, meterRegistry, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should run a single load for concurrent misses on the same key")
+    void shouldCoalesceConcurrentMisses() throws Exception {
+        // Given
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> cache.get(1L, () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            releaseLoader.await();
+            return "ticket-1";
+        })));
+        loaderStarted.await();
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> cache.get(1L, () -> {
+                loads.incrementAndGet();
+                return "duplicate-load";
+            })));
+        }
+        waitForCoalescedCallers(7);
+        releaseLoader.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("ticket-1");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(loadCount("actual")).isEqualTo(1);
+        assertThat(loadCount("coalesced")).isEqualTo(7);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should refresh entries read close to expiry and reload expired ones")
+    void shouldRefreshAheadAndExpire() {
+        // Given
+        cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+        // When - read before the refresh-ahead point
+        clock.set(Duration.ofSeconds(5).toNanos());
+        Object early = cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+        // When - read after 80% of the TTL serves the current value and reloads it
+        clock.set(Duration.ofSeconds(9).toNanos());
+        Object refreshed = cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+        // Then
+        assertThat(early).isEqualTo("v1");
+        assertThat(refreshed).isEqualTo("v1");
+        assertThat(cache.get(1L).get()).isEqualTo("v2");
+        assertThat(loadCount("refresh")).isEqualTo(1);
+
+        // When - the refreshed entry expires
+        clock.set(Duration.ofSeconds(20).toNanos());
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not store a load that was in flight when its key was evicted")
+    void shouldDropLoadStartedBeforeEvict() throws Exception {
+        // Given
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Object> stale = executor.submit(() -> cache.get(1L, () -> {
+            loaderStarted.countDown();
+            releaseLoader.await();
+            return "before-write";
+        }));
+        loaderStarted.await();
+
+        // When - a write evicts the key while the load is still running
+        cache.evict(1L);
+        releaseLoader.countDown();
+
+        // Then - the caller gets its value, the next reader loads again
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("before-write");
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(1L, () -> "after-write")).isEqualTo("after-write");
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should not store a refresh that was in flight when its key was evicted or replaced")
+    void shouldDropRefreshStartedBeforeEvict() {
+        // Given - refreshes are queued instead of run inline
+        List<Runnable> refreshes = new ArrayList<>();
+        cache = new CoalescingCache("tickets", Duration.ofSeconds(10), 0.8, refreshes::add, meterRegistry, clock::get);
+        cache.get(1L, () -> "v1");
+        cache.get(2L, () -> "v1");
+        clock.set(Duration.ofSeconds(9).toNanos());
+        cache.get(1L, () -> "refreshed");
+        cache.get(2L, () -> "refreshed");
+
+        // When
+        cache.evict(1L);
+        cache.put(2L, "written");
+        refreshes.forEach(Runnable::run);
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L).get()).isEqualTo("written");
+    }
+
+    @Test
+    @DisplayName("Should sweep expired entries that are never read again")
+    void shouldSweepExpiredEntries() {
+        // Given
+        HeapCacheStore store = new HeapCacheStore();
+        cache = new CoalescingCache("tickets", store, Duration.ofSeconds(10), 0.8, Runnable::run, meterRegistry, clock::get);
+        cache.get(1L, () -> "old");
+        clock.set(Duration.ofSeconds(5).toNanos());
+        cache.get(2L, () -> "new");
+
+        // When
+        clock.set(Duration.ofSeconds(12).toNanos());
+        cache.evictExpired();
+
+        // Then
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.get(2L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should bound the heap store, evicting entries not read since the last sweep first")
+    void shouldBoundHeapStore() {
+        // Given
+        HeapCacheStore store = new HeapCacheStore(3);
+        for (long key = 1; key <= 3; key++) {
+            store.put(key, new CacheStore.Stored("v" + key, 0));
+        }
+        store.get(1L);
+
+        // When
+        store.put(4L, new CacheStore.Stored("v4", 0));
+        store.put(5L, new CacheStore.Stored("v5", 0));
+
+        // Then
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.get(1L)).isNotNull();
+    }
+
+    private double loadCount(String type) {
+        return meterRegistry.get("cache.loads").tag("cache", "tickets").tag("type", type).counter().count();
+    }
+
+    private void waitForCoalescedCallers(int callers) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (loadCount("coalesced") < callers && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
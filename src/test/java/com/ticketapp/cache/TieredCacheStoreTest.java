@@ -0,0 +1,118 @@
+package com.ticketapp.cache;
+
+import com.ticketapp.model.Ticket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TieredCacheStore Tests")
+class TieredCacheStoreTest {
+
+    private final TicketSerializer serializer = new TicketSerializer();
+
+    @Test
+    @DisplayName("Should round-trip every ticket field through the binary form")
+    void shouldRoundTripTicket() {
+        // Given
+        Ticket ticket = ticket(42L);
+        ticket.setStatus("CLOSED");
+        ticket.setClosedAt(LocalDateTime.of(2024, 3, 1, 12, 0, 0, 123_456_789));
+
+        // When
+        byte[] bytes = serializer.serialize(ticket);
+        Ticket copy = serializer.deserialize(ByteBuffer.wrap(bytes));
+
+        // Then
+        assertThat(copy).usingRecursiveComparison().isEqualTo(ticket);
+        assertThat(bytes.length).isLessThan(120);
+    }
+
+    @Test
+    @DisplayName("Should keep serving tickets dropped from the heap tier from off-heap memory")
+    void shouldServeFromOffHeapAfterHeapEviction() {
+        // Given
+        TieredCacheStore<Ticket> store = new TieredCacheStore<>(2, new OffHeapStore(OffHeapStore.CHUNK_SIZE), serializer);
+
+        // When
+        for (long id = 1; id <= 10; id++) {
+            store.put(id, new CacheStore.Stored(ticket(id), id));
+        }
+
+        // Then
+        assertThat(store.heapSize()).isLessThanOrEqualTo(2);
+        assertThat(store.offHeap().size()).isEqualTo(10);
+        CacheStore.Stored first = store.get(1L);
+        assertThat(first.loadedAt()).isEqualTo(1L);
+        assertThat(((Ticket) first.value()).getTitle()).isEqualTo("Ticket 1");
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest records once the off-heap ring wraps")
+    void shouldEvictOldestRecordsWhenFull() {
+        // Given
+        OffHeapStore offHeap = new OffHeapStore(OffHeapStore.CHUNK_SIZE);
+        byte[] record = new byte[100_000];
+
+        // When
+        for (long id = 1; id <= 15; id++) {
+            offHeap.put(id, id, record);
+        }
+
+        // Then
+        assertThat(offHeap.get(1L)).isNull();
+        assertThat(offHeap.get(15L)).isNotNull();
+        assertThat(offHeap.evictionCount()).isPositive();
+        assertThat(offHeap.allocatedBytes()).isEqualTo(OffHeapStore.CHUNK_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should only remove an expired entry if it was not replaced meanwhile")
+    void shouldOnlyRemoveMatchingEntry() {
+        // Given
+        TieredCacheStore<Ticket> store = new TieredCacheStore<>(10, new OffHeapStore(OffHeapStore.CHUNK_SIZE), serializer);
+        store.put(1L, new CacheStore.Stored(ticket(1L), 5L));
+
+        // When
+        store.remove(1L, 4L);
+
+        // Then
+        assertThat(store.get(1L)).isNotNull();
+        store.remove(1L, 5L);
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.offHeap().liveBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should sweep expired entries from both tiers")
+    void shouldRemoveExpiredFromBothTiers() {
+        // Given one ticket only off-heap, one on both tiers, one not expired
+        TieredCacheStore<Ticket> store = new TieredCacheStore<>(1, new OffHeapStore(OffHeapStore.CHUNK_SIZE), serializer);
+        store.put(1L, new CacheStore.Stored(ticket(1L), 1L));
+        store.put(2L, new CacheStore.Stored(ticket(2L), 2L));
+        store.put(3L, new CacheStore.Stored(ticket(3L), 30L));
+
+        // When
+        store.removeExpired(20L, 10L);
+
+        // Then
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.get(2L)).isNull();
+        assertThat(store.get(3L)).isNotNull();
+        assertThat(store.offHeap().size()).isEqualTo(1);
+    }
+
+    private Ticket ticket(Long id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setDescription("Printer on the 3rd floor is jammed");
+        ticket.setPriority("HIGH");
+        ticket.setCreatedBy("user123");
+        ticket.setCreatedAt(LocalDateTime.of(2024, 2, 1, 9, 30, 15, 500_000));
+        return ticket;
+    }
+}
@@ -0,0 +1,125 @@
+package com.ticketapp.changelog;
+
+import com.ticketapp.event.TicketChangeEvent;
+import com.ticketapp.model.Ticket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TicketChangeLog Tests")
+class TicketChangeLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should record only the changed fields of an update")
+    void shouldRecordOnlyChangedFields() throws Exception {
+        // Given
+        Ticket ticket = ticket(1L);
+        try (TicketChangeLog changeLog = new TicketChangeLog(directory, 4096)) {
+            changeLog.append(TicketChangeEvent.created(ticket));
+
+            // When
+            changeLog.append(TicketChangeEvent.updated(1L, "user123", ticket,
+                Map.of("title", ticket.getTitle(), "status", "CLOSED")));
+
+            // Then
+            List<TicketChangeEvent> history = changeLog.history(1L);
+            assertThat(history).extracting(TicketChangeEvent::type)
+                .containsExactly(TicketChangeEvent.Type.CREATED, TicketChangeEvent.Type.UPDATED);
+            assertThat(history.get(0).createdBy()).isEqualTo("user123");
+            assertThat(history.get(0).changes()).containsEntry("title", "Ticket 1").containsEntry("priority", "HIGH");
+            assertThat(history.get(1).changes()).containsExactly(Map.entry("status", "CLOSED"));
+            assertThat(changeLog.history(2L)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild the per-ticket index when reopened")
+    void shouldRebuildIndexWhenReopened() throws Exception {
+        // Given
+        try (TicketChangeLog changeLog = new TicketChangeLog(directory, 4096)) {
+            changeLog.append(TicketChangeEvent.created(ticket(1L)));
+            changeLog.append(TicketChangeEvent.created(ticket(2L)));
+            changeLog.append(TicketChangeEvent.deleted(1L, "user123"));
+        }
+
+        // When
+        try (TicketChangeLog reopened = new TicketChangeLog(directory, 4096)) {
+            reopened.append(TicketChangeEvent.archived(2L));
+
+            // Then
+            assertThat(reopened.history(1L)).extracting(TicketChangeEvent::type)
+                .containsExactly(TicketChangeEvent.Type.CREATED, TicketChangeEvent.Type.DELETED);
+            assertThat(reopened.history(2L)).extracting(TicketChangeEvent::type)
+                .containsExactly(TicketChangeEvent.Type.CREATED, TicketChangeEvent.Type.ARCHIVED);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the whole history of a ticket changed many times, in order")
+    void shouldKeepLongHistoryInOrder() throws Exception {
+        // Given
+        try (TicketChangeLog changeLog = new TicketChangeLog(directory, 1 << 20)) {
+            changeLog.append(TicketChangeEvent.created(ticket(1L)));
+
+            // When - enough updates to grow the ticket's position buffer several times
+            for (int i = 0; i < 1000; i++) {
+                changeLog.append(TicketChangeEvent.updated(1L, "user123", null, Map.of("title", "Title " + i)));
+                changeLog.append(TicketChangeEvent.created(ticket(i + 2L)));
+            }
+
+            // Then
+            List<TicketChangeEvent> history = changeLog.history(1L);
+            assertThat(history).hasSize(1001);
+            assertThat(history.get(0).type()).isEqualTo(TicketChangeEvent.Type.CREATED);
+            for (int i = 0; i < 1000; i++) {
+                assertThat(history.get(i + 1).changes()).containsExactly(Map.entry("title", "Title " + i));
+            }
+            assertThat(changeLog.history(1001L)).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should roll over to a new segment when the current one is full")
+    void shouldRollOverToNewSegment() throws Exception {
+        // Given
+        try (TicketChangeLog changeLog = new TicketChangeLog(directory, 256)) {
+            // When
+            for (long id = 1; id <= 10; id++) {
+                changeLog.append(TicketChangeEvent.created(ticket(id)));
+            }
+
+            // Then
+            try (var files = Files.list(directory)) {
+                assertThat(files.count()).isGreaterThan(1);
+            }
+            assertThat(changeLog.history(10L)).singleElement()
+                .satisfies(event -> assertThat(event.changes()).containsEntry("title", "Ticket 10"));
+        }
+
+        try (TicketChangeLog reopened = new TicketChangeLog(directory, 256)) {
+            assertThat(reopened.history(1L)).hasSize(1);
+            assertThat(reopened.history(10L)).hasSize(1);
+        }
+    }
+
+    private Ticket ticket(Long id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setDescription("Détails du ticket");
+        ticket.setStatus("OPEN");
+        ticket.setPriority("HIGH");
+        ticket.setCreatedBy("user123");
+        return ticket;
+    }
+}
@@ -0,0 +1,120 @@
+package com.ticketapp.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ticketapp.model.Ticket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketJsonWriterTest {
+
+    // Configured like Spring Boot's auto-configured ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    private final TicketJsonWriter writer = new TicketJsonWriter(objectMapper.getFactory());
+
+    @Test
+    @DisplayName("Should write the same bytes as the ObjectMapper")
+    void shouldMatchObjectMapperOutput() throws IOException {
+        // Given
+        List<Ticket> tickets = new ArrayList<>();
+        tickets.add(ticket(1L, "Login issue", "Cannot log in", "OPEN", "HIGH", "user-1",
+            LocalDateTime.of(2024, 1, 15, 10, 30, 0), null));
+        tickets.add(ticket(2L, "Quotes \" and \\ backslashes", "Line\nbreak\ttab \u0001 ctrl", "CLOSED", "LOW",
+            "user-2", LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789),
+            LocalDateTime.of(2024, 3, 1, 0, 0, 0, 100_000_000)));
+        tickets.add(ticket(3L, "Unicode é ✓ 😀", "</script>", "IN_PROGRESS", "MEDIUM", "user-3",
+            LocalDateTime.of(1999, 12, 31, 9, 5, 7, 120_000), LocalDateTime.of(2000, 1, 1, 0, 0, 30, 1)));
+        tickets.add(ticket(null, null, null, null, null, null, null, null));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(tickets, out);
+
+        // Then
+        assertThat(out.toByteArray()).isEqualTo(objectMapper.writeValueAsBytes(tickets));
+    }
+
+    @Test
+    @DisplayName("Should write an empty array for an empty list")
+    void shouldWriteEmptyList() throws IOException {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(List.of(), out);
+
+        // Then
+        assertThat(out.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Should format timestamps like ISO_LOCAL_DATE_TIME")
+    void shouldFormatTimestampsLikeIsoLocalDateTime() {
+        // Given
+        LocalDateTime[] values = {
+            LocalDateTime.of(2024, 1, 1, 0, 0),
+            LocalDateTime.of(2024, 1, 1, 0, 0, 0, 1),
+            LocalDateTime.of(2024, 6, 9, 7, 8, 9, 500_000_000),
+            LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999),
+            LocalDateTime.of(0, 1, 1, 0, 0),
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59, 10_000)
+        };
+        char[] buffer = new char[29];
+
+        for (LocalDateTime value : values) {
+            // When
+            int length = TicketJsonWriter.formatIsoLocalDateTime(value, buffer);
+
+            // Then
+            assertThat(new String(buffer, 0, length)).isEqualTo(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should format epoch microseconds like ISO_LOCAL_DATE_TIME")
+    void shouldFormatEpochMicrosLikeIsoLocalDateTime() {
+        // Given
+        Random random = new Random(42);
+        long min = LocalDateTime.of(0, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long max = LocalDateTime.of(9999, 12, 31, 23, 59, 59).toEpochSecond(ZoneOffset.UTC);
+        char[] buffer = new char[29];
+
+        for (int i = 0; i < 10_000; i++) {
+            long epochSecond = i < 2 ? (i == 0 ? min : max) : min + Math.floorMod(random.nextLong(), max - min + 1);
+            int micros = i % 3 == 0 ? 0 : random.nextInt(1_000_000);
+            LocalDateTime value = LocalDateTime.ofEpochSecond(epochSecond, micros * 1_000, ZoneOffset.UTC);
+
+            // When
+            int length = TicketJsonWriter.formatIsoLocalDateTime(epochSecond * 1_000_000L + micros, buffer);
+
+            // Then
+            assertThat(new String(buffer, 0, length)).isEqualTo(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+
+    private static Ticket ticket(Long id, String title, String description, String status, String priority,
+                                 String createdBy, LocalDateTime createdAt, LocalDateTime closedAt) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle(title);
+        ticket.setDescription(description);
+        ticket.setStatus(status);
+        ticket.setPriority(priority);
+        ticket.setCreatedBy(createdBy);
+        ticket.setCreatedAt(createdAt);
+        ticket.setClosedAt(closedAt);
+        return ticket;
+    }
+}
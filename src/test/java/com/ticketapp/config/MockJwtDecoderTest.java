@@ -0,0 +1,112 @@
+package com.ticketapp.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MockJwtDecoderTest {
+
+    private static final Instant START = Instant.parse("2024-01-15T10:00:00Z");
+
+    @Test
+    @DisplayName("Should decode the user id and roles of a mock token")
+    void shouldDecodeMockToken() {
+        // Given
+        TestSecurityConfig.MockJwtDecoder decoder = new TestSecurityConfig.MockJwtDecoder(Clock.fixed(START, ZoneOffset.UTC), 10);
+
+        // When
+        Jwt jwt = decoder.decode("mock-support-user42");
+
+        // Then
+        assertThat(jwt.getClaimAsString("SID")).isEqualTo("user42");
+        assertThat(jwt.getSubject()).isEqualTo("user42");
+        assertThat(jwt.getClaimAsStringList("roles")).isEqualTo(List.of("SUPPORT", "USER"));
+        assertThat(jwt.getIssuedAt()).isEqualTo(START);
+        assertThat(jwt.getExpiresAt()).isEqualTo(START.plus(TestSecurityConfig.MockJwtDecoder.TOKEN_LIFETIME));
+    }
+
+    @Test
+    @DisplayName("Should reuse the decoded Jwt until it nears expiry")
+    void shouldReuseDecodedJwtUntilNearExpiry() {
+        // Given
+        MutableClock clock = new MutableClock(START);
+        TestSecurityConfig.MockJwtDecoder decoder = new TestSecurityConfig.MockJwtDecoder(clock, 10);
+        Jwt first = decoder.decode("mock-user-user1");
+
+        // When
+        clock.advance(Duration.ofMinutes(30));
+        Jwt reused = decoder.decode("mock-user-user1");
+        clock.advance(Duration.ofMinutes(26));
+        Jwt renewed = decoder.decode("mock-user-user1");
+
+        // Then
+        assertThat(reused).isSameAs(first);
+        assertThat(renewed).isNotSameAs(first);
+        assertThat(renewed.getIssuedAt()).isEqualTo(START.plus(Duration.ofMinutes(56)));
+        assertThat(decoder.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest tokens beyond the maximum size")
+    void shouldEvictOldestTokens() {
+        // Given
+        TestSecurityConfig.MockJwtDecoder decoder = new TestSecurityConfig.MockJwtDecoder(Clock.fixed(START, ZoneOffset.UTC), 2);
+        Jwt first = decoder.decode("mock-user-user1");
+
+        // When
+        decoder.decode("mock-user-user2");
+        decoder.decode("mock-user-user3");
+
+        // Then
+        assertThat(decoder.size()).isEqualTo(2);
+        assertThat(decoder.decode("mock-user-user1")).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens without caching them")
+    void shouldRejectMalformedTokens() {
+        // Given
+        TestSecurityConfig.MockJwtDecoder decoder = new TestSecurityConfig.MockJwtDecoder(Clock.fixed(START, ZoneOffset.UTC), 10);
+
+        // Then
+        assertThatThrownBy(() -> decoder.decode("mock-user-lt-1")).hasMessageContaining("Invalid mock token format");
+        assertThatThrownBy(() -> decoder.decode("mock-guest-user1")).hasMessageContaining("Unknown user type");
+        assertThat(decoder.size()).isZero();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ticketapp.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitProperties Tests")
+class RateLimitPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(Config.class);
+
+    @Test
+    @DisplayName("Should accept the default quotas and costs")
+    void shouldAcceptDefaults() {
+        contextRunner.run(context -> assertThat(context).hasNotFailed());
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with an endpoint costing more than a role's bucket holds")
+    void shouldRejectCostAboveCapacity() {
+        contextRunner
+            .withPropertyValues(
+                "app.rate-limit.costs[0].method=GET",
+                "app.rate-limit.costs[0].pattern=/api/tickets",
+                "app.rate-limit.costs[0].cost=50")
+            .run(context -> {
+                assertThat(context).hasFailed();
+                assertThat(context.getStartupFailure())
+                    .hasRootCauseInstanceOf(BindValidationException.class)
+                    .rootCause().hasMessageContaining("Cost 50 of GET /api/tickets exceeds the capacity 30 of role user");
+            });
+    }
+
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class Config {
+    }
+}
@@ -0,0 +1,163 @@
+package com.ticketapp.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SnowflakeIdGenerator Tests")
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = IdLayout.EPOCH_MILLIS + 1_000_000L;
+    private static final Duration MAX_SKEW = Duration.ofMillis(100);
+
+    @Test
+    @DisplayName("Should encode the creation time, node and shard in the id")
+    void shouldEncodeTimeNodeAndShard() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(IdLayout.DEFAULT, 9, MAX_SKEW, () -> NOW);
+
+        // When
+        long id = generator.nextId(5);
+
+        // Then
+        assertThat(IdLayout.shardOf(id)).isEqualTo(5);
+        assertThat(IdLayout.DEFAULT.nodeOf(id)).isEqualTo(9);
+        assertThat(IdLayout.DEFAULT.epochMillisOf(id)).isEqualTo(NOW);
+    }
+
+    @Test
+    @DisplayName("Should keep default ids within the integers JavaScript represents exactly")
+    void shouldFitInJavaScriptSafeIntegers() {
+        // Given
+        long lastMillis = IdLayout.EPOCH_MILLIS + IdLayout.DEFAULT.maxTimestamp();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(IdLayout.DEFAULT, IdLayout.DEFAULT.maxNode(),
+            MAX_SKEW, () -> lastMillis);
+
+        // When
+        long id = generator.nextId(IdLayout.MAX_SHARDS - 1);
+
+        // Then
+        assertThat(IdLayout.DEFAULT.totalBits()).isEqualTo(53);
+        assertThat(id).isLessThanOrEqualTo(IdLayout.MAX_SAFE_INTEGER);
+    }
+
+    @Test
+    @DisplayName("Should never give two nodes the same id")
+    void shouldSeparateNodes() {
+        // Given
+        SnowflakeIdGenerator first = new SnowflakeIdGenerator(IdLayout.DEFAULT, 1, MAX_SKEW, () -> NOW);
+        SnowflakeIdGenerator second = new SnowflakeIdGenerator(IdLayout.DEFAULT, 2, MAX_SKEW, () -> NOW);
+
+        // When / Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(first.nextId(0)).isNotEqualTo(second.nextId(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep ids increasing when the clock steps back within the allowed skew")
+    void shouldKeepIncreasingWhenClockStepsBack() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(IdLayout.DEFAULT, 0, MAX_SKEW, clock::get);
+        long first = generator.nextId(0);
+
+        // When
+        clock.set(NOW - 50);
+        long second = generator.nextId(0);
+
+        // Then
+        assertThat(second).isGreaterThan(first);
+        assertThat(IdLayout.DEFAULT.epochMillisOf(second)).isEqualTo(NOW);
+    }
+
+    @Test
+    @DisplayName("Should refuse to generate ids when the clock steps back further than the allowed skew")
+    void shouldFailWhenClockStepsBackTooFar() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(IdLayout.DEFAULT, 0, MAX_SKEW, clock::get);
+        generator.nextId(0);
+
+        // When
+        clock.set(NOW - 5_000);
+
+        // Then
+        assertThatThrownBy(() -> generator.nextId(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should borrow the next millisecond once a millisecond's sequence is used up")
+    void shouldBorrowNextMillisecondOnSequenceOverflow() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(IdLayout.DEFAULT, 0, MAX_SKEW, () -> NOW);
+        long previous = generator.nextId(0);
+        for (int i = 0; i < IdLayout.DEFAULT.maxSequence(); i++) {
+            long id = generator.nextId(0);
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+
+        // When
+        long borrowed = generator.nextId(0);
+
+        // Then
+        assertThat(borrowed).isGreaterThan(previous);
+        assertThat(IdLayout.DEFAULT.epochMillisOf(borrowed)).isEqualTo(NOW + 1);
+    }
+
+    @Test
+    @DisplayName("Should wait for the clock instead of running further ahead than the allowed skew")
+    void shouldWaitForClockWhenTooFarAhead() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        AtomicLong reads = new AtomicLong();
+        // Stands still until the generator has to wait for it, then moves on
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(IdLayout.DEFAULT, 0, MAX_SKEW,
+            () -> reads.incrementAndGet() > 10_000 ? clock.addAndGet(1) : clock.get());
+        int perMillisecond = IdLayout.DEFAULT.maxSequence() + 1;
+
+        // When
+        long last = 0;
+        for (long i = 0; i < perMillisecond * (MAX_SKEW.toMillis() + 10); i++) {
+            last = generator.nextId(0);
+        }
+
+        // Then
+        assertThat(IdLayout.DEFAULT.epochMillisOf(last) - clock.get()).isLessThanOrEqualTo(MAX_SKEW.toMillis());
+        assertThat(clock.get()).isGreaterThan(NOW);
+    }
+
+    @Test
+    @DisplayName("Should take the node id from configuration, or the host name ordinal when enabled")
+    void shouldResolveNodeIds() {
+        // When / Then
+        assertThat(NodeIds.resolve(7, false, IdLayout.DEFAULT, "ticket-app-3")).isEqualTo(7);
+        assertThat(NodeIds.resolve(7, true, IdLayout.DEFAULT, "ticket-app-3")).isEqualTo(3);
+        assertThat(NodeIds.resolve(0, false, IdLayout.DEFAULT, "ip-172-31-5-123")).isEqualTo(0);
+        assertThatThrownBy(() -> NodeIds.resolve(null, false, IdLayout.DEFAULT, "ticket-app-3"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("app.ids.node-id");
+        assertThatThrownBy(() -> NodeIds.resolve(16, false, IdLayout.DEFAULT, "laptop"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse a host name ordinal outside the node id range")
+    void shouldRejectOrdinalOutOfRange() {
+        // When / Then
+        assertThatThrownBy(() -> NodeIds.resolve(null, true, IdLayout.DEFAULT, "ticket-app-16"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("app.ids.node-id");
+        assertThatThrownBy(() -> NodeIds.resolve(null, true, IdLayout.DEFAULT, "ticket-app-99999999999"))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> NodeIds.resolve(null, true, IdLayout.DEFAULT, "laptop"))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(NodeIds.resolve(null, true, IdLayout.DEFAULT, "ticket-app-15")).isEqualTo(15);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ticketapp.idempotency;
+
+import com.ticketapp.model.IdempotencyRecord;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against its own in-memory database, the store is built directly on the repository
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:idempotency-test",
+    "app.security.mock-jwt=false",
+    "spring.security.oauth2.resourceserver.jwt.jwk-set-uri=https://mock-oidc-provider.com/.well-known/jwks.json"
+})
+@DisplayName("DatabaseIdempotencyStore Tests")
+class DatabaseIdempotencyStoreTest {
+
+    private static final String FINGERPRINT = IdempotencyStore.fingerprint(new Ticket());
+    private static final Duration TTL = Duration.ofHours(24);
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DatabaseIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        store = new DatabaseIdempotencyStore(repository, new TransactionTemplate(transactionManager),
+            DatabaseIdempotencyStoreTest::ticket, TTL);
+    }
+
+    @Test
+    @DisplayName("Should treat an expired key the purge has not removed yet as a fresh key")
+    void shouldReuseExpiredKey() {
+        // Given
+        repository.save(new IdempotencyRecord("user123:key-1", "another submission", 1L, LocalDateTime.now().minus(TTL).minusMinutes(1)));
+
+        // When
+        IdempotencyStore.Result created = store.createOnce("user123:key-1", FINGERPRINT, () -> ticket(2L));
+        IdempotencyStore.Result replayed = store.createOnce("user123:key-1", FINGERPRINT, () -> ticket(3L));
+
+        // Then
+        assertThat(created.replayed()).isFalse();
+        assertThat(created.ticket().getId()).isEqualTo(2L);
+        assertThat(replayed.replayed()).isTrue();
+        assertThat(replayed.ticket().getId()).isEqualTo(2L);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay the ticket of a replica that committed the same key first")
+    void shouldReplayKeyCommittedMeanwhile() {
+        // Given another replica's insert landing while this one creates its ticket
+        TransactionTemplate otherReplica = new TransactionTemplate(transactionManager);
+        otherReplica.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // When
+        IdempotencyStore.Result result = store.createOnce("user123:key-2", FINGERPRINT, () -> {
+            otherReplica.executeWithoutResult(status ->
+                repository.insert("user123:key-2", FINGERPRINT, 1L, LocalDateTime.now()));
+            return ticket(2L);
+        });
+
+        // Then
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.ticket().getId()).isEqualTo(1L);
+        assertThat(repository.findById("user123:key-2").orElseThrow().getTicketId()).isEqualTo(1L);
+    }
+
+    private static Ticket ticket(Long id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        return ticket;
+    }
+}
@@ -0,0 +1,124 @@
+package com.ticketapp.idempotency;
+
+import com.ticketapp.model.Ticket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InMemoryIdempotencyStore Tests")
+class InMemoryIdempotencyStoreTest {
+
+    private static final String FINGERPRINT = IdempotencyStore.fingerprint(new Ticket());
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger inserts = new AtomicInteger();
+    private final InMemoryIdempotencyStore store =
+        new InMemoryIdempotencyStore(Duration.ofMinutes(10), 2, clock::get);
+
+    @Test
+    @DisplayName("Should create once and replay the original ticket for concurrent duplicates")
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        // Given
+        CountDownLatch releaseInsert = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<IdempotencyStore.Result>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> store.createOnce("user123:key-1", FINGERPRINT, () -> {
+                await(releaseInsert);
+                return ticket(inserts.incrementAndGet());
+            })));
+        }
+        Thread.sleep(100);
+        releaseInsert.countDown();
+
+        // Then
+        long replayed = 0;
+        for (Future<IdempotencyStore.Result> result : results) {
+            IdempotencyStore.Result r = result.get(5, TimeUnit.SECONDS);
+            assertThat(r.ticket().getId()).isEqualTo(1L);
+            replayed += r.replayed() ? 1 : 0;
+        }
+        assertThat(inserts.get()).isEqualTo(1);
+        assertThat(replayed).isEqualTo(3);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should forget keys after the TTL and when the store is full")
+    void shouldEvictExpiredAndOldestKeys() {
+        // Given
+        store.createOnce("a", FINGERPRINT, () -> ticket(inserts.incrementAndGet()));
+        store.createOnce("b", FINGERPRINT, () -> ticket(inserts.incrementAndGet()));
+        store.createOnce("c", FINGERPRINT, () -> ticket(inserts.incrementAndGet()));
+        store.createOnce("d", FINGERPRINT, () -> ticket(inserts.incrementAndGet()));
+
+        // Then - only the newest keys are kept
+        assertThat(store.size()).isLessThanOrEqualTo(3);
+
+        // When - the TTL passes
+        clock.set(Duration.ofMinutes(11).toNanos());
+        IdempotencyStore.Result result = store.createOnce("d", FINGERPRINT, () -> ticket(inserts.incrementAndGet()));
+
+        // Then
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.ticket().getId()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Should not remember failed attempts")
+    void shouldNotRememberFailures() {
+        assertThatThrownBy(() -> store.createOnce("key", FINGERPRINT, () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyStore.Result result = store.createOnce("key", FINGERPRINT, () -> ticket(42));
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.ticket().getId()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should refuse a key reused for a different submission")
+    void shouldRejectKeyReusedForDifferentSubmission() {
+        // Given
+        Ticket first = new Ticket();
+        first.setTitle("Printer on fire");
+        Ticket other = new Ticket();
+        other.setTitle("Printer on fire again");
+        store.createOnce("key", IdempotencyStore.fingerprint(first), () -> ticket(1));
+
+        // When / Then
+        assertThatThrownBy(() -> store.createOnce("key", IdempotencyStore.fingerprint(other), () -> ticket(2)))
+            .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(store.createOnce("key", IdempotencyStore.fingerprint(first), () -> ticket(3)).ticket().getId()).isEqualTo(1L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Ticket ticket(long id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        return ticket;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ticketapp.index;
+
+import com.ticketapp.event.TicketChangeEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OwnerTicketIndex Tests")
+class OwnerTicketIndexTest {
+
+    private final OwnerTicketIndex index = new OwnerTicketIndex();
+
+    @Test
+    @DisplayName("Should keep loaded ids sorted and apply later writes")
+    void shouldKeepLoadedIdsSortedAndApplyWrites() {
+        // Given
+        index.load("user123", new long[]{5, 1, 3, 3}, index.stamp("user123"));
+
+        // When
+        index.add("user123", 4);
+        index.remove("user123", 1);
+        index.removeAll("user123", new long[]{5});
+
+        // Then
+        assertThat(index.get("user123")).containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should not publish a load that raced with a write to the same owner")
+    void shouldNotPublishLoadRacingWithWrite() {
+        // Given
+        long stamp = index.stamp("user123");
+        index.add("user123", 8);
+
+        // When
+        long[] ids = index.load("user123", new long[]{7}, stamp);
+
+        // Then
+        assertThat(ids).containsExactly(7L);
+        assertThat(index.get("user123")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should publish a load that only raced with writes to other owners")
+    void shouldPublishLoadRacingWithOtherOwners() {
+        // Given
+        long stamp = index.stamp("user123");
+        long otherStamp = index.stamp("user456");
+        index.add("user456", 9);
+        index.onTicketChange(TicketChangeEvent.archived(6L));
+
+        // When
+        index.load("user123", new long[]{7}, stamp);
+        index.load("user456", new long[]{8}, otherStamp);
+
+        // Then
+        assertThat(index.get("user123")).containsExactly(7L);
+        assertThat(index.get("user456")).isNull();
+        assertThat(index.ownerCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not publish a load that raced with a purge")
+    void shouldNotPublishLoadRacingWithClear() {
+        // Given
+        long stamp = index.stamp("user123");
+        index.onTicketChange(TicketChangeEvent.purged());
+
+        // When
+        index.load("user123", new long[]{7}, stamp);
+
+        // Then
+        assertThat(index.get("user123")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should ignore writes for owners that have not been loaded")
+    void shouldIgnoreWritesForUnloadedOwners() {
+        // When
+        index.add("user456", 1);
+
+        // Then
+        assertThat(index.get("user456")).isNull();
+        assertThat(index.ownerCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should insert and remove in sorted arrays without changing the original")
+    void shouldCopyOnWrite() {
+        // Given
+        long[] set = LongSets.of(new long[]{9, 2, 5});
+
+        // When
+        long[] added = LongSets.add(set, 3);
+        long[] removed = LongSets.remove(set, 9);
+
+        // Then
+        assertThat(set).containsExactly(2L, 5L, 9L);
+        assertThat(added).containsExactly(2L, 3L, 5L, 9L);
+        assertThat(removed).containsExactly(2L, 5L);
+        assertThat(LongSets.add(set, 5)).isSameAs(set);
+    }
+}
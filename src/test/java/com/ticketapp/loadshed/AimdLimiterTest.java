@@ -0,0 +1,77 @@
+package com.ticketapp.loadshed;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+    @Test
+    @DisplayName("Should admit each priority only up to its share of the limit")
+    void shouldAdmitByPriorityShare() {
+        // Given
+        AimdLimiter limiter = new AimdLimiter(10, 2, 20, 0.5);
+
+        // When / Then - LOW gets 5 of 10, NORMAL 8 and CRITICAL all 10
+        assertThat(acquireAll(limiter, Priority.LOW)).isEqualTo(5);
+        assertThat(acquireAll(limiter, Priority.NORMAL)).isEqualTo(3);
+        assertThat(acquireAll(limiter, Priority.CRITICAL)).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively down to the minimum when requests run over their timeout")
+    void shouldBackOffOnOverload() {
+        // Given
+        AimdLimiter limiter = new AimdLimiter(10, 3, 20, 0.5);
+
+        // When
+        limiter.tryAcquire(Priority.NORMAL);
+        limiter.release(true);
+        int afterOne = limiter.getLimit();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(Priority.NORMAL);
+            limiter.release(true);
+        }
+
+        // Then
+        assertThat(afterOne).isEqualTo(5);
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should grow the limit additively only while it is being used")
+    void shouldGrowWhileUtilized() {
+        // Given
+        AimdLimiter limiter = new AimdLimiter(4, 2, 5, 0.5);
+
+        // When - a lone request does not use half of the limit
+        limiter.tryAcquire(Priority.NORMAL);
+        limiter.release(false);
+        int idle = limiter.getLimit();
+
+        // When - two concurrent requests do, repeatedly
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(Priority.CRITICAL);
+            limiter.tryAcquire(Priority.CRITICAL);
+            limiter.tryAcquire(Priority.CRITICAL);
+            limiter.release(false);
+            limiter.release(false);
+            limiter.release(false);
+        }
+
+        // Then
+        assertThat(idle).isEqualTo(4);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    private static int acquireAll(AimdLimiter limiter, Priority priority) {
+        int acquired = 0;
+        while (limiter.tryAcquire(priority)) {
+            acquired++;
+        }
+        return acquired;
+    }
+}
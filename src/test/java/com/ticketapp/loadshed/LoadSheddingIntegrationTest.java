@@ -0,0 +1,176 @@
+package com.ticketapp.loadshed;
+
+import com.ticketapp.repository.TicketRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Drives the load shedding filter against a TicketRepository whose list-all and exists queries are artificially slow
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "app.security.mock-jwt=false",
+    "spring.security.oauth2.resourceserver.jwt.jwk-set-uri=https://mock-oidc-provider.com/.well-known/jwks.json",
+    "app.rate-limit.enabled=false",
+    "app.load-shedding.initial-limit=4",
+    "app.load-shedding.min-limit=2",
+    "app.load-shedding.max-limit=8",
+    "app.load-shedding.backoff-ratio=0.5",
+    "app.load-shedding.endpoints[0].method=POST",
+    "app.load-shedding.endpoints[0].pattern=/api/tickets",
+    "app.load-shedding.endpoints[0].priority=CRITICAL",
+    "app.load-shedding.endpoints[0].timeout=1s",
+    "app.load-shedding.endpoints[1].method=GET",
+    "app.load-shedding.endpoints[1].pattern=/api/tickets",
+    "app.load-shedding.endpoints[1].priority=LOW",
+    "app.load-shedding.endpoints[1].timeout=100ms",
+    "app.load-shedding.endpoints[2].pattern=/api/tickets/*/attachments/**",
+    "app.load-shedding.endpoints[2].timeout=1m",
+    "app.load-shedding.default-timeout=100ms"
+})
+class LoadSheddingIntegrationTest {
+
+    private static final long FIND_ALL_DELAY_MILLIS = 500;
+    private static final long EXISTS_DELAY_MILLIS = 300;
+
+    @TestConfiguration
+    static class SlowRepositoryConfig {
+        @Bean
+        static BeanPostProcessor slowTicketRepository() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof TicketRepository)) {
+                        return bean;
+                    }
+                    ProxyFactory proxyFactory = new ProxyFactory(bean);
+                    proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                        if (invocation.getMethod().getName().equals("findAllByOrderByCreatedAtAsc")) {
+                            Thread.sleep(FIND_ALL_DELAY_MILLIS);
+                        }
+                        if (invocation.getMethod().getName().equals("findExistingIds")) {
+                            Thread.sleep(EXISTS_DELAY_MILLIS);
+                        }
+                        return invocation.proceed();
+                    });
+                    return proxyFactory.getProxy();
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter;
+
+    @Autowired
+    private AimdLimiter limiter;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .addFilter(loadSheddingFilter.getFilter(), "/api/*")
+                .apply(springSecurity())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should shed admin list-all with 503 while still admitting ticket creation")
+    void shouldShedListAllBeforeWrites() throws Exception {
+        // Given - six slow list-all requests, LOW priority only gets half of the limit of 4
+        List<Future<MockHttpServletResponse>> listAll = new ArrayList<>();
+        MockHttpServletResponse created;
+        try (ExecutorService executor = Executors.newFixedThreadPool(6)) {
+            for (int i = 0; i < 6; i++) {
+                listAll.add(executor.submit(() -> mockMvc.perform(get("/api/tickets")
+                        .with(jwt().jwt(jwt -> jwt.claim("SID", "admin1").claim("roles", List.of("ADMIN")))
+                            .authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                    .andReturn().getResponse()));
+            }
+            Thread.sleep(FIND_ALL_DELAY_MILLIS / 5);
+
+            // When - a user creates a ticket while the list-all requests are in flight
+            created = mockMvc.perform(post("/api/tickets")
+                    .with(jwt().jwt(jwt -> jwt.claim("SID", "user1").claim("roles", List.of("USER")))
+                        .authorities(new SimpleGrantedAuthority("ROLE_USER")))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\":\"Printer\",\"description\":\"Out of toner\",\"priority\":\"LOW\"}"))
+                .andReturn().getResponse();
+        }
+
+        // Then
+        assertThat(created.getStatus()).isEqualTo(201);
+        List<MockHttpServletResponse> shed = new ArrayList<>();
+        for (Future<MockHttpServletResponse> response : listAll) {
+            if (response.get().getStatus() == 503) {
+                shed.add(response.get());
+            } else {
+                assertThat(response.get().getStatus()).isEqualTo(200);
+            }
+        }
+        assertThat(shed).hasSizeGreaterThanOrEqualTo(1);
+        assertThat(shed).allSatisfy(response -> assertThat(response.getHeader("Retry-After")).isEqualTo("1"));
+        // The admitted list-all requests ran over their 100ms timeout
+        assertThat(limiter.getLimit()).isLessThan(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not shrink the limit for an attachment request slower than the default timeout")
+    void shouldGiveAttachmentsTheirOwnTimeout() throws Exception {
+        // Given
+        int limitBefore = limiter.getLimit();
+
+        // When - well over the 100ms default timeout, within the attachments' minute
+        MockHttpServletResponse response = mockMvc.perform(get("/api/tickets/{id}/attachments", 42)
+                .with(jwt().jwt(jwt -> jwt.claim("SID", "admin1").claim("roles", List.of("ADMIN")))
+                    .authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+            .andReturn().getResponse();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(limitBefore);
+    }
+}
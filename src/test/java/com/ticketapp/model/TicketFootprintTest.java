@@ -0,0 +1,74 @@
+package com.ticketapp.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Ticket Footprint Tests")
+class TicketFootprintTest {
+
+    /**
+     * Field types of the instance layout, checked instead of measured: heap sizes are compared by
+     * TicketFootprintBenchmark, where GC timing cannot fail a build
+     */
+    @Test
+    @DisplayName("Should keep createdAt as a primitive and no timestamp objects besides closedAt")
+    void shouldPackCreatedAt() throws Exception {
+        // When
+        List<Class<?>> fieldTypes = Arrays.stream(Ticket.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .<Class<?>>map(Field::getType)
+            .toList();
+
+        // Then
+        assertThat(Ticket.class.getDeclaredField("createdAt").getType()).isEqualTo(long.class);
+        assertThat(fieldTypes).filteredOn(LocalDateTime.class::equals).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should share one instance of each status, priority and owner between tickets")
+    void shouldShareRepeatedValues() {
+        // Given
+        Ticket first = new Ticket();
+        Ticket second = new Ticket();
+
+        // When
+        first.setStatus(new String("RESOLVED"));
+        second.setStatus(new String("RESOLVED"));
+        first.setPriority(new String("HIGH"));
+        second.setPriority(new String("HIGH"));
+        first.setCreatedBy(owner(7));
+        second.setCreatedBy(owner(7));
+
+        // Then
+        assertThat(first.getStatus()).isSameAs(second.getStatus());
+        assertThat(first.getPriority()).isSameAs(second.getPriority());
+        assertThat(first.getCreatedBy()).isSameAs(second.getCreatedBy());
+    }
+
+    @Test
+    @DisplayName("Should keep createdAt to the microsecond, including before 1970")
+    void shouldKeepCreatedAtToTheMicrosecond() {
+        // Given
+        Ticket ticket = new Ticket();
+
+        // When / Then
+        ticket.setCreatedAt(LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_932));
+        assertThat(ticket.getCreatedAt()).isEqualTo(LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000));
+        ticket.setCreatedAt(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000));
+        assertThat(ticket.getCreatedAt()).isEqualTo(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000));
+        ticket.setCreatedAt(null);
+        assertThat(ticket.getCreatedAt()).isNull();
+    }
+
+    private static String owner(int i) {
+        return "S-1-5-21-3623811015-3361044348-30300820-" + (1000 + i % 1000);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ticketapp.projection;
+
+import com.ticketapp.changelog.TicketChangeLog;
+import com.ticketapp.event.TicketChangeEvent;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.TicketRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TicketProjection Tests")
+class TicketProjectionTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should maintain owner ids and status counts from change events")
+    void shouldMaintainReadModelsFromEvents() {
+        // Given
+        TicketProjection projection = new TicketProjection(directory.resolve("tickets.snapshot"), List::of);
+        projection.apply(TicketChangeEvent.created(ticket(1L, "user123")));
+        projection.apply(TicketChangeEvent.created(ticket(2L, "user123")));
+        projection.apply(TicketChangeEvent.created(ticket(3L, "user456")));
+
+        // When
+        projection.apply(TicketChangeEvent.updated(2L, null, null, Map.of("status", "Closed")));
+        projection.apply(TicketChangeEvent.deleted(3L, null));
+
+        // Then
+        assertThat(projection.ticketIds("user123")).containsExactly(1L, 2L);
+        assertThat(projection.ticketIds("user456")).isEmpty();
+        assertThat(projection.statusCounts()).containsExactly(Map.entry("CLOSED", 1L), Map.entry("OPEN", 1L));
+    }
+
+    @Test
+    @DisplayName("Should resume from a checkpoint and replay only newer change log records")
+    void shouldResumeFromCheckpoint() throws Exception {
+        Path snapshot = directory.resolve("projection/tickets.snapshot");
+        try (TicketChangeLog changeLog = new TicketChangeLog(directory.resolve("changelog"), 4096)) {
+            // Given
+            TicketProjection projection = new TicketProjection(snapshot, List::of);
+            projection.followChangeLog(changeLog, 0);
+            changeLog.append(TicketChangeEvent.created(ticket(1L, "user123")));
+            projection.checkpoint();
+            changeLog.append(TicketChangeEvent.created(ticket(2L, "user123")));
+            changeLog.append(TicketChangeEvent.archived(1L));
+
+            // When
+            TicketProjection restored = new TicketProjection(snapshot, List::of);
+            long from = restored.restore();
+            restored.followChangeLog(changeLog, from);
+
+            // Then
+            assertThat(from).isPositive().isLessThan(changeLog.endPosition());
+            assertThat(restored.ticketIds("user123")).containsExactly(2L);
+            assertThat(restored.statusCounts()).containsExactly(Map.entry("OPEN", 1L));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reload from the tickets table after a purge")
+    void shouldReloadAfterPurge() {
+        // Given
+        TicketRepository.OwnerStatus remaining = ownerStatus(2L, "user123", "Closed");
+        TicketProjection projection = new TicketProjection(directory.resolve("tickets.snapshot"), () -> List.of(remaining));
+        projection.apply(TicketChangeEvent.created(ticket(1L, "user123")));
+        projection.apply(TicketChangeEvent.created(ticket(2L, "user123")));
+
+        // When
+        projection.apply(TicketChangeEvent.purged());
+
+        // Then
+        assertThat(projection.ticketIds("user123")).containsExactly(2L);
+        assertThat(projection.statusCounts()).containsExactly(Map.entry("CLOSED", 1L));
+    }
+
+    @Test
+    @DisplayName("Should report no checkpoint when the file is missing")
+    void shouldReportMissingCheckpoint() {
+        // Given
+        TicketProjection projection = new TicketProjection(directory.resolve("missing.snapshot"), List::of);
+
+        // When / Then
+        assertThat(projection.restore()).isEqualTo(-1);
+        assertThat(projection.size()).isZero();
+    }
+
+    private static TicketRepository.OwnerStatus ownerStatus(Long id, String createdBy, String status) {
+        return new TicketRepository.OwnerStatus() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getCreatedBy() {
+                return createdBy;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+        };
+    }
+
+    private Ticket ticket(Long id, String createdBy) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setDescription("Projected ticket");
+        ticket.setStatus("OPEN");
+        ticket.setPriority("LOW");
+        ticket.setCreatedBy(createdBy);
+        return ticket;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ticketapp.ratelimit;
+
+import com.ticketapp.config.RateLimitProperties;
+import com.ticketapp.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Rate Limiting Tests")
+class RateLimitFilterTest {
+
+    @Mock
+    private UserService userService;
+
+    private RateLimitProperties properties;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setQuotas(Map.of(
+            "admin", new RateLimitProperties.Quota(10, 1),
+            "user", new RateLimitProperties.Quota(3, 1)
+        ));
+        filter = new RateLimitFilter(new StripedBucketStore(4), properties, userService);
+        lenient().when(userService.getCurrentUserSid()).thenReturn("user123");
+    }
+
+    @Test
+    @DisplayName("Should reject requests with 429 and Retry-After once the bucket is empty")
+    void shouldRejectRequestsOnceBucketIsEmpty() throws Exception {
+        // Given
+        when(userService.getCurrentUserRoles()).thenReturn(List.of("USER"));
+
+        // When - the user quota allows a burst of 3
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform("GET", "/api/tickets/my").getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse rejected = perform("GET", "/api/tickets/my");
+
+        // Then
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should charge the configured cost for expensive endpoints")
+    void shouldChargeEndpointCost() throws Exception {
+        // Given - listing all tickets costs 10 tokens
+        when(userService.getCurrentUserRoles()).thenReturn(List.of("ADMIN", "SUPPORT", "USER"));
+
+        // When
+        MockHttpServletResponse first = perform("GET", "/api/tickets");
+        MockHttpServletResponse second = perform("GET", "/api/tickets");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(second.getHeader("Retry-After")).isEqualTo("10");
+    }
+
+    @Test
+    @DisplayName("Should not limit anonymous requests")
+    void shouldNotLimitAnonymousRequests() throws Exception {
+        // Given
+        when(userService.getCurrentUserSid()).thenReturn(null);
+
+        // Then
+        for (int i = 0; i < 20; i++) {
+            assertThat(perform("GET", "/").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    @DisplayName("Token bucket should refill over time")
+    void tokenBucketShouldRefillOverTime() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+        assertThat(bucket.tryConsume(2, 0)).isZero();
+        assertThat(bucket.tryConsume(1, 0)).isEqualTo(1_000_000_000L);
+        assertThat(bucket.tryConsume(1, 1_000_000_000L)).isZero();
+        assertThat(bucket.isFull(3_000_000_000L)).isTrue();
+        assertThat(bucket.availableTokens(3_000_000_000L)).isEqualTo(2);
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
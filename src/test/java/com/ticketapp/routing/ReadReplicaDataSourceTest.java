@@ -0,0 +1,89 @@
+package com.ticketapp.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLSyntaxErrorException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaDataSourceTest {
+
+    private DataSource replica;
+    private DataSource primary;
+    private Connection replicaConnection;
+    private Connection primaryConnection;
+    private ReadReplicaDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replica = mock(DataSource.class);
+        primary = mock(DataSource.class);
+        replicaConnection = mock(Connection.class);
+        primaryConnection = mock(Connection.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(() -> null, Duration.ofSeconds(5), System::nanoTime);
+        dataSource = new ReadReplicaDataSource(replica, primary, readYourWrites, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("A connection error while a statement runs on the replica sends the next reads to the primary")
+    void marksReplicaDownOnConnectionErrorInUse() throws SQLException {
+        // Given
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(replicaConnection.prepareStatement("select 1")).thenReturn(statement);
+        when(statement.executeQuery()).thenThrow(new SQLException("Connection reset", "08S01"));
+
+        // When
+        PreparedStatement watched = dataSource.getConnection().prepareStatement("select 1");
+
+        // Then
+        assertThatThrownBy(watched::executeQuery).isInstanceOf(SQLException.class).hasMessage("Connection reset");
+        assertThat(dataSource.isReplicaDown()).isTrue();
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("A connection error while reading a result set marks the replica down")
+    void marksReplicaDownOnConnectionErrorInResultSet() throws SQLException {
+        // Given
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replicaConnection.prepareStatement("select 1")).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenThrow(new SQLNonTransientConnectionException("Database is already closed"));
+
+        // When
+        ResultSet watched = dataSource.getConnection().prepareStatement("select 1").executeQuery();
+
+        // Then
+        assertThatThrownBy(watched::next).isInstanceOf(SQLNonTransientConnectionException.class);
+        assertThat(dataSource.isReplicaDown()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Other SQL errors on the replica leave it in use")
+    void keepsReplicaOnQueryError() throws SQLException {
+        // Given
+        when(replicaConnection.prepareStatement("selec 1")).thenThrow(new SQLSyntaxErrorException("Syntax error", "42000"));
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThatThrownBy(() -> connection.prepareStatement("selec 1")).isInstanceOf(SQLSyntaxErrorException.class);
+        assertThat(dataSource.isReplicaDown()).isFalse();
+    }
+}
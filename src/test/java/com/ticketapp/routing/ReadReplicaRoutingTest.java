@@ -0,0 +1,187 @@
+package com.ticketapp.routing;
+
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.service.TicketListingService;
+import com.ticketapp.service.TicketService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes reads between two H2 databases, with the replica only refreshed by explicit syncs
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary",
+    "spring.jpa.open-in-view=false",
+    "app.datasource.routing.enabled=true",
+    "app.datasource.routing.read-your-writes=5s",
+    "app.datasource.routing.replica.url=jdbc:h2:mem:routing-replica",
+    "app.datasource.routing.replica.username=sa",
+    "app.datasource.routing.replica.password=password",
+    "app.datasource.routing.local-replication.enabled=true",
+    "app.datasource.routing.local-replication.lag=PT1H"
+})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketListingService ticketListingService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private H2LocalReplication replication;
+
+    @Autowired
+    private ReadReplicaDataSource readReplicaDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        ticketRepository.deleteAll();
+        replication.sync();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Read-only queries of other users see the replica, which lags until the next sync")
+    void otherUsersReadFromLaggingReplica() throws SQLException {
+        // Given
+        actAs("alice");
+        Ticket created = ticketService.createTicket(ticket("Printer on fire", "alice"));
+
+        // When
+        actAs("bob");
+        boolean seenBeforeSync = containsTicket(created);
+        replication.sync();
+        boolean seenAfterSync = containsTicket(created);
+
+        // Then
+        assertThat(seenBeforeSync).isFalse();
+        assertThat(seenAfterSync).isTrue();
+    }
+
+    @Test
+    @DisplayName("A user reads their own writes from the primary within the read-your-writes window")
+    void writerReadsOwnWrites() {
+        // Given
+        actAs("alice");
+        Ticket created = ticketService.createTicket(ticket("VPN drops", "alice"));
+
+        // When
+        boolean seenByWriter = containsTicket(created);
+        actAs("bob");
+        boolean seenByOther = containsTicket(created);
+
+        // Then
+        assertThat(seenByWriter).isTrue();
+        assertThat(seenByOther).isFalse();
+    }
+
+    @Test
+    @DisplayName("The owner index and the tickets it lists are loaded from the primary, so a lagging replica never hides new tickets")
+    void ownerIndexReadsPrimary() {
+        // Given
+        actAs("alice");
+        Ticket created = ticketService.createTicket(ticket("Laptop slow", "carol"));
+
+        // When
+        actAs("carol");
+        List<Ticket> ticketsBeforeSync = ticketService.getTicketsByCreatedBy("carol");
+        replication.syncQuietly();
+        List<Ticket> ticketsAfterSync = ticketService.getTicketsByCreatedBy("carol");
+
+        // Then
+        assertThat(ticketsBeforeSync).extracting(Ticket::getId).containsExactly(created.getId());
+        assertThat(ticketsAfterSync).extracting(Ticket::getId).containsExactly(created.getId());
+    }
+
+    @Test
+    @DisplayName("A ticket read through the cache right after a write is the written one, however far the replica lags")
+    void cacheLoadsReadPrimary() throws SQLException {
+        // Given - a ticket the replica has seen
+        actAs("alice");
+        Ticket created = ticketService.createTicket(ticket("Keyboard sticky", "alice"));
+        replication.sync();
+
+        // When - it changes on the primary only, and someone outside the read-your-writes window reads it first
+        ticketService.patchTicket(created.getId(), Map.of("status", "RESOLVED"));
+        actAs("bob");
+        Ticket readByOther = ticketService.getTicketById(created.getId());
+        actAs("alice");
+        Ticket readByWriter = ticketService.getTicketById(created.getId());
+        Optional<Ticket> readByOwner = ticketService.getTicketByIdForOwner(created.getId(), "alice");
+
+        // Then
+        assertThat(readByOther.getStatus()).isEqualTo("RESOLVED");
+        assertThat(readByWriter.getStatus()).isEqualTo("RESOLVED");
+        assertThat(readByOwner).map(Ticket::getStatus).contains("RESOLVED");
+    }
+
+    @Test
+    @DirtiesContext
+    @DisplayName("Reads fail over to the primary when the replica cannot hand out connections")
+    void failsOverToPrimary() {
+        // Given
+        actAs("alice");
+        Ticket created = ticketService.createTicket(ticket("Monitor flickers", "alice"));
+        actAs("bob");
+        assertThat(containsTicket(created)).isFalse();
+
+        // When
+        replicaDataSource.close();
+
+        // Then
+        assertThat(containsTicket(created)).isTrue();
+        assertThat(readReplicaDataSource.isReplicaDown()).isTrue();
+        assertThat(replicaDataSource.getConnectionTimeout()).isEqualTo(1000);
+    }
+
+    private boolean containsTicket(Ticket ticket) {
+        return ticketListingService.listTickets(null, false).items().stream().anyMatch(found -> found.getId().equals(ticket.getId()));
+    }
+
+    private static void actAs(String sid) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").claim("SID", sid).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    private static Ticket ticket(String title, String createdBy) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setDescription(title);
+        ticket.setStatus("OPEN");
+        ticket.setPriority("LOW");
+        ticket.setCreatedBy(createdBy);
+        return ticket;
+    }
+}
@@ -1,6 +1,8 @@
 package com.ticketapp.security;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.ticketapp.model.Ticket;
 import com.ticketapp.repository.TicketRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +19,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -139,6 +142,59 @@ class TicketSecurityIntegrationTest {
                     .andExpect(jsonPath("$.title").value("User Ticket"))
                     .andExpect(jsonPath("$.createdBy").value("user789"));
         }
+
+        @Test
+        @DisplayName("Retried creation with the same Idempotency-Key should return the original ticket")
+        void retriedCreationShouldReturnOriginalTicket() throws Exception {
+            Ticket ticket = createTestTicket("Retried Ticket", "Submitted twice after a timeout");
+            String body = objectMapper.writeValueAsString(ticket);
+
+            String first = mockMvc.perform(post("/api/tickets")
+                    .with(jwt().jwt(jwt -> jwt
+                            .claim("SID", "user321")
+                            .claim("roles", java.util.List.of("USER"))))
+                    .header("Idempotency-Key", "retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "false"))
+                    .andReturn().getResponse().getContentAsString();
+            Long ticketId = objectMapper.readValue(first, Ticket.class).getId();
+
+            mockMvc.perform(post("/api/tickets")
+                    .with(jwt().jwt(jwt -> jwt
+                            .claim("SID", "user321")
+                            .claim("roles", java.util.List.of("USER"))))
+                    .header("Idempotency-Key", "retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andDo(print())
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(jsonPath("$.id").value(ticketId));
+        }
+
+        @Test
+        @DisplayName("An Idempotency-Key reused for a different ticket should be rejected with 422")
+        void reusedIdempotencyKeyShouldBeRejected() throws Exception {
+            mockMvc.perform(post("/api/tickets")
+                    .with(jwt().jwt(jwt -> jwt
+                            .claim("SID", "user321")
+                            .claim("roles", java.util.List.of("USER"))))
+                    .header("Idempotency-Key", "reused-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createTestTicket("First Ticket", "Printer on fire"))))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(post("/api/tickets")
+                    .with(jwt().jwt(jwt -> jwt
+                            .claim("SID", "user321")
+                            .claim("roles", java.util.List.of("USER"))))
+                    .header("Idempotency-Key", "reused-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createTestTicket("Second Ticket", "Scanner on fire"))))
+                    .andExpect(status().isUnprocessableEntity());
+        }
     }
 
     @Nested
@@ -188,6 +244,33 @@ class TicketSecurityIntegrationTest {
                     .andExpect(jsonPath("$.length()").value(3));
         }
 
+        @Test
+        @DisplayName("Should return tickets as CBOR when the client asks for it")
+        void shouldReturnTicketsAsCborWhenRequested() throws Exception {
+            byte[] body = mockMvc.perform(get("/api/tickets")
+                    .accept(MediaType.APPLICATION_CBOR)
+                    .with(jwt()
+                            .jwt(jwt -> jwt
+                                    .claim("SID", "admin123")
+                                    .claim("roles", java.util.List.of("ADMIN")))
+                            .authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            // Read as a plain CBOR tree, without the date types, to check what goes over the wire
+            JsonNode tickets = new CBORMapper().readTree(body);
+            assertThat(tickets.isArray()).isTrue();
+            assertThat(tickets).hasSize(3);
+            for (JsonNode ticket : tickets) {
+                assertThat(ticket.get("title").isTextual()).isTrue();
+                JsonNode createdAt = ticket.get("createdAt");
+                assertThat(createdAt.isArray()).as("createdAt of %s", ticket).isTrue();
+                assertThat(createdAt.size()).isBetween(5, 7);
+                assertThat(createdAt).allMatch(JsonNode::isInt);
+            }
+        }
+
         @Test
         @DisplayName("Regular user should NOT be able to view all tickets")
         void regularUserShouldNotBeAbleToViewAllTickets() throws Exception {
@@ -370,6 +453,103 @@ class TicketSecurityIntegrationTest {
                     .andExpect(jsonPath("$.title").value("Support Updated"))
                     .andExpect(jsonPath("$.createdBy").value("user456")); // Should preserve original creator
         }
+
+        @Test
+        @DisplayName("Admin should get 404 when updating a missing ticket")
+        void adminShouldGetNotFoundForMissingTicket() throws Exception {
+            Ticket updatedTicket = createTestTicket("Admin Updated", "Admin updated this ticket");
+
+            mockMvc.perform(put("/api/tickets/" + (otherUserTicketId + 1000))
+                    .with(jwt().jwt(jwt -> jwt
+                            .claim("SID", "admin123")
+                            .claim("roles", java.util.List.of("ADMIN", "SUPPORT", "USER"))))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updatedTicket)))
+                    .andDo(print())
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Patch Ticket Tests")
+    class PatchTicketTests {
+
+        private Long userTicketId;
+        private Long otherUserTicketId;
+
+        @BeforeEach
+        void createTestData() {
+            Ticket userTicket = createAndSaveTicket("user123", "User 123 Ticket", "Description 1");
+            Ticket otherUserTicket = createAndSaveTicket("user456", "User 456 Ticket", "Description 2");
+
+            userTicketId = userTicket.getId();
+            otherUserTicketId = otherUserTicket.getId();
+        }
+
+        @Test
+        @DisplayName("User should be able to patch only the status of their own ticket")
+        void userShouldBeAbleToPatchTheirOwnTicket() throws Exception {
+            mockMvc.perform(patch("/api/tickets/" + userTicketId)
+                    .with(jwt().jwt(jwt -> jwt
+                            .claim("SID", "user123")
+                            .claim("roles", java.util.List.of("USER"))))
+                    .contentType("application/merge-patch+json")
+                    .content("{\"status\": \"CLOSED\"}"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("CLOSED"))
+                    .andExpect(jsonPath("$.title").value("User 123 Ticket")); // Untouched fields are preserved
+        }
+
+        @Test
+        @DisplayName("User should NOT be able to patch other user's ticket")
+        void userShouldNotBeAbleToPatchOtherUsersTicket() throws Exception {
+            mockMvc.perform(patch("/api/tickets/" + otherUserTicketId)
+                    .with(jwt().jwt(jwt -> jwt
+                            .claim("SID", "user123")
+                            .claim("roles", java.util.List.of("USER"))))
+                    .contentType("application/merge-patch+json")
+                    .content("{\"status\": \"CLOSED\"}"))
+                    .andDo(print())
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Support should be able to patch any ticket")
+        void supportShouldBeAbleToPatchAnyTicket() throws Exception {
+            mockMvc.perform(patch("/api/tickets/" + otherUserTicketId)
+                    .with(jwt().jwt(jwt -> jwt
+                            .claim("SID", "support789")
+                            .claim("roles", java.util.List.of("SUPPORT", "USER"))))
+                    .contentType("application/merge-patch+json")
+                    .content("{\"priority\": \"HIGH\"}"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.priority").value("HIGH"))
+                    .andExpect(jsonPath("$.createdBy").value("user456"));
+        }
+
+        @Test
+        @DisplayName("Should reject patches of read-only or removed fields")
+        void shouldRejectInvalidPatches() throws Exception {
+            mockMvc.perform(patch("/api/tickets/" + userTicketId)
+                    .with(jwt().jwt(jwt -> jwt
+                            .claim("SID", "user123")
+                            .claim("roles", java.util.List.of("USER"))))
+                    .contentType("application/merge-patch+json")
+                    .content("{\"createdBy\": \"user456\"}"))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+
+            mockMvc.perform(patch("/api/tickets/" + userTicketId)
+                    .with(jwt().jwt(jwt -> jwt
+                            .claim("SID", "user123")
+                            .claim("roles", java.util.List.of("USER"))))
+                    .contentType("application/merge-patch+json")
+                    .content("{\"title\": null}"))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
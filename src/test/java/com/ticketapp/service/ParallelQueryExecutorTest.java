@@ -0,0 +1,266 @@
+package com.ticketapp.service;
+
+import com.ticketapp.config.ParallelQueryProperties;
+import com.ticketapp.service.ParallelQueryExecutor.Branch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ParallelQueryExecutor Tests")
+class ParallelQueryExecutorTest {
+
+    private final ParallelQueryExecutor executor = new ParallelQueryExecutor(properties(4, Duration.ofSeconds(5)));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should merge sorted runs into one sorted list, keeping ties in run order")
+    void shouldMergeSortedRuns() {
+        // Given
+        Random random = new Random(42);
+        List<List<int[]>> runs = new ArrayList<>();
+        for (int run = 0; run < 7; run++) {
+            List<int[]> items = new ArrayList<>();
+            for (int i = 0; i < random.nextInt(50); i++) {
+                items.add(new int[]{random.nextInt(20), run});
+            }
+            items.sort(Comparator.comparingInt(item -> item[0]));
+            runs.add(items);
+        }
+
+        // When
+        List<int[]> merged = ParallelQueryExecutor.merge(runs, Comparator.comparingInt(item -> item[0]));
+
+        // Then
+        assertThat(merged).hasSize(runs.stream().mapToInt(List::size).sum());
+        assertThat(merged).isSortedAccordingTo(Comparator.<int[]>comparingInt(item -> item[0]).thenComparingInt(item -> item[1]));
+    }
+
+    @Test
+    @DisplayName("Should run branches in parallel")
+    void shouldRunBranchesInParallel() {
+        // Given branches that can only finish once all of them have started
+        CountDownLatch started = new CountDownLatch(3);
+        List<Branch<Integer>> branches = List.of(1, 2, 3).stream()
+            .map(n -> Branch.of("branch-" + n, () -> {
+                started.countDown();
+                await(started);
+                return List.of(n);
+            }))
+            .toList();
+
+        // When
+        ParallelQueryExecutor.Result<Integer> result = executor.gather(branches, Comparator.naturalOrder());
+
+        // Then
+        assertThat(result.items()).containsExactly(1, 2, 3);
+        assertThat(result.partial()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return the other branches' results flagged as partial when one times out")
+    void shouldReturnPartialResultsOnTimeout() {
+        // Given
+        CountDownLatch never = new CountDownLatch(1);
+        List<Branch<Integer>> branches = List.of(
+            Branch.of("fast", () -> List.of(1, 3)),
+            new Branch<>("slow", Duration.ofMillis(100), () -> {
+                await(never);
+                return List.of(2);
+            }),
+            Branch.of("also-fast", () -> List.of(4)));
+
+        // When
+        long start = System.nanoTime();
+        ParallelQueryExecutor.Result<Integer> result = executor.gather(branches, Comparator.naturalOrder());
+
+        // Then
+        assertThat(result.items()).containsExactly(1, 3, 4);
+        assertThat(result.partial()).isTrue();
+        assertThat(result.timedOut()).containsExactly("slow");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Should let a timed-out branch finish instead of interrupting its query")
+    void shouldNotInterruptTimedOutBranch() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        List<Branch<Integer>> branches = List.of(new Branch<>("slow", Duration.ofMillis(50), () -> {
+            await(release);
+            interrupted.set(Thread.currentThread().isInterrupted());
+            finished.countDown();
+            return List.of(1);
+        }));
+
+        // When
+        ParallelQueryExecutor.Result<Integer> result = executor.gather(branches, null);
+        release.countDown();
+
+        // Then
+        assertThat(result.timedOut()).containsExactly("slow");
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not run a branch that timed out waiting for a permit")
+    void shouldNotRunBranchQueuedPastTimeout() throws Exception {
+        // Given one permit, held by a branch that outlives the queued branch's timeout
+        ParallelQueryExecutor bounded = new ParallelQueryExecutor(properties(1, Duration.ofSeconds(5)));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        List<Branch<Integer>> branches = List.of(
+            Branch.of("holder", () -> {
+                holding.countDown();
+                await(release);
+                return List.of(1);
+            }),
+            new Branch<>("queued", Duration.ofMillis(100), () -> {
+                queuedRan.set(true);
+                return List.of(2);
+            }));
+        Thread releaser = Thread.ofVirtual().start(() -> {
+            await(holding);
+            sleep(300);
+            release.countDown();
+        });
+
+        // When
+        ParallelQueryExecutor.Result<Integer> result = bounded.gather(branches, null);
+        releaser.join();
+        sleep(100);
+        bounded.shutdown();
+
+        // Then
+        assertThat(result.items()).containsExactly(1);
+        assertThat(result.timedOut()).containsExactly("queued");
+        assertThat(queuedRan).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail when a branch fails")
+    void shouldFailWhenBranchFails() {
+        // Given
+        List<Branch<Integer>> branches = List.of(
+            Branch.of("ok", () -> List.of(1)),
+            Branch.of("broken", () -> {
+                throw new IllegalStateException("Connection refused");
+            }));
+
+        // When / Then
+        assertThatThrownBy(() -> executor.gather(branches, null))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Connection refused");
+    }
+
+    @Test
+    @DisplayName("Should hold at most max-concurrency branches at once")
+    void shouldBoundConcurrency() {
+        // Given
+        ParallelQueryExecutor bounded = new ParallelQueryExecutor(properties(2, Duration.ofSeconds(5)));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Branch<Integer>> branches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int n = i;
+            branches.add(Branch.of("branch-" + i, () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(20);
+                running.decrementAndGet();
+                return List.of(n);
+            }));
+        }
+
+        // When
+        ParallelQueryExecutor.Result<Integer> result = bounded.gather(branches, null);
+        bounded.shutdown();
+
+        // Then
+        assertThat(result.items()).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(peak.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should run branches with the caller's security context")
+    void shouldPropagateSecurityContext() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin-sid", null));
+
+        // When
+        ParallelQueryExecutor.Result<String> result = executor.gather(
+            List.of(Branch.of("whoami", () -> List.of(SecurityContextHolder.getContext().getAuthentication().getName()))),
+            null);
+
+        // Then
+        assertThat(result.items()).containsExactly("admin-sid");
+    }
+
+    @Test
+    @DisplayName("Should run branches on the caller's thread inside a transaction")
+    void shouldRunInlineInsideTransaction() {
+        // Given
+        Thread caller = Thread.currentThread();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When
+        ParallelQueryExecutor.Result<Boolean> result;
+        try {
+            result = executor.gather(List.of(
+                Branch.of("first", () -> List.of(Thread.currentThread() == caller)),
+                Branch.of("second", () -> List.of(Thread.currentThread() == caller))), null);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Then
+        assertThat(result.items()).containsExactly(true, true);
+        assertThat(result.partial()).isFalse();
+    }
+
+    private static ParallelQueryProperties properties(int maxConcurrency, Duration timeout) {
+        ParallelQueryProperties properties = new ParallelQueryProperties();
+        properties.setMaxConcurrency(maxConcurrency);
+        properties.setBranchTimeout(timeout);
+        return properties;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.ticketapp.service;
+
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.ArchivedTicketRepository;
+import com.ticketapp.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@DisplayName("TicketArchiveService Tests")
+class TicketArchiveServiceTest {
+
+    @Autowired
+    private TicketArchiveService ticketArchiveService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        archivedTicketRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should move only long-closed tickets to the archive")
+    void shouldMoveOnlyLongClosedTicketsToArchive() {
+        // Given
+        Ticket oldClosed = saveTicket("CLOSED");
+        oldClosed.setClosedAt(LocalDateTime.now().minusDays(365));
+        ticketRepository.saveAndFlush(oldClosed);
+        Ticket recentlyClosed = saveTicket("CLOSED");
+        Ticket open = saveTicket("OPEN");
+
+        // When
+        int archived = ticketArchiveService.archiveClosedTickets();
+
+        // Then
+        assertThat(archived).isEqualTo(1);
+        assertThat(ticketRepository.findAll())
+            .extracting(Ticket::getId)
+            .containsExactlyInAnyOrder(recentlyClosed.getId(), open.getId());
+        assertThat(ticketArchiveService.getArchivedTicketsByCreatedBy("user123"))
+            .extracting(Ticket::getId)
+            .containsExactly(oldClosed.getId());
+    }
+
+    @Test
+    @DisplayName("Should set closedAt when a ticket is closed and clear it when reopened")
+    void shouldTrackClosedAt() {
+        // Given
+        Ticket ticket = saveTicket("OPEN");
+        assertThat(ticket.getClosedAt()).isNull();
+
+        // When
+        ticket.setStatus("Closed");
+        ticket = ticketRepository.saveAndFlush(ticket);
+
+        // Then
+        assertThat(ticket.getClosedAt()).isNotNull();
+
+        // When
+        ticket.setStatus("OPEN");
+        ticket = ticketRepository.saveAndFlush(ticket);
+
+        // Then
+        assertThat(ticket.getClosedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should leave a ticket reopened after it was picked for archiving")
+    void shouldNotArchiveReopenedTicket() {
+        // Given
+        LocalDateTime closedBefore = LocalDateTime.now().minusDays(30);
+        Ticket ticket = saveTicket("CLOSED");
+        ticket.setClosedAt(LocalDateTime.now().minusDays(365));
+        ticketRepository.saveAndFlush(ticket);
+        List<Long> ids = ticketRepository.findIdsClosedBefore(closedBefore, PageRequest.of(0, 10));
+
+        // When
+        ticketRepository.updateTicketFields(ticket.getId(), "Ticket", "Archive candidate", "OPEN", "MEDIUM");
+        int copied = archivedTicketRepository.copyFromTickets(ids, closedBefore, LocalDateTime.now());
+        int deleted = ticketRepository.deleteArchivable(ids, closedBefore);
+
+        // Then
+        assertThat(ids).containsExactly(ticket.getId());
+        assertThat(copied).isZero();
+        assertThat(deleted).isZero();
+        assertThat(ticketRepository.findById(ticket.getId())).isPresent();
+    }
+
+    private Ticket saveTicket(String status) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Ticket");
+        ticket.setDescription("Archive candidate");
+        ticket.setStatus(status);
+        ticket.setCreatedBy("user123");
+        return ticketRepository.saveAndFlush(ticket);
+    }
+}
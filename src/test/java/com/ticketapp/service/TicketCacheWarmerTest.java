@@ -0,0 +1,80 @@
+package com.ticketapp.service;
+
+import com.ticketapp.config.CacheWarmupProperties;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.sharding.TicketShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TicketCacheWarmer Tests")
+class TicketCacheWarmerTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private CacheManager cacheManager;
+    private CacheWarmupProperties properties;
+    private TicketCacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("tickets");
+        properties = new CacheWarmupProperties();
+        properties.setEnabled(true);
+        properties.setSize(2);
+        warmer = new TicketCacheWarmer(ticketRepository, cacheManager, properties, TicketShards.single());
+    }
+
+    @Test
+    @DisplayName("Should cache the most recent open tickets on startup")
+    void shouldCacheMostRecentOpenTickets() throws Exception {
+        // Given
+        when(ticketRepository.findByStatusIgnoreCaseOrderByCreatedAtDesc("OPEN", PageRequest.of(0, 2)))
+            .thenReturn(List.of(ticket(2L), ticket(1L)));
+
+        // When
+        warmer.run(null);
+
+        // Then
+        var ticketsCache = cacheManager.getCache("tickets");
+        assertThat(ticketsCache.get(1L)).isNotNull();
+        assertThat(ticketsCache.get(2L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when warmup is disabled")
+    void shouldSkipWarmupWhenDisabled() throws Exception {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        warmer.run(null);
+
+        // Then
+        verify(ticketRepository, never()).findByStatusIgnoreCaseOrderByCreatedAtDesc(any(), any());
+    }
+
+    private Ticket ticket(Long id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setDescription("Hot ticket");
+        ticket.setCreatedBy("user123");
+        return ticket;
+    }
+}
@@ -0,0 +1,155 @@
+package com.ticketapp.service;
+
+import com.ticketapp.config.PartitioningProperties;
+import com.ticketapp.event.TicketChangeEvent;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = "app.partitioning.retention-months=6")
+@RecordApplicationEvents
+@DisplayName("TicketPartitionService Tests")
+class TicketPartitionServiceTest {
+
+    @Autowired
+    private TicketPartitionService ticketPartitionService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private PartitioningProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should compute month-aligned retention boundary and partition names")
+    void shouldComputeRetentionBoundary() {
+        YearMonth boundary = TicketPartitionService.retentionBoundary(LocalDate.of(2024, 3, 15), 6);
+
+        assertThat(boundary).isEqualTo(YearMonth.of(2023, 9));
+        assertThat(TicketPartitionService.partitionName(boundary)).isEqualTo("tickets_p202309");
+    }
+
+    @Test
+    @DisplayName("Should purge whole months past retention and keep the rest")
+    void shouldPurgeExpiredMonths() {
+        // Given
+        saveTicket(LocalDateTime.now().minusMonths(12));
+        saveTicket(LocalDateTime.now().minusMonths(8));
+        Ticket recent = saveTicket(LocalDateTime.now().minusMonths(1));
+
+        // When
+        int purged = ticketPartitionService.purgeExpiredMonths();
+
+        // Then
+        assertThat(purged).isEqualTo(2);
+        assertThat(ticketRepository.findAll()).extracting(Ticket::getId).containsExactly(recent.getId());
+    }
+
+    @Test
+    @DisplayName("Should announce a purge that removed tickets with a single event")
+    void shouldPublishOnePurgedEvent() {
+        // Given
+        saveTicket(LocalDateTime.now().minusMonths(12));
+        saveTicket(LocalDateTime.now().minusMonths(9));
+        saveTicket(LocalDateTime.now().minusMonths(1));
+
+        // When
+        ticketPartitionService.purgeExpiredMonths();
+
+        // Then
+        assertThat(events.stream(TicketChangeEvent.class))
+            .extracting(TicketChangeEvent::type, TicketChangeEvent::ticketId)
+            .containsExactly(tuple(TicketChangeEvent.Type.PURGED, TicketChangeEvent.NO_TICKET));
+    }
+
+    @Test
+    @DisplayName("Should announce nothing when no ticket has expired")
+    void shouldNotPublishWhenNothingExpired() {
+        // Given
+        saveTicket(LocalDateTime.now().minusMonths(1));
+
+        // When
+        int purged = ticketPartitionService.purgeExpiredMonths();
+
+        // Then
+        assertThat(purged).isZero();
+        assertThat(events.stream(TicketChangeEvent.class)).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should purge in its own transaction when run by the scheduler")
+    void shouldPurgeFromScheduledMaintenance() {
+        // Given
+        saveTicket(LocalDateTime.now().minusMonths(12));
+        Ticket recent = saveTicket(LocalDateTime.now().minusMonths(1));
+        properties.setEnabled(true);
+
+        // When
+        try {
+            ticketPartitionService.scheduledMaintenance();
+        } finally {
+            properties.setEnabled(false);
+        }
+
+        // Then
+        assertThat(ticketRepository.findAll()).extracting(Ticket::getId).containsExactly(recent.getId());
+        assertThat(events.stream(TicketChangeEvent.class)).extracting(TicketChangeEvent::type)
+            .containsExactly(TicketChangeEvent.Type.PURGED);
+    }
+
+    @Test
+    @DisplayName("Should return tickets in a half-open createdAt range ordered by creation time")
+    void shouldReturnTicketsInCreatedAtRange() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Ticket january = saveTicket(start.plusDays(10));
+        Ticket firstOfFebruary = saveTicket(start.plusMonths(1));
+        Ticket lastOfJanuary = saveTicket(start.plusMonths(1).minusNanos(1000));
+
+        // When
+        var tickets = ticketService.getTicketsCreatedBetween(start, start.plusMonths(1));
+
+        // Then
+        assertThat(tickets).extracting(Ticket::getId).containsExactly(january.getId(), lastOfJanuary.getId());
+        assertThat(tickets).extracting(Ticket::getId).doesNotContain(firstOfFebruary.getId());
+    }
+
+    private Ticket saveTicket(LocalDateTime createdAt) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Ticket");
+        ticket.setDescription("Partitioned ticket");
+        ticket.setCreatedBy("user123");
+        ticket.setCreatedAt(createdAt);
+        return ticketRepository.saveAndFlush(ticket);
+    }
+}
@@ -1,16 +1,21 @@
 package com.ticketapp.service;
 
+import com.ticketapp.index.OwnerTicketIndex;
 import com.ticketapp.model.Ticket;
 import com.ticketapp.repository.TicketRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cache.CacheManager;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -28,6 +33,9 @@ class TicketServiceCacheTest {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private OwnerTicketIndex ownerTicketIndex;
+
     private Ticket testTicket;
 
     @BeforeEach
@@ -39,6 +47,7 @@ class TicketServiceCacheTest {
                 cache.clear();
             }
         });
+        ownerTicketIndex.clear();
 
         // Create a test ticket
         testTicket = new Ticket();
@@ -84,7 +93,7 @@ class TicketServiceCacheTest {
     void shouldEvictCacheWhenTicketIsUpdated() {
         // Given
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        when(ticketRepository.updateTicketFields(eq(1L), any(), any(), any(), any())).thenReturn(1);
 
         // When - Cache the ticket first
         ticketService.getTicketById(1L);
@@ -130,4 +139,109 @@ class TicketServiceCacheTest {
         // Verify delete was called
         verify(ticketRepository, times(1)).deleteById(1L);
     }
+
+    @Test
+    @DisplayName("Should check ownership of cached ticket without querying the database")
+    void shouldCheckOwnershipOfCachedTicketWithoutQuerying() {
+        // Given
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(testTicket));
+        ticketService.getTicketById(1L);
+
+        // When
+        Optional<Ticket> owned = ticketService.getTicketByIdForOwner(1L, "testuser");
+        Optional<Ticket> notOwned = ticketService.getTicketByIdForOwner(1L, "otheruser");
+
+        // Then
+        assertThat(owned).contains(testTicket);
+        assertThat(notOwned).isEmpty();
+        verify(ticketRepository, never()).findByIdAndCreatedBy(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should cache ticket loaded through owner-scoped query")
+    void shouldCacheTicketLoadedThroughOwnerScopedQuery() {
+        // Given
+        when(ticketRepository.findByIdAndCreatedBy(1L, "testuser")).thenReturn(Optional.of(testTicket));
+
+        // When
+        ticketService.getTicketByIdForOwner(1L, "testuser");
+        ticketService.getTicketByIdForOwner(1L, "testuser");
+
+        // Then
+        verify(ticketRepository, times(1)).findByIdAndCreatedBy(1L, "testuser");
+        assertThat(cacheManager.getCache("tickets").get(1L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should serve a user's tickets from the owner index and tickets cache without SQL")
+    void shouldServeUserTicketsFromOwnerIndex() {
+        // Given
+        when(ticketRepository.findIdsByCreatedBy("testuser")).thenReturn(List.of(1L));
+        when(ticketRepository.findAllForCache(List.of(1L))).thenReturn(List.of(testTicket));
+
+        // When
+        List<Ticket> first = ticketService.getTicketsByCreatedBy("testuser");
+        List<Ticket> second = ticketService.getTicketsByCreatedBy("testuser");
+
+        // Then
+        assertThat(first).containsExactly(testTicket);
+        assertThat(second).containsExactly(testTicket);
+        verify(ticketRepository, times(1)).findIdsByCreatedBy("testuser");
+        verify(ticketRepository, times(1)).findAllForCache(any());
+    }
+
+    @Test
+    @DisplayName("Should load an owner's uncached tickets in bounded IN queries")
+    void shouldChunkTicketQueries() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, TicketService.IDS_PER_QUERY * 2L + 1).boxed().toList();
+        when(ticketRepository.findIdsByCreatedBy("testuser")).thenReturn(ids);
+        when(ticketRepository.findAllForCache(any())).thenReturn(List.of());
+
+        // When
+        ticketService.getTicketsByCreatedBy("testuser");
+
+        // Then
+        ArgumentCaptor<List<Long>> chunks = ArgumentCaptor.captor();
+        verify(ticketRepository, times(3)).findAllForCache(chunks.capture());
+        assertThat(chunks.getAllValues()).allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(TicketService.IDS_PER_QUERY));
+        verify(ticketRepository, times(3)).findExistingIds(any());
+    }
+
+    @Test
+    @DisplayName("Should add created tickets to an already loaded owner index")
+    void shouldAddCreatedTicketsToOwnerIndex() {
+        // Given
+        when(ticketRepository.findIdsByCreatedBy("testuser")).thenReturn(List.of());
+        ticketService.getTicketsByCreatedBy("testuser");
+        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+
+        // When
+        ticketService.createTicket(testTicket);
+
+        // Then
+        assertThat(ownerTicketIndex.get("testuser")).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should replace a cached ticket on patch without changing the shared instance")
+    void shouldReplaceCachedTicketOnPatch() {
+        // Given
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(testTicket));
+        Ticket cached = ticketService.getTicketById(1L);
+        Ticket loaded = new Ticket();
+        loaded.setId(1L);
+        loaded.setTitle(testTicket.getTitle());
+        loaded.setDescription(testTicket.getDescription());
+        loaded.setStatus(testTicket.getStatus());
+        loaded.setCreatedBy(testTicket.getCreatedBy());
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(loaded));
+
+        // When
+        ticketService.patchTicket(1L, Map.of("status", "RESOLVED"));
+
+        // Then
+        assertThat(cached.getStatus()).isEqualTo("Open");
+        assertThat(ticketService.getTicketById(1L).getStatus()).isEqualTo("RESOLVED");
+    }
 }
@@ -0,0 +1,187 @@
+package com.ticketapp.sharding;
+
+import com.ticketapp.bulk.BulkOperationRequest;
+import com.ticketapp.bulk.BulkOperationService;
+import com.ticketapp.bulk.BulkOperationStatus;
+import com.ticketapp.id.IdLayout;
+import com.ticketapp.model.BulkOperation;
+import com.ticketapp.model.Ticket;
+import com.ticketapp.repository.TicketRepository;
+import com.ticketapp.service.TicketListingService;
+import com.ticketapp.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tickets spread over three in-memory H2 databases
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.jpa.open-in-view=false",
+    "app.ids.node-id=5",
+    "app.sharding.enabled=true",
+    "app.sharding.shards[0].url=jdbc:h2:mem:sharding-test-0",
+    "app.sharding.shards[0].username=sa",
+    "app.sharding.shards[1].url=jdbc:h2:mem:sharding-test-1",
+    "app.sharding.shards[1].username=sa",
+    "app.sharding.shards[2].url=jdbc:h2:mem:sharding-test-2",
+    "app.sharding.shards[2].username=sa"
+})
+class ShardingIntegrationTest {
+
+    private static final List<String> OWNERS = IntStream.range(0, 8).mapToObj(i -> "owner-" + i).toList();
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketListingService ticketListingService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketShards shards;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @BeforeEach
+    void setUp() {
+        for (int shard = 0; shard < shards.count(); shard++) {
+            shards.run(shard, ticketRepository::deleteAll);
+        }
+        cacheManager.getCache("tickets").clear();
+    }
+
+    @Test
+    @DisplayName("Should store each owner's tickets on the owner's shard, named in the ticket id with the node")
+    void shouldStoreTicketsOnOwnerShard() {
+        // When
+        List<Ticket> created = OWNERS.stream().map(owner -> ticketService.createTicket(ticket(owner))).toList();
+
+        // Then
+        assertThat(created).extracting(ticket -> shards.shardOfTicket(ticket.getId()))
+            .containsExactlyElementsOf(OWNERS.stream().map(shards::shardOf).toList());
+        for (int shard = 0; shard < shards.count(); shard++) {
+            int current = shard;
+            List<String> stored = shards.on(shard, () -> jdbcTemplate.queryForList("SELECT created_by FROM tickets", String.class));
+            assertThat(stored).containsExactlyInAnyOrderElementsOf(
+                OWNERS.stream().filter(owner -> shards.shardOf(owner) == current).toList());
+        }
+        assertThat(OWNERS.stream().map(shards::shardOf).distinct().count()).isGreaterThan(1);
+        assertThat(created).extracting(ticket -> IdLayout.DEFAULT.nodeOf(ticket.getId())).containsOnly(5);
+    }
+
+    @Test
+    @DisplayName("Should find tickets by id and by owner on their shard")
+    void shouldFindTicketsOnTheirShard() {
+        // Given
+        List<Ticket> created = OWNERS.stream().map(owner -> ticketService.createTicket(ticket(owner))).toList();
+        Ticket second = ticketService.createTicket(ticket("owner-3"));
+        cacheManager.getCache("tickets").clear();
+
+        // When / Then
+        for (Ticket ticket : created) {
+            assertThat(ticketService.getTicketById(ticket.getId()).getCreatedBy()).isEqualTo(ticket.getCreatedBy());
+            assertThat(ticketService.getTicketByIdForOwner(ticket.getId(), ticket.getCreatedBy())).isPresent();
+        }
+        assertThat(ticketService.getTicketsByCreatedBy("owner-3")).extracting(Ticket::getId)
+            .containsExactlyInAnyOrder(created.get(3).getId(), second.getId());
+    }
+
+    @Test
+    @DisplayName("Should update and delete tickets on their shard")
+    void shouldUpdateAndDeleteOnTheirShard() {
+        // Given
+        Ticket created = ticketService.createTicket(ticket("owner-5"));
+        Ticket changes = ticket("owner-5");
+        changes.setStatus("CLOSED");
+
+        // When
+        ticketService.updateOwnedTicket(created.getId(), "owner-5", changes);
+        Ticket updated = ticketService.getTicketById(created.getId());
+        ticketService.deleteTicket(created.getId());
+
+        // Then
+        assertThat(updated.getStatus()).isEqualTo("CLOSED");
+        assertThat(ticketListingService.listTickets(null, false).items()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should merge every shard's tickets for the admin listings")
+    void shouldMergeShardsForAdminListings() {
+        // Given
+        List<Long> ids = OWNERS.stream().map(owner -> ticketService.createTicket(ticket(owner)).getId()).toList();
+
+        // When
+        List<Ticket> all = ticketListingService.listTickets(null, false).items();
+        List<Ticket> created = ticketService.getTicketsCreatedBetween(LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+
+        // Then
+        assertThat(all).extracting(Ticket::getId).containsExactlyElementsOf(ids);
+        assertThat(created).hasSize(OWNERS.size());
+        assertThat(created).extracting(Ticket::getCreatedAt).isSorted();
+    }
+
+    @Test
+    @DisplayName("Should refuse to list more owners than one fan-out may query")
+    void shouldCapOwnersPerListing() {
+        // Given
+        List<String> owners = IntStream.range(0, 21).mapToObj(i -> "owner-" + i).toList();
+
+        // When / Then
+        assertThatThrownBy(() -> ticketListingService.listTickets(owners, true))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ticketListingService.listTickets(owners.subList(0, 20), true).partial()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should run a bulk operation on every shard and sum its progress")
+    void shouldRunBulkOperationOnEveryShard() throws Exception {
+        // Given
+        OWNERS.forEach(owner -> ticketService.createTicket(ticket(owner)));
+
+        // When
+        BulkOperationStatus submitted = bulkOperationService.submit(new BulkOperationRequest(
+            new BulkOperationRequest.Filter("OPEN", null, null, null), new BulkOperationRequest.Change("CLOSED", "LOW")), "lead");
+        bulkOperationService.resume().get(10, TimeUnit.SECONDS);
+
+        // Then
+        BulkOperationStatus status = bulkOperationService.getStatus(submitted.id()).orElseThrow();
+        assertThat(status.state()).isEqualTo(BulkOperation.State.COMPLETED);
+        assertThat(status.matched()).isEqualTo(OWNERS.size());
+        assertThat(status.processed()).isEqualTo(OWNERS.size());
+        assertThat(ticketListingService.listTickets(null, false).items()).hasSize(OWNERS.size())
+            .allSatisfy(ticket -> assertThat(ticket.getStatus() + "/" + ticket.getPriority()).isEqualTo("CLOSED/LOW"));
+    }
+
+    private static Ticket ticket(String owner) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Ticket of " + owner);
+        ticket.setDescription("Something is broken");
+        ticket.setPriority("HIGH");
+        ticket.setCreatedBy(owner);
+        return ticket;
+    }
+}